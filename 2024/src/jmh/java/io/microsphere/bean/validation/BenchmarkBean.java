@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * The bean for benchmarks
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class BenchmarkBean {
+
+    @NotNull
+    @Size(min = 1, max = 32)
+    private String name;
+
+    @NotNull
+    private Integer age;
+
+    public BenchmarkBean() {
+    }
+
+    public BenchmarkBean(String name, Integer age) {
+        this.name = name;
+        this.age = age;
+    }
+
+    public String hello(@NotNull @Size(max = 32) String name) {
+        return "Hello," + name;
+    }
+
+    public String echo(String message) {
+        return message;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the raw Hibernate {@link Validator#validate(Object, Class[])} versus
+ * {@link InterceptingValidator#validate(Object, Class[])} with 0/1/N interceptors
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see InterceptingValidator
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptingValidatorBenchmark {
+
+    @Param({"0", "1", "4"})
+    private int interceptors;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator rawValidator;
+
+    private Validator interceptingValidator;
+
+    private BenchmarkBean validBean;
+
+    private BenchmarkBean invalidBean;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        rawValidator = validatorFactory.getValidator();
+        List<ValidationInterceptor> validationInterceptors = new ArrayList<>(interceptors);
+        for (int i = 0; i < interceptors; i++) {
+            validationInterceptors.add(new NoopValidationInterceptor());
+        }
+        interceptingValidator = new InterceptingValidator(rawValidator, ValidationInterceptorChain.of(validationInterceptors));
+        validBean = new BenchmarkBean("mercyblitz", 18);
+        invalidBean = new BenchmarkBean(null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> rawValidate() {
+        return rawValidator.validate(validBean);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> interceptingValidate() {
+        return interceptingValidator.validate(validBean);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> rawValidateInvalid() {
+        return rawValidator.validate(invalidBean);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> interceptingValidateInvalid() {
+        return interceptingValidator.validate(invalidBean);
+    }
+}
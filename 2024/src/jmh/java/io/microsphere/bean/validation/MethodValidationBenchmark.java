@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.executable.ExecutableValidator;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the method validation via {@link ExecutableValidator#validateParameters(Object, Method, Object[], Class[])},
+ * which is used by Spring's {@code MethodValidationInterceptor} on every proxied call
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see InterceptingValidator
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodValidationBenchmark {
+
+    @Param({"0", "1", "4"})
+    private int interceptors;
+
+    private ValidatorFactory validatorFactory;
+
+    private ExecutableValidator rawValidator;
+
+    private ExecutableValidator interceptingValidator;
+
+    private BenchmarkBean bean;
+
+    private Method constrainedMethod;
+
+    private Method unconstrainedMethod;
+
+    private Object[] parameterValues;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        Validator validator = validatorFactory.getValidator();
+        rawValidator = validator.forExecutables();
+        List<ValidationInterceptor> validationInterceptors = new ArrayList<>(interceptors);
+        for (int i = 0; i < interceptors; i++) {
+            validationInterceptors.add(new NoopValidationInterceptor());
+        }
+        interceptingValidator = new InterceptingValidator(validator, ValidationInterceptorChain.of(validationInterceptors));
+        bean = new BenchmarkBean();
+        constrainedMethod = BenchmarkBean.class.getMethod("hello", String.class);
+        unconstrainedMethod = BenchmarkBean.class.getMethod("echo", String.class);
+        parameterValues = new Object[]{"mercyblitz"};
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> rawValidateParameters() {
+        return rawValidator.validateParameters(bean, constrainedMethod, parameterValues);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> interceptingValidateParameters() {
+        return interceptingValidator.validateParameters(bean, constrainedMethod, parameterValues);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> rawValidateParametersUnconstrained() {
+        return rawValidator.validateParameters(bean, unconstrainedMethod, parameterValues);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BenchmarkBean>> interceptingValidateParametersUnconstrained() {
+        return interceptingValidator.validateParameters(bean, unconstrainedMethod, parameterValues);
+    }
+}
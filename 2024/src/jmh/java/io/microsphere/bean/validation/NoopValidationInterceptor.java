@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * The no-op {@link ValidationInterceptor} overriding the callbacks of the benchmarked entry points
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class NoopValidationInterceptor implements ValidationInterceptor {
+
+    @Override
+    public <T> void beforeValidate(T object, Class<?>... groups) {
+    }
+
+    @Override
+    public <T> void afterValidate(T object, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+    }
+
+    @Override
+    public <T> void beforeValidateParameters(T object, Method method, Object[] parameterValues, Class<?>... groups) {
+    }
+
+    @Override
+    public <T> void afterValidateParameters(T object, Method method, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link ValidationContextCarrier} implementations binding, reading and unbinding the nested beans
+ * under contention
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ThreadLocalValidationContextCarrier
+ * @see ScopedValidationContextCarrier
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ValidationContextCarrierBenchmark {
+
+    @Param({"threadLocal", "scoped"})
+    private String carrierType;
+
+    private ValidationContextCarrier carrier;
+
+    @Setup
+    public void setup() {
+        carrier = "scoped".equals(carrierType) ? new ScopedValidationContextCarrier() : new ThreadLocalValidationContextCarrier();
+    }
+
+    @State(Scope.Thread)
+    public static class Beans {
+
+        private final Object root = new Object();
+
+        private final Object nested = new Object();
+    }
+
+    @Benchmark
+    public Object bindAndUnbind(Beans beans) {
+        carrier.bind(beans.root);
+        carrier.bind(beans.nested);
+        Object validatedBean = carrier.getValidatedBean();
+        carrier.unbind(beans.nested);
+        carrier.unbind(beans.root);
+        return validatedBean;
+    }
+
+    @Benchmark
+    public Object captureAndRestore(Beans beans) {
+        carrier.bind(beans.root);
+        Object snapshot = carrier.capture();
+        carrier.unbind(beans.root);
+        Object previous = carrier.restore(snapshot);
+        Object validatedBean = carrier.getValidatedBean();
+        carrier.restore(previous);
+        return validatedBean;
+    }
+}
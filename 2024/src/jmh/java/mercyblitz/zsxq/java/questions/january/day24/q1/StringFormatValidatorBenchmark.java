@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1;
+
+import io.microsphere.bean.validation.InterceptingValidationProviderResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StringFormatValidator} 单字段校验开销的基准测试，基于 {@link InterceptingValidationProviderResolver} 构建的
+ * ValidatorFactory（包含 ThreadLocalBeanValidationInterceptor）
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see StringFormatValidator
+ * @see CashIncomeReportExcelData
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringFormatValidatorBenchmark {
+
+    private static final int COLUMN_SIZE = 1024;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private CashIncomeReportExcelData data;
+
+    private StringFormatValidator stringFormatValidator;
+
+    private CharSequence[] column;
+
+    private boolean[] results;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchFieldException {
+        validatorFactory = Validation.byDefaultProvider()
+                .providerResolver(new InterceptingValidationProviderResolver())
+                .configure()
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+        data = new CashIncomeReportExcelData();
+        stringFormatValidator = new StringFormatValidator();
+        stringFormatValidator.initialize(CashIncomeReportExcelData.class.getDeclaredField("statisticMonth")
+                .getAnnotation(StringFormat.class));
+        // 每 16 个值中有 1 个非法值
+        column = new CharSequence[COLUMN_SIZE];
+        for (int i = 0; i < COLUMN_SIZE; i++) {
+            column[i] = (i & 15) == 0 ? "2024-" + i : String.valueOf(202401 + i);
+        }
+        results = new boolean[COLUMN_SIZE];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CashIncomeReportExcelData>> validate() {
+        return validator.validate(data);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CashIncomeReportExcelData>> validateProperty() {
+        return validator.validateProperty(data, "statisticMonth");
+    }
+
+    @Benchmark
+    public int isValidColumn() {
+        return stringFormatValidator.isValid(column, results);
+    }
+
+    /**
+     * 以 {@link Integer#parseInt(String)} 及异常判断的基线
+     */
+    @Benchmark
+    public int parseIntColumn() {
+        int invalidCount = 0;
+        for (CharSequence value : column) {
+            try {
+                Integer.parseInt(value.toString());
+            } catch (NumberFormatException e) {
+                invalidCount++;
+            }
+        }
+        return invalidCount;
+    }
+}
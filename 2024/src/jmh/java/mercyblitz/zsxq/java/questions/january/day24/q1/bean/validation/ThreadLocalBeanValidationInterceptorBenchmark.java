@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.bean.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * {@link ThreadLocalBeanValidationInterceptor} 多线程竞争下绑定与解除绑定的基准测试
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ThreadLocalBeanValidationInterceptor
+ * @since 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ThreadLocalBeanValidationInterceptorBenchmark {
+
+    private final ThreadLocalBeanValidationInterceptor interceptor = new ThreadLocalBeanValidationInterceptor();
+
+    @State(Scope.Thread)
+    public static class Beans {
+
+        private final Object root = new Object();
+
+        private final Object nested = new Object();
+    }
+
+    @Benchmark
+    public Object bindAndUnbind(Beans beans) {
+        interceptor.beforeValidate(beans.root);
+        Object validatedBean = ThreadLocalBeanValidationInterceptor.getValidatedBean();
+        interceptor.afterValidate(beans.root, emptySet(), null);
+        return validatedBean;
+    }
+
+    @Benchmark
+    public Object nestedBindAndUnbind(Beans beans) {
+        interceptor.beforeValidate(beans.root);
+        interceptor.beforeValidate(beans.nested);
+        Object validatedBean = ThreadLocalBeanValidationInterceptor.getValidatedBean();
+        interceptor.afterValidate(beans.nested, emptySet(), null);
+        interceptor.afterValidate(beans.root, emptySet(), null);
+        return validatedBean;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.annotation.Priority;
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+
+/**
+ * The around-style interceptor of the validation entry points, which is the alternative of
+ * {@link ValidationInterceptor}, it controls the underlying validation by {@link ValidationInvocation#proceed()}, e.g.
+ * skipping it, substituting the result or wrapping it in a scope.
+ * <p>
+ * The {@link AroundValidationInterceptor AroundValidationInterceptors} are discovered by
+ * "META-INF/services/io.microsphere.bean.validation.AroundValidationInterceptor", and they are ordered with
+ * {@link ValidationInterceptor ValidationInterceptors} together by {@link Priority @Priority}, the chain of each entry
+ * point is linked once per factory.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationInvocation
+ * @see ValidationInterceptor
+ * @since 1.0.0
+ */
+public interface AroundValidationInterceptor {
+
+    /**
+     * Whether the entry point is intercepted or not, which is evaluated once when the chain is linked
+     *
+     * @param entryPoint {@link ValidationEntryPoint}
+     * @return <code>true</code> by default
+     */
+    default boolean supports(ValidationEntryPoint entryPoint) {
+        return true;
+    }
+
+    /**
+     * Intercept the invocation of validation
+     *
+     * @param invocation {@link ValidationInvocation}
+     * @param <R>        the type of result, {@link Set} of {@link ConstraintViolation ConstraintViolations} or
+     *                   {@link BatchValidationResult}
+     * @return the result of {@link ValidationInvocation#proceed()} or the substituted one
+     */
+    <R> R around(ValidationInvocation<R> invocation);
+}
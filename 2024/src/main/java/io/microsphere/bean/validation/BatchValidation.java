@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.Math.min;
+
+/**
+ * The execution of a batch validation, the beans are split into the chunks which are claimed by at most
+ * {@link BatchValidationOptions#getParallelism() parallelism} workers on the {@link ForkJoinPool}.
+ *
+ * @param <T> the type of beans
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidator
+ * @since 1.0.0
+ */
+final class BatchValidation<T> {
+
+    private final Validator validator;
+
+    private final BatchValidationOptions options;
+
+    private final Class<?>[] groups;
+
+    private final int failFastLimit;
+
+    private final ChunkSource<T> chunkSource;
+
+    /**
+     * The beans if they are validated column by column, or <code>null</code>
+     */
+    private final List<T> columnarBeans;
+
+    private final ColumnValidationPlanCache columnValidationPlanCache;
+
+    private final ViolationReport violationReport;
+
+    /**
+     * The number of the invalid beans recorded into {@link ViolationReport}
+     */
+    private final AtomicInteger reportedCount = new AtomicInteger();
+
+    private final AtomicInteger invalidCount = new AtomicInteger();
+
+    private final AtomicInteger validatedCount = new AtomicInteger();
+
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private volatile boolean terminated;
+
+    private BatchValidation(Validator validator, BatchValidationOptions options, ChunkSource<T> chunkSource,
+                            List<T> columnarBeans, ColumnValidationPlanCache columnValidationPlanCache) {
+        this.validator = validator;
+        this.options = options;
+        this.groups = options.groups();
+        this.failFastLimit = options.getFailFastLimit();
+        this.chunkSource = chunkSource;
+        this.columnarBeans = columnarBeans;
+        this.columnValidationPlanCache = columnValidationPlanCache;
+        this.violationReport = options.getViolationReport();
+    }
+
+    static <T> BatchValidation<T> of(Validator validator, ColumnValidationPlanCache columnValidationPlanCache,
+                                     List<T> beans, BatchValidationOptions options) {
+        boolean columnar = columnValidationPlanCache != null && options.isColumnar();
+        return new BatchValidation<>(validator, options, new ListChunkSource<>(beans, options.getChunkSize()),
+                columnar ? beans : null, columnValidationPlanCache);
+    }
+
+    static <T> BatchValidation<T> of(Validator validator, ColumnValidationPlanCache columnValidationPlanCache,
+                                     Iterator<T> beans, BatchValidationOptions options) {
+        if (columnValidationPlanCache != null && options.isColumnar()) {
+            // The columns are extracted from all beans
+            List<T> beanList = new ArrayList<>();
+            beans.forEachRemaining(beanList::add);
+            return of(validator, columnValidationPlanCache, beanList, options);
+        }
+        return new BatchValidation<>(validator, options, new IteratorChunkSource<>(beans, options.getChunkSize()),
+                null, null);
+    }
+
+    BatchValidationResult<T> execute() {
+        if (columnarBeans != null) {
+            ColumnValidationPlan plan = resolveColumnValidationPlan();
+            if (plan.isApplicable()) {
+                return executeColumnar(plan);
+            }
+        }
+        int parallelism = options.getParallelism();
+        List<Map<Integer, Set<ConstraintViolation<T>>>> workerResults = new ArrayList<>(parallelism);
+        if (parallelism == 1) {
+            workerResults.add(work());
+        } else {
+            ForkJoinPool forkJoinPool = options.getForkJoinPool();
+            List<ForkJoinTask<Map<Integer, Set<ConstraintViolation<T>>>>> tasks = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                tasks.add(forkJoinPool.submit(this::work));
+            }
+            for (ForkJoinTask<Map<Integer, Set<ConstraintViolation<T>>>> task : tasks) {
+                workerResults.add(task.join());
+            }
+        }
+
+        Throwable failure = error.get();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+
+        SortedMap<Integer, Set<ConstraintViolation<T>>> violations = new TreeMap<>();
+        for (Map<Integer, Set<ConstraintViolation<T>>> workerResult : workerResults) {
+            violations.putAll(workerResult);
+        }
+        return newResult(violations, validatedCount.get());
+    }
+
+    /**
+     * The worker claims and validates the chunks until all chunks are done or the validation is terminated
+     *
+     * @return the violations of invalid beans validated by current worker
+     */
+    private Map<Integer, Set<ConstraintViolation<T>>> work() {
+        Map<Integer, Set<ConstraintViolation<T>>> violations = new HashMap<>();
+        Chunk<T> chunk;
+        try {
+            while (!terminated && (chunk = chunkSource.next()) != null) {
+                List<T> beans = chunk.beans;
+                int size = beans.size();
+                int validated = 0;
+                for (int i = 0; i < size && !terminated; i++, validated++) {
+                    T bean = beans.get(i);
+                    Set<ConstraintViolation<T>> constraintViolations = validate(bean);
+                    if (!constraintViolations.isEmpty() && record()) {
+                        collect(violations, chunk.baseIndex + i, constraintViolations);
+                    }
+                }
+                validatedCount.addAndGet(validated);
+            }
+        } catch (Throwable e) {
+            error.compareAndSet(null, e);
+            terminated = true;
+        }
+        return violations;
+    }
+
+    /**
+     * @return {@link ColumnValidationPlan#INAPPLICABLE} if the beans are absent, <code>null</code> or not the same class
+     */
+    private ColumnValidationPlan resolveColumnValidationPlan() {
+        if (columnarBeans.isEmpty()) {
+            return ColumnValidationPlan.INAPPLICABLE;
+        }
+        Class<?> beanClass = null;
+        for (T bean : columnarBeans) {
+            if (bean == null) {
+                return ColumnValidationPlan.INAPPLICABLE;
+            }
+            if (beanClass == null) {
+                beanClass = bean.getClass();
+            } else if (beanClass != bean.getClass()) {
+                return ColumnValidationPlan.INAPPLICABLE;
+            }
+        }
+        return columnValidationPlanCache.get(beanClass, groups);
+    }
+
+    /**
+     * The constraints of columns are evaluated across all beans, then the violations of the invalid beans are
+     * assembled by {@link Validator#validateProperty(Object, String, Class[])} in order, with the properties
+     * validated row by row.
+     */
+    private BatchValidationResult<T> executeColumnar(ColumnValidationPlan plan) {
+        List<T> beans = columnarBeans;
+        ColumnValidationPlan.Column[] columns = plan.columns;
+        String[] rowProperties = plan.rowProperties;
+        int columnCount = columns.length;
+        boolean[][] invalidColumns = new boolean[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            invalidColumns[c] = columns[c].evaluate(beans);
+        }
+
+        SortedMap<Integer, Set<ConstraintViolation<T>>> violations = new TreeMap<>();
+        int size = beans.size();
+        int validated = 0;
+        for (int i = 0; i < size && !terminated; i++, validated++) {
+            if (rowProperties.length == 0 && !isInvalid(invalidColumns, i)) {
+                continue;
+            }
+            Set<ConstraintViolation<T>> constraintViolations = null;
+            T bean = beans.get(i);
+            ValidationContext.bind(bean);
+            try {
+                for (int c = 0; c < columnCount; c++) {
+                    boolean[] invalid = invalidColumns[c];
+                    if (invalid != null && invalid[i]) {
+                        constraintViolations = merge(constraintViolations, validateProperty(bean, columns[c].propertyName));
+                    }
+                }
+                for (String propertyName : rowProperties) {
+                    constraintViolations = merge(constraintViolations, validateProperty(bean, propertyName));
+                }
+            } finally {
+                ValidationContext.unbind(bean);
+            }
+            if (constraintViolations != null && !constraintViolations.isEmpty() && record()) {
+                collect(violations, i, constraintViolations);
+            }
+        }
+        return newResult(violations, validated);
+    }
+
+    private static boolean isInvalid(boolean[][] invalidColumns, int index) {
+        for (boolean[] invalid : invalidColumns) {
+            if (invalid != null && invalid[index]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<ConstraintViolation<T>> validateProperty(T bean, String propertyName) {
+        return validator.validateProperty(bean, propertyName, groups);
+    }
+
+    private Set<ConstraintViolation<T>> merge(Set<ConstraintViolation<T>> violations,
+                                              Set<ConstraintViolation<T>> propertyViolations) {
+        if (violations == null || violations.isEmpty()) {
+            return propertyViolations;
+        }
+        if (propertyViolations.isEmpty()) {
+            return violations;
+        }
+        Set<ConstraintViolation<T>> mergedViolations = new HashSet<>(violations);
+        mergedViolations.addAll(propertyViolations);
+        return mergedViolations;
+    }
+
+    private Set<ConstraintViolation<T>> validate(T bean) {
+        ValidationContext.bind(bean);
+        try {
+            return validator.validate(bean, groups);
+        } finally {
+            ValidationContext.unbind(bean);
+        }
+    }
+
+    /**
+     * Collect the violations of an invalid bean into the {@link ViolationReport} if present, or the {@link Map}
+     */
+    private void collect(Map<Integer, Set<ConstraintViolation<T>>> violations, int index,
+                         Set<ConstraintViolation<T>> constraintViolations) {
+        if (violationReport == null) {
+            violations.put(index, constraintViolations);
+        } else {
+            violationReport.record(index, constraintViolations);
+            reportedCount.incrementAndGet();
+        }
+    }
+
+    private BatchValidationResult<T> newResult(SortedMap<Integer, Set<ConstraintViolation<T>>> violations,
+                                               int validatedCount) {
+        int invalidCount = violationReport == null ? violations.size() : reportedCount.get();
+        return new BatchValidationResult<>(violations, invalidCount, validatedCount, terminated, violationReport);
+    }
+
+    /**
+     * Record an invalid bean
+     *
+     * @return <code>false</code> if the fail-fast limit has been exceeded
+     */
+    private boolean record() {
+        if (failFastLimit < 1) {
+            invalidCount.incrementAndGet();
+            return true;
+        }
+        int count = invalidCount.incrementAndGet();
+        if (count >= failFastLimit) {
+            terminated = true;
+        }
+        return count <= failFastLimit;
+    }
+
+    /**
+     * The chunk of beans
+     */
+    private static final class Chunk<T> {
+
+        private final int baseIndex;
+
+        private final List<T> beans;
+
+        private Chunk(int baseIndex, List<T> beans) {
+            this.baseIndex = baseIndex;
+            this.beans = beans;
+        }
+    }
+
+    /**
+     * The thread-safe source of the chunks
+     */
+    private interface ChunkSource<T> {
+
+        /**
+         * @return <code>null</code> if no more chunk
+         */
+        Chunk<T> next();
+    }
+
+    /**
+     * The chunks are the views of {@link List}
+     */
+    private static final class ListChunkSource<T> implements ChunkSource<T> {
+
+        private final List<T> beans;
+
+        private final int chunkSize;
+
+        private final AtomicInteger nextBaseIndex = new AtomicInteger();
+
+        private ListChunkSource(List<T> beans, int chunkSize) {
+            this.beans = beans;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public Chunk<T> next() {
+            int size = beans.size();
+            int baseIndex = nextBaseIndex.getAndAdd(chunkSize);
+            if (baseIndex >= size || baseIndex < 0) {
+                return null;
+            }
+            return new Chunk<>(baseIndex, beans.subList(baseIndex, min(size, baseIndex + chunkSize)));
+        }
+    }
+
+    /**
+     * The chunks are pulled from {@link Iterator} exclusively
+     */
+    private static final class IteratorChunkSource<T> implements ChunkSource<T> {
+
+        private final Iterator<T> beans;
+
+        private final int chunkSize;
+
+        private int nextBaseIndex;
+
+        private IteratorChunkSource(Iterator<T> beans, int chunkSize) {
+            this.beans = beans;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized Chunk<T> next() {
+            if (!beans.hasNext()) {
+                return null;
+            }
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && beans.hasNext()) {
+                chunk.add(beans.next());
+            }
+            int baseIndex = nextBaseIndex;
+            nextBaseIndex += chunk.size();
+            return new Chunk<>(baseIndex, chunk);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.groups.Default;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The options of {@link BatchValidator}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidator
+ * @since 1.0.0
+ */
+public class BatchValidationOptions {
+
+    /**
+     * The default size of chunk
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private static final Class<?>[] NO_GROUPS = new Class<?>[0];
+
+    private int parallelism = 1;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int failFastLimit;
+
+    private ForkJoinPool forkJoinPool;
+
+    private Class<?>[] groups = NO_GROUPS;
+
+    private boolean columnar;
+
+    private ViolationReport violationReport;
+
+    /**
+     * The max number of the chunks validated concurrently, 1 (by default) means validating in the caller thread
+     *
+     * @param parallelism the parallelism, must be positive
+     * @return this
+     */
+    public BatchValidationOptions parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive : " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * The number of beans per chunk, the unit of the task on {@link ForkJoinPool}
+     *
+     * @param chunkSize the size of chunk, must be positive
+     * @return this
+     */
+    public BatchValidationOptions chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive : " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Stop validating after the specified number of invalid beans, 0 (by default) means validating all beans
+     *
+     * @param failFastLimit the limit, must not be negative
+     * @return this
+     */
+    public BatchValidationOptions failFastLimit(int failFastLimit) {
+        if (failFastLimit < 0) {
+            throw new IllegalArgumentException("The fail-fast limit must not be negative : " + failFastLimit);
+        }
+        this.failFastLimit = failFastLimit;
+        return this;
+    }
+
+    /**
+     * The {@link ForkJoinPool} to execute the chunks if parallelism is greater than 1,
+     * {@link ForkJoinPool#commonPool()} by default
+     *
+     * @param forkJoinPool {@link ForkJoinPool}
+     * @return this
+     */
+    public BatchValidationOptions forkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    /**
+     * The group or list of groups targeted for validation (defaults to {@link Default})
+     *
+     * @param groups the groups
+     * @return this
+     */
+    public BatchValidationOptions groups(Class<?>... groups) {
+        this.groups = groups == null ? NO_GROUPS : groups.clone();
+        return this;
+    }
+
+    /**
+     * Validate the beans column by column, the constraints of each property are resolved once and evaluated across
+     * all beans, then the violations are assembled for the invalid beans only. The beans are validated in the caller
+     * thread, and they are validated row by row if the column mode is inapplicable, e.g. the beans are not the same
+     * class, the class has any class-level or cascaded constraint, or the group sequence is involved.
+     *
+     * @param columnar <code>true</code> to validate column by column, <code>false</code> (by default) row by row
+     * @return this
+     * @see ColumnConstraintValidator
+     */
+    public BatchValidationOptions columnar(boolean columnar) {
+        this.columnar = columnar;
+        return this;
+    }
+
+    /**
+     * Record the violations into the compact {@link ViolationReport} instead of {@link BatchValidationResult}, which
+     * is recommended if a large number of violations are expected. The report should not be shared by batches.
+     *
+     * @param violationReport {@link ViolationReport}, or <code>null</code> (by default)
+     * @return this
+     */
+    public BatchValidationOptions violationReport(ViolationReport violationReport) {
+        this.violationReport = violationReport;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getFailFastLimit() {
+        return failFastLimit;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+    }
+
+    public Class<?>[] getGroups() {
+        return groups.clone();
+    }
+
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    public ViolationReport getViolationReport() {
+        return violationReport;
+    }
+
+    Class<?>[] groups() {
+        return groups;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSortedMap;
+
+/**
+ * The result of {@link BatchValidator}
+ *
+ * @param <T> the type of beans
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidator
+ * @since 1.0.0
+ */
+public class BatchValidationResult<T> {
+
+    private final SortedMap<Integer, Set<ConstraintViolation<T>>> violations;
+
+    private final int invalidCount;
+
+    private final int validatedCount;
+
+    private final boolean terminated;
+
+    private final ViolationReport violationReport;
+
+    BatchValidationResult(SortedMap<Integer, Set<ConstraintViolation<T>>> violations, int invalidCount,
+                          int validatedCount, boolean terminated, ViolationReport violationReport) {
+        this.violations = unmodifiableSortedMap(violations);
+        this.invalidCount = invalidCount;
+        this.validatedCount = validatedCount;
+        this.terminated = terminated;
+        this.violationReport = violationReport;
+    }
+
+    /**
+     * Get the constraint violations of the bean
+     *
+     * @param index the index of bean
+     * @return an empty set if the bean is valid or not validated, or the violations are recorded into
+     * {@link #getViolationReport() ViolationReport}
+     */
+    public Set<ConstraintViolation<T>> getViolations(int index) {
+        Set<ConstraintViolation<T>> constraintViolations = violations.get(index);
+        return constraintViolations == null ? emptySet() : constraintViolations;
+    }
+
+    /**
+     * Get the constraint violations of the invalid beans
+     *
+     * @return the read-only {@link SortedMap} with the key of bean index, which is empty if the violations are recorded
+     * into {@link #getViolationReport() ViolationReport}
+     */
+    public SortedMap<Integer, Set<ConstraintViolation<T>>> getViolations() {
+        return violations;
+    }
+
+    /**
+     * @return the number of the beans have been validated
+     */
+    public int getValidatedCount() {
+        return validatedCount;
+    }
+
+    /**
+     * @return the number of the invalid beans
+     */
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * @return <code>true</code> if the validation was stopped by the fail-fast limit
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * @return <code>true</code> if all validated beans are valid
+     */
+    public boolean isValid() {
+        return invalidCount == 0;
+    }
+
+    /**
+     * @return the {@link ViolationReport} specified by {@link BatchValidationOptions#violationReport(ViolationReport)},
+     * or <code>null</code>
+     */
+    public ViolationReport getViolationReport() {
+        return violationReport;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.Validator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The bulk/batch validator validates the beans in batch, the {@link ValidationInterceptor ValidationInterceptors}
+ * receive one pair of {@link ValidationInterceptor#beforeValidateBatch(BatchValidationOptions) before} and
+ * {@link ValidationInterceptor#afterValidateBatch(BatchValidationOptions, BatchValidationResult, Throwable) after}
+ * callbacks per batch instead of the callbacks per bean, and each bean is bound into {@link ValidationContext}
+ * during its validation.
+ * <p>
+ * The instance could be obtained by {@link Validator#unwrap(Class)} :
+ * <pre>{@code
+ * BatchValidator batchValidator = validator.unwrap(BatchValidator.class);
+ * BatchValidationResult<Row> result = batchValidator.validateBatch(rows, new BatchValidationOptions().parallelism(4));
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidationOptions
+ * @see BatchValidationResult
+ * @since 1.0.0
+ */
+public interface BatchValidator {
+
+    /**
+     * Validate the beans in batch
+     *
+     * @param beans   the beans to validate, the index of bean in the result is its index of {@link List}
+     * @param options {@link BatchValidationOptions}
+     * @param <T>     the type of beans
+     * @return non-null {@link BatchValidationResult}
+     */
+    <T> BatchValidationResult<T> validateBatch(List<T> beans, BatchValidationOptions options);
+
+    /**
+     * Validate the beans in batch
+     *
+     * @param beans   the beans to validate, the index of bean in the result is its iteration order
+     * @param options {@link BatchValidationOptions}
+     * @param <T>     the type of beans
+     * @return non-null {@link BatchValidationResult}
+     */
+    <T> BatchValidationResult<T> validateBatch(Iterator<T> beans, BatchValidationOptions options);
+
+    /**
+     * Validate the beans in batch
+     *
+     * @param beans   the beans to validate, the index of bean in the result is its encounter order,
+     *                the {@link Stream} will not be closed
+     * @param options {@link BatchValidationOptions}
+     * @param <T>     the type of beans
+     * @return non-null {@link BatchValidationResult}
+     */
+    default <T> BatchValidationResult<T> validateBatch(Stream<T> beans, BatchValidationOptions options) {
+        return validateBatch(beans.iterator(), options);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The immutable index of the bean properties (including the inherited ones), which is built lazily once per class,
+ * so that the {@link javax.validation.ConstraintValidator ConstraintValidators} could query the property metadata
+ * (e.g. the annotations on the field) in O(1) instead of the reflective lookups.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see PropertyMetadata
+ * @see ConstraintValidatorContextUtils#getPropertyPath(javax.validation.ConstraintValidatorContext)
+ * @since 1.0.0
+ */
+public final class BeanPropertyIndex {
+
+    private static final ClassValue<BeanPropertyIndex> indexes = new ClassValue<BeanPropertyIndex>() {
+        @Override
+        protected BeanPropertyIndex computeValue(Class<?> type) {
+            return new BeanPropertyIndex(type);
+        }
+    };
+
+    private final Class<?> beanClass;
+
+    private final Map<String, PropertyMetadata> properties;
+
+    private BeanPropertyIndex(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.properties = resolveProperties(beanClass);
+    }
+
+    /**
+     * Get the index of the specified bean class
+     *
+     * @param beanClass the bean class
+     * @return non-null
+     */
+    public static BeanPropertyIndex of(Class<?> beanClass) {
+        return indexes.get(beanClass);
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Get the metadata of all properties, the declared ones of sub-class are in front of super-class'
+     *
+     * @return read-only {@link Collection}
+     */
+    public Collection<PropertyMetadata> getProperties() {
+        return properties.values();
+    }
+
+    /**
+     * Get the metadata of the property
+     *
+     * @param propertyName the name of property
+     * @return <code>null</code> if not found
+     */
+    public PropertyMetadata getProperty(String propertyName) {
+        return properties.get(propertyName);
+    }
+
+    /**
+     * Get the metadata of the (nested) property by walking the nodes of {@link Path} from current bean class,
+     * the {@link Path#toString() string form} is never built.
+     *
+     * @param propertyPath the property path, e.g. "statisticMonth", "report.items[0].statisticMonth"
+     * @return <code>null</code> if not found or the path is not a property path (e.g. method parameters)
+     */
+    public PropertyMetadata getProperty(Path propertyPath) {
+        BeanPropertyIndex index = this;
+        PropertyMetadata property = null;
+        for (Path.Node node : propertyPath) {
+            String name = node.getName();
+            if (name == null || node.getKind() == ElementKind.BEAN) {
+                // The bean node of class-level constraints
+                continue;
+            }
+            if (node.getKind() != ElementKind.PROPERTY) {
+                return null;
+            }
+            if (property != null) {
+                index = of(node.isInIterable() ? property.getElementType() : property.getType());
+            }
+            property = index.getProperty(name);
+            if (property == null) {
+                return null;
+            }
+        }
+        return property;
+    }
+
+    private static Map<String, PropertyMetadata> resolveProperties(Class<?> beanClass) {
+        Map<String, PropertyMetadata> properties = new LinkedHashMap<>();
+        Class<?> type = beanClass;
+        while (type != null && type != Object.class) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                // The field in sub-class shadows the one in super-class
+                properties.putIfAbsent(field.getName(), new PropertyMetadata(field));
+            }
+            type = type.getSuperclass();
+        }
+        return unmodifiableMap(properties);
+    }
+}
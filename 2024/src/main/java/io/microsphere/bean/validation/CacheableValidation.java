@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The marker of immutable type whose {@link Validator#validate(Object, Class[]) validation} results could be cached
+ * by {@link ValidationResultCache}, the type must not be mutated after construction, or the cached results become
+ * stale. Only the valid results are cached, because the {@link ConstraintViolation ConstraintViolations} refer to the
+ * validated instance as the root bean. The annotation takes effect only if the cache is enabled by the System Property
+ * {@value ValidationResultCache#ENABLED_PROPERTY_NAME}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationResultCache
+ * @since 1.0.0
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface CacheableValidation {
+
+    /**
+     * @return the type of cache key
+     */
+    KeyType key() default KeyType.IDENTITY;
+
+    /**
+     * The type of cache key
+     */
+    enum KeyType {
+
+        /**
+         * The bean instance is the key
+         */
+        IDENTITY,
+
+        /**
+         * The beans are equal by {@link Object#equals(Object)} and {@link Object#hashCode()}
+         */
+        VALUE
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.hibernate.validator.messageinterpolation.AbstractMessageInterpolator;
+import org.hibernate.validator.messageinterpolation.ExpressionLanguageFeatureLevel;
+import org.hibernate.validator.messageinterpolation.HibernateMessageInterpolatorContext;
+import org.hibernate.validator.spi.messageinterpolation.LocaleResolver;
+import org.hibernate.validator.spi.messageinterpolation.LocaleResolverContext;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.Path;
+import javax.validation.ValidatorFactory;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.emptyMap;
+
+/**
+ * {@link MessageInterpolator} caches the interpolated messages per (template, constraint attributes, locale), which
+ * is applied to the {@link ValidatorFactory ValidatorFactories} built by {@link InterceptingValidationProvider}, and
+ * obtains by {@link ValidatorFactory#getMessageInterpolator()}.
+ * <p>
+ * The template without any special character is the message itself, the delegate is not involved. Otherwise, the
+ * message is cached only if the delegate interpolated it without the validated value, the bean or the dynamic
+ * parameters of {@link HibernateMessageInterpolatorContext}, in practice, the message has no "${...}" expression
+ * after the parameters are resolved, so that the expression language evaluation is skipped on hit.
+ * <p>
+ * The delegate of {@link #interpolate(String, Context)} resolves the locale by itself, for instance, by a request-scoped
+ * Hibernate Validator's {@link LocaleResolver}, thus the message is cached only if the locale could be resolved in the
+ * same way, that is, the delegate is an {@link AbstractMessageInterpolator}, otherwise it's always delegated.
+ * <p>
+ * The cache is split into the segments in LRU order, the maximum size could be changed by the System Property
+ * {@value #MAX_SIZE_PROPERTY_NAME}, defaults to {@value #DEFAULT_MAX_SIZE}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see MessageInterpolator
+ * @see ValidationResultCache
+ * @since 1.0.0
+ */
+public final class CachingMessageInterpolator implements MessageInterpolator {
+
+    public static final String MAX_SIZE_PROPERTY_NAME = "microsphere.validation.message-cache.max-size";
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * The getters of the "localeResolver" and "localeResolverContext" fields in {@link AbstractMessageInterpolator}
+     * with type (Object)LocaleResolver and (Object)LocaleResolverContext, captured once
+     */
+    private static final MethodHandle localeResolverGetter;
+
+    private static final MethodHandle localeResolverContextGetter;
+
+    static {
+        MethodHandle resolverGetter = null;
+        MethodHandle contextGetter = null;
+        try {
+            resolverGetter = getter("localeResolver", LocaleResolver.class);
+            contextGetter = getter("localeResolverContext", LocaleResolverContext.class);
+        } catch (Throwable e) {
+            // Incompatible Hibernate Validator
+            resolverGetter = null;
+            contextGetter = null;
+        }
+        localeResolverGetter = resolverGetter;
+        localeResolverContextGetter = contextGetter;
+    }
+
+    private final MessageInterpolator delegate;
+
+    /**
+     * The {@link LocaleResolver} of delegate, or <code>null</code> if unknown
+     */
+    private final LocaleResolver localeResolver;
+
+    private final LocaleResolverContext localeResolverContext;
+
+    private final SegmentedLruCache<Key, String> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder uncacheableCount = new LongAdder();
+
+    public CachingMessageInterpolator(MessageInterpolator delegate) {
+        this(delegate, Integer.getInteger(MAX_SIZE_PROPERTY_NAME, DEFAULT_MAX_SIZE));
+    }
+
+    public CachingMessageInterpolator(MessageInterpolator delegate, int maxSize) {
+        this.delegate = delegate;
+        this.cache = new SegmentedLruCache<>(maxSize);
+        LocaleResolver resolver = null;
+        LocaleResolverContext resolverContext = null;
+        if (localeResolverGetter != null && delegate instanceof AbstractMessageInterpolator) {
+            try {
+                resolver = (LocaleResolver) localeResolverGetter.invokeExact((Object) delegate);
+                resolverContext = (LocaleResolverContext) localeResolverContextGetter.invokeExact((Object) delegate);
+            } catch (Throwable e) {
+                resolver = null;
+            }
+        }
+        this.localeResolver = resolverContext == null ? null : resolver;
+        this.localeResolverContext = resolverContext;
+    }
+
+    private static MethodHandle getter(String fieldName, Class<?> fieldType) throws ReflectiveOperationException {
+        Field field = AbstractMessageInterpolator.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return MethodHandles.lookup().unreflectGetter(field).asType(methodType(fieldType, Object.class));
+    }
+
+    @Override
+    public String interpolate(String messageTemplate, Context context) {
+        if (isLiteral(messageTemplate)) {
+            return messageTemplate;
+        }
+        if (localeResolver == null) {
+            uncacheableCount.increment();
+            return delegate.interpolate(messageTemplate, context);
+        }
+        // The same as AbstractMessageInterpolator#interpolate(String, Context)
+        return interpolate(messageTemplate, context, localeResolver.resolve(localeResolverContext));
+    }
+
+    @Override
+    public String interpolate(String messageTemplate, Context context, Locale locale) {
+        if (locale == null) {
+            return interpolate(messageTemplate, context);
+        }
+        if (isLiteral(messageTemplate)) {
+            return messageTemplate;
+        }
+        if (hasDynamicParameters(context)) {
+            uncacheableCount.increment();
+            return delegate.interpolate(messageTemplate, context, locale);
+        }
+        Key key = new Key(messageTemplate, context.getConstraintDescriptor().getAttributes(), locale);
+        String message = cache.get(key);
+        if (message != null) {
+            hitCount.increment();
+            return message;
+        }
+        missCount.increment();
+        TrackingContext trackingContext = new TrackingContext(context);
+        message = delegate.interpolate(messageTemplate, trackingContext, locale);
+        if (trackingContext.dependent) {
+            uncacheableCount.increment();
+        } else if (message != null) {
+            cache.put(key, message);
+        }
+        return message;
+    }
+
+    /**
+     * @return <code>true</code> if the template has no parameter, expression or escape
+     */
+    private static boolean isLiteral(String messageTemplate) {
+        for (int i = 0; i < messageTemplate.length(); i++) {
+            switch (messageTemplate.charAt(i)) {
+                case '{':
+                case '}':
+                case '$':
+                case '\\':
+                    return false;
+                default:
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasDynamicParameters(Context context) {
+        HibernateMessageInterpolatorContext hibernateContext = unwrapHibernateContext(context);
+        return hibernateContext != null && (!hibernateContext.getMessageParameters().isEmpty() ||
+                !hibernateContext.getExpressionVariables().isEmpty());
+    }
+
+    private static HibernateMessageInterpolatorContext unwrapHibernateContext(Context context) {
+        if (context instanceof HibernateMessageInterpolatorContext) {
+            return (HibernateMessageInterpolatorContext) context;
+        }
+        try {
+            return context.unwrap(HibernateMessageInterpolatorContext.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the delegate {@link MessageInterpolator}
+     */
+    public MessageInterpolator getDelegate() {
+        return delegate;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the count of the interpolations depending on the validated values or dynamic parameters, or whose
+     * locale is resolved by the delegate
+     */
+    public long getUncacheableCount() {
+        return uncacheableCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * @return the ratio of hits in [0, 1], or <code>0</code> if no request
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0L ? 0.0d : (double) hits / requests;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingMessageInterpolator{size=" + size() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", uncacheableCount=" + getUncacheableCount() +
+                ", evictionCount=" + getEvictionCount() +
+                '}';
+    }
+
+    private static final class Key {
+
+        private final String messageTemplate;
+
+        private final Map<String, Object> attributes;
+
+        private final Locale locale;
+
+        private final int hash;
+
+        Key(String messageTemplate, Map<String, Object> attributes, Locale locale) {
+            this.messageTemplate = messageTemplate;
+            this.attributes = attributes;
+            this.locale = locale;
+            this.hash = 31 * (31 * messageTemplate.hashCode() + attributes.hashCode()) + locale.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && messageTemplate.equals(key.messageTemplate) && locale.equals(key.locale)
+                    && attributesEquals(attributes, key.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * The array attributes are compared by their elements
+         */
+        private static boolean attributesEquals(Map<String, Object> attributes, Map<String, Object> otherAttributes) {
+            if (attributes.size() != otherAttributes.size()) {
+                return false;
+            }
+            for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                if (!Objects.deepEquals(entry.getValue(), otherAttributes.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * {@link HibernateMessageInterpolatorContext} tracks whether the message depends on the validated value, the bean
+     * or the dynamic parameters
+     */
+    private static final class TrackingContext implements HibernateMessageInterpolatorContext {
+
+        private final Context delegate;
+
+        private final HibernateMessageInterpolatorContext hibernateContext;
+
+        private boolean dependent;
+
+        TrackingContext(Context delegate) {
+            this.delegate = delegate;
+            this.hibernateContext = unwrapHibernateContext(delegate);
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return delegate.getConstraintDescriptor();
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            dependent = true;
+            return delegate.getValidatedValue();
+        }
+
+        @Override
+        public Class<?> getRootBeanType() {
+            dependent = true;
+            return hibernateContext == null ? null : hibernateContext.getRootBeanType();
+        }
+
+        @Override
+        public Map<String, Object> getMessageParameters() {
+            return hibernateContext == null ? emptyMap() : hibernateContext.getMessageParameters();
+        }
+
+        @Override
+        public Map<String, Object> getExpressionVariables() {
+            return hibernateContext == null ? emptyMap() : hibernateContext.getExpressionVariables();
+        }
+
+        @Override
+        public Path getPropertyPath() {
+            dependent = true;
+            return hibernateContext == null ? null : hibernateContext.getPropertyPath();
+        }
+
+        @Override
+        public ExpressionLanguageFeatureLevel getExpressionLanguageFeatureLevel() {
+            return hibernateContext == null ? ExpressionLanguageFeatureLevel.DEFAULT :
+                    hibernateContext.getExpressionLanguageFeatureLevel();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            dependent = true;
+            return delegate.unwrap(type);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import io.microsphere.bean.validation.CacheableValidation.KeyType;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.BeanDescriptor;
+import java.util.Set;
+
+/**
+ * Caching {@link Validator} memoizes the results of {@link #validate(Object, Class[])} for the cacheable types by
+ * {@link ValidationResultCache}, the other types and entry points are passed through to the delegate.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationResultCache
+ * @see CacheableValidation
+ * @since 1.0.0
+ */
+class CachingValidator implements Validator {
+
+    private final Validator delegate;
+
+    private final ValidationResultCache cache;
+
+    CachingValidator(Validator delegate, ValidationResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        KeyType keyType = object == null ? null : ValidationResultCache.getKeyType(object.getClass());
+        if (keyType == null) {
+            return delegate.validate(object, groups);
+        }
+        Set<ConstraintViolation<T>> constraintViolations = cache.get(object, keyType, groups);
+        if (constraintViolations == null) {
+            constraintViolations = cache.put(object, keyType, groups, delegate.validate(object, groups));
+        }
+        return constraintViolations;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+        return delegate.validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
+        return delegate.validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+        return delegate.getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        if (type.isInstance(cache)) {
+            return type.cast(cache);
+        }
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        return delegate.unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return delegate.forExecutables();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import io.microsphere.bean.validation.ValidationInterceptorChain.Link;
+
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * {@link ValidationInvocation} walks through the pre-linked {@link Link Links} of an entry point, only the cursor of
+ * current link is moved, thus it's the only object allocated per call, and it must not be shared among threads.
+ *
+ * @param <R> the type of result
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationInvocation
+ * @see Link
+ * @since 1.0.0
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class ChainedValidationInvocation<R> implements ValidationInvocation<R> {
+
+    private static final Class<?>[] NO_GROUPS = new Class[0];
+
+    private final ValidationEntryPoint entryPoint;
+
+    private final Validator validator;
+
+    private final ExecutableValidator executableValidator;
+
+    private Link link;
+
+    private Object object;
+
+    private Class<?> beanType;
+
+    private String propertyName;
+
+    private Object value;
+
+    private Method method;
+
+    private Constructor<?> constructor;
+
+    private Object[] parameterValues;
+
+    private Object returnValue;
+
+    private Class<?>[] groups = NO_GROUPS;
+
+    private BatchValidation<?> batchValidation;
+
+    private BatchValidationOptions batchValidationOptions;
+
+    ChainedValidationInvocation(ValidationEntryPoint entryPoint, Link head, Validator validator,
+                                ExecutableValidator executableValidator) {
+        this.entryPoint = entryPoint;
+        this.link = head;
+        this.validator = validator;
+        this.executableValidator = executableValidator;
+    }
+
+    ChainedValidationInvocation<R> object(Object object) {
+        this.object = object;
+        this.beanType = object == null ? null : object.getClass();
+        return this;
+    }
+
+    ChainedValidationInvocation<R> beanType(Class<?> beanType) {
+        this.beanType = beanType;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> propertyName(String propertyName) {
+        this.propertyName = propertyName;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> value(Object value) {
+        this.value = value;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> method(Method method) {
+        this.method = method;
+        if (method != null) {
+            // The null method is rejected by the underlying validator
+            this.beanType = method.getDeclaringClass();
+        }
+        return this;
+    }
+
+    ChainedValidationInvocation<R> constructor(Constructor<?> constructor) {
+        this.constructor = constructor;
+        if (constructor != null) {
+            this.beanType = constructor.getDeclaringClass();
+        }
+        return this;
+    }
+
+    ChainedValidationInvocation<R> parameterValues(Object[] parameterValues) {
+        this.parameterValues = parameterValues;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> returnValue(Object returnValue) {
+        this.returnValue = returnValue;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> groups(Class<?>[] groups) {
+        this.groups = groups == null ? NO_GROUPS : groups;
+        return this;
+    }
+
+    ChainedValidationInvocation<R> batch(BatchValidation<?> batchValidation, BatchValidationOptions options) {
+        this.batchValidation = batchValidation;
+        this.batchValidationOptions = options;
+        return this;
+    }
+
+    @Override
+    public R proceed() {
+        Link current = this.link;
+        if (current == null) {
+            return invokeValidator();
+        }
+        this.link = current.next;
+        try {
+            return current.interceptor.around(this);
+        } finally {
+            // Restores the cursor, so that the rest of chain could be proceeded again
+            this.link = current;
+        }
+    }
+
+    private R invokeValidator() {
+        switch (entryPoint) {
+            case VALIDATE:
+                return (R) validator.validate(object, groups);
+            case VALIDATE_PROPERTY:
+                return (R) validator.validateProperty(object, propertyName, groups);
+            case VALIDATE_VALUE:
+                return (R) validator.validateValue(beanType, propertyName, value, groups);
+            case VALIDATE_PARAMETERS:
+                return (R) executableValidator.validateParameters(object, method, parameterValues, groups);
+            case VALIDATE_RETURN_VALUE:
+                return (R) executableValidator.validateReturnValue(object, method, returnValue, groups);
+            case VALIDATE_CONSTRUCTOR_PARAMETERS:
+                return (R) executableValidator.validateConstructorParameters(constructor, parameterValues, groups);
+            case VALIDATE_CONSTRUCTOR_RETURN_VALUE:
+                return (R) executableValidator.validateConstructorReturnValue((Constructor) constructor, returnValue, groups);
+            case VALIDATE_BATCH:
+                return (R) batchValidation.execute();
+            default:
+                throw new UnsupportedOperationException("Unsupported entry point : " + entryPoint);
+        }
+    }
+
+    @Override
+    public ValidationEntryPoint getEntryPoint() {
+        return entryPoint;
+    }
+
+    @Override
+    public Object getObject() {
+        return object;
+    }
+
+    @Override
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    @Override
+    public Object[] getParameterValues() {
+        return parameterValues;
+    }
+
+    @Override
+    public Object getReturnValue() {
+        return returnValue;
+    }
+
+    @Override
+    public Class<?>[] getGroups() {
+        return groups;
+    }
+
+    @Override
+    public BatchValidationOptions getBatchValidationOptions() {
+        return batchValidationOptions;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationInvocation{entryPoint=" + entryPoint + ", beanType=" + beanType + '}';
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * The {@link ConstraintValidator} validates a column of values in bulk, which is used by the
+ * {@link BatchValidationOptions#columnar(boolean) columnar} batch validation.
+ * <p>
+ * The result of each value must be same as {@link ConstraintValidator#isValid(Object, ConstraintValidatorContext)},
+ * and it must not depend on the {@link ConstraintValidatorContext} or the validated bean.
+ *
+ * @param <T> the type of values
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidationOptions#columnar(boolean)
+ * @since 1.0.0
+ */
+public interface ColumnConstraintValidator<T> {
+
+    /**
+     * Validate the values of column
+     *
+     * @param values  the values of column, the element may be <code>null</code>
+     * @param results the results, <code>true</code> if the value of same index is valid, its length is not less than
+     *                the values
+     * @return the number of the invalid values
+     */
+    int isValid(T[] values, boolean[] results);
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.reflect.Proxy.newProxyInstance;
+
+/**
+ * The {@link ConstraintValidatorContext} of a constraint evaluated by the columnar batch validation, the custom
+ * violations built by {@link ConstraintValidator ConstraintValidators} are discarded, because the violations of the
+ * invalid beans are assembled by {@link Validator} afterwards.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ColumnValidationPlan
+ * @since 1.0.0
+ */
+final class ColumnConstraintValidatorContext implements ConstraintValidatorContext, InvocationHandler {
+
+    /**
+     * The no-op builders per type, e.g. {@link ConstraintViolationBuilder}
+     */
+    private final ConcurrentMap<Class<?>, Object> builders = new ConcurrentHashMap<>();
+
+    private final String messageTemplate;
+
+    private final ClockProvider clockProvider;
+
+    ColumnConstraintValidatorContext(String messageTemplate, ClockProvider clockProvider) {
+        this.messageTemplate = messageTemplate;
+        this.clockProvider = clockProvider;
+    }
+
+    @Override
+    public void disableDefaultConstraintViolation() {
+    }
+
+    @Override
+    public String getDefaultConstraintMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    public ClockProvider getClockProvider() {
+        return clockProvider;
+    }
+
+    @Override
+    public ConstraintViolationBuilder buildConstraintViolationWithTemplate(String messageTemplate) {
+        return builder(ConstraintViolationBuilder.class);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        // e.g. HibernateConstraintValidatorContext, the constraint will be evaluated row by row
+        throw new ValidationException("Type " + type.getName() + " not supported for unwrapping.");
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return returnType.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+        }
+        if (returnType == ConstraintValidatorContext.class) {
+            // addConstraintViolation()
+            return this;
+        }
+        return returnType.isInterface() ? builder(returnType) : null;
+    }
+
+    private <T> T builder(Class<T> type) {
+        return type.cast(builders.computeIfAbsent(type, t ->
+                newProxyInstance(t.getClassLoader(), new Class<?>[]{t}, this)));
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.group.GroupSequenceProvider;
+
+import javax.validation.ClockProvider;
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.ConstraintTarget;
+import javax.validation.GroupSequence;
+import javax.validation.Validator;
+import javax.validation.constraintvalidation.SupportedValidationTarget;
+import javax.validation.constraintvalidation.ValidationTarget;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import javax.validation.metadata.ValidateUnwrappedValue;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.reflect.Array.newInstance;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.fill;
+import static org.springframework.core.GenericTypeResolver.resolveTypeArguments;
+import static org.springframework.util.ClassUtils.getAllInterfacesForClassAsSet;
+import static org.springframework.util.ClassUtils.resolvePrimitiveIfNecessary;
+import static org.springframework.util.ReflectionUtils.getAllDeclaredMethods;
+import static org.springframework.util.StringUtils.capitalize;
+
+/**
+ * The plan of the columnar batch validation for a bean class and groups, the constraints of each property are
+ * resolved from {@link Validator#getConstraintsForClass(Class)} once :
+ * <ul>
+ *     <li>The property is validated column by column if it's a field whose constraints are all declared on it, and
+ *     each constraint has a unique {@link ConstraintValidator} which is not {@link HibernateConstraintValidator}
+ *     (the built-in constraints of provider are not the case)</li>
+ *     <li>Otherwise, the property is validated row by row through {@link Validator#validateProperty}</li>
+ * </ul>
+ * The plan is {@link #isApplicable() inapplicable} if the bean class has any class-level or cascaded constraint, or
+ * the group sequence is involved, because they can't be validated per property.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidationOptions#columnar(boolean)
+ * @see ColumnValidationPlanCache
+ * @since 1.0.0
+ */
+final class ColumnValidationPlan {
+
+    private static final Column[] NO_COLUMNS = new Column[0];
+
+    private static final String[] NO_PROPERTIES = new String[0];
+
+    static final ColumnValidationPlan INAPPLICABLE = new ColumnValidationPlan(false, NO_COLUMNS, NO_PROPERTIES);
+
+    private final boolean applicable;
+
+    /**
+     * The properties validated column by column
+     */
+    final Column[] columns;
+
+    /**
+     * The properties validated row by row
+     */
+    final String[] rowProperties;
+
+    private ColumnValidationPlan(boolean applicable, Column[] columns, String[] rowProperties) {
+        this.applicable = applicable;
+        this.columns = columns;
+        this.rowProperties = rowProperties;
+    }
+
+    /**
+     * @return <code>false</code> if the beans must be validated row by row
+     */
+    boolean isApplicable() {
+        return applicable;
+    }
+
+    /**
+     * Resolve the plan
+     *
+     * @param validator                  {@link Validator}
+     * @param constraintValidatorFactory the {@link ConstraintValidatorFactory} of {@link Validator}, or
+     *                                   <code>null</code> if unknown (all properties are validated row by row)
+     * @param clockProvider              the {@link ClockProvider} of {@link Validator}
+     * @param beanClass                  the bean class
+     * @param groups                     the groups
+     * @return non-null
+     */
+    static ColumnValidationPlan resolve(Validator validator, ConstraintValidatorFactory constraintValidatorFactory,
+                                        ClockProvider clockProvider, Class<?> beanClass, Class<?>[] groups) {
+        Class<?>[] targetGroups = groups.length == 0 ? new Class<?>[]{Default.class} : groups;
+        if (isGroupSequenceInvolved(beanClass, targetGroups)) {
+            return INAPPLICABLE;
+        }
+        BeanDescriptor beanDescriptor = validator.getConstraintsForClass(beanClass);
+        if (beanDescriptor.findConstraints().unorderedAndMatchingGroups(targetGroups).hasConstraints()) {
+            return INAPPLICABLE;
+        }
+        List<Column> columns = new ArrayList<>();
+        List<String> rowProperties = new ArrayList<>();
+        for (PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties()) {
+            if (propertyDescriptor.isCascaded() || isCascaded(propertyDescriptor.getConstrainedContainerElementTypes())) {
+                return INAPPLICABLE;
+            }
+            String propertyName = propertyDescriptor.getPropertyName();
+            Set<ConstraintDescriptor<?>> constraintDescriptors = propertyDescriptor.findConstraints()
+                    .unorderedAndMatchingGroups(targetGroups).getConstraintDescriptors();
+            Column column = null;
+            if (propertyDescriptor.getConstrainedContainerElementTypes().isEmpty()) {
+                if (constraintDescriptors.isEmpty()) {
+                    continue;
+                }
+                column = Column.resolve(constraintValidatorFactory, clockProvider, beanClass, propertyName,
+                        constraintDescriptors);
+            }
+            if (column == null) {
+                rowProperties.add(propertyName);
+            } else {
+                columns.add(column);
+            }
+        }
+        return new ColumnValidationPlan(true, columns.toArray(NO_COLUMNS), rowProperties.toArray(NO_PROPERTIES));
+    }
+
+    /**
+     * Release the {@link ConstraintValidator ConstraintValidators} of the columns
+     *
+     * @param constraintValidatorFactory the {@link ConstraintValidatorFactory} which the plan was resolved by
+     */
+    void release(ConstraintValidatorFactory constraintValidatorFactory) {
+        for (Column column : columns) {
+            for (ConstraintValidator<?, ?> validator : column.validators) {
+                constraintValidatorFactory.releaseInstance(validator);
+            }
+        }
+    }
+
+    private static boolean isGroupSequenceInvolved(Class<?> beanClass, Class<?>[] groups) {
+        for (Class<?> group : groups) {
+            if (group.isAnnotationPresent(GroupSequence.class)) {
+                return true;
+            }
+            // The Default group is redefined by the bean class
+            if (group == Default.class && (beanClass.isAnnotationPresent(GroupSequence.class) ||
+                    beanClass.isAnnotationPresent(GroupSequenceProvider.class))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCascaded(Set<ContainerElementTypeDescriptor> containerElementTypes) {
+        for (ContainerElementTypeDescriptor containerElementType : containerElementTypes) {
+            if (containerElementType.isCascaded() ||
+                    isCascaded(containerElementType.getConstrainedContainerElementTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The property validated column by column
+     */
+    static final class Column {
+
+        final String propertyName;
+
+        /**
+         * The getter of field with type (Object)Object
+         */
+        private final MethodHandle getter;
+
+        /**
+         * The component type of the column array, the primitive type is boxed
+         */
+        private final Class<?> valueType;
+
+        private final ConstraintValidator<?, ?>[] validators;
+
+        private final ConstraintValidatorContext[] contexts;
+
+        private Column(String propertyName, MethodHandle getter, Class<?> valueType,
+                       ConstraintValidator<?, ?>[] validators, ConstraintValidatorContext[] contexts) {
+            this.propertyName = propertyName;
+            this.getter = getter;
+            this.valueType = valueType;
+            this.validators = validators;
+            this.contexts = contexts;
+        }
+
+        /**
+         * Evaluate the constraints across the beans
+         *
+         * @param beans the beans of the same class
+         * @return the flags of the invalid beans, or <code>null</code> if all beans are valid
+         */
+        boolean[] evaluate(List<?> beans) {
+            int size = beans.size();
+            Object[] values = (Object[]) newInstance(valueType, size);
+            for (int i = 0; i < size; i++) {
+                values[i] = getValue(beans.get(i));
+            }
+            boolean[] results = new boolean[size];
+            boolean[] invalid = null;
+            for (int c = 0; c < validators.length; c++) {
+                int invalidCount;
+                try {
+                    invalidCount = evaluate(validators[c], contexts[c], values, beans, results);
+                } catch (RuntimeException e) {
+                    // All beans are validated row by row, so that the error is raised as same as the per-row validation
+                    invalid = new boolean[size];
+                    fill(invalid, true);
+                    return invalid;
+                }
+                if (invalidCount > 0) {
+                    if (invalid == null) {
+                        invalid = new boolean[size];
+                    }
+                    for (int i = 0; i < size; i++) {
+                        invalid[i] |= !results[i];
+                    }
+                }
+            }
+            return invalid;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int evaluate(ConstraintValidator<?, ?> validator, ConstraintValidatorContext context,
+                                    Object[] values, List<?> beans, boolean[] results) {
+            if (validator instanceof ColumnConstraintValidator) {
+                return ((ColumnConstraintValidator<Object>) validator).isValid(values, results);
+            }
+            ConstraintValidator<?, Object> constraintValidator = (ConstraintValidator<?, Object>) validator;
+            int invalidCount = 0;
+            for (int i = 0; i < values.length; i++) {
+                Object bean = beans.get(i);
+                boolean valid;
+                ValidationContext.bind(bean);
+                try {
+                    valid = constraintValidator.isValid(values[i], context);
+                } finally {
+                    ValidationContext.unbind(bean);
+                }
+                results[i] = valid;
+                if (!valid) {
+                    invalidCount++;
+                }
+            }
+            return invalidCount;
+        }
+
+        private Object getValue(Object bean) {
+            try {
+                return getter.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new IllegalStateException("The property[" + propertyName + "] can't be read from " + bean, e);
+            }
+        }
+
+        /**
+         * @return <code>null</code> if the property can't be validated column by column
+         */
+        static Column resolve(ConstraintValidatorFactory constraintValidatorFactory, ClockProvider clockProvider,
+                              Class<?> beanClass, String propertyName, Set<ConstraintDescriptor<?>> constraintDescriptors) {
+            PropertyMetadata property = BeanPropertyIndex.of(beanClass).getProperty(propertyName);
+            if (constraintValidatorFactory == null || property == null || hasConstrainedGetter(beanClass, propertyName)) {
+                return null;
+            }
+            Field field = property.getField();
+            Class<?> valueType = resolvePrimitiveIfNecessary(field.getType());
+            MethodHandle getter;
+            try {
+                field.setAccessible(true);
+                getter = MethodHandles.lookup().unreflectGetter(field).asType(methodType(Object.class, Object.class));
+            } catch (RuntimeException | IllegalAccessException e) {
+                return null;
+            }
+
+            List<Class<? extends ConstraintValidator<?, ?>>> validatorClasses = new ArrayList<>(constraintDescriptors.size());
+            for (ConstraintDescriptor<?> constraintDescriptor : constraintDescriptors) {
+                Class<? extends ConstraintValidator<?, ?>> validatorClass = resolveValidatorClass(constraintDescriptor,
+                        field, valueType);
+                if (validatorClass == null) {
+                    return null;
+                }
+                validatorClasses.add(validatorClass);
+            }
+
+            int size = validatorClasses.size();
+            ConstraintValidator<?, ?>[] validators = new ConstraintValidator<?, ?>[size];
+            ConstraintValidatorContext[] contexts = new ConstraintValidatorContext[size];
+            int index = 0;
+            for (ConstraintDescriptor<?> constraintDescriptor : constraintDescriptors) {
+                ConstraintValidator<?, ?> validator = constraintValidatorFactory.getInstance(validatorClasses.get(index));
+                if (validator instanceof HibernateConstraintValidator) {
+                    // It requires the initialization context of provider
+                    constraintValidatorFactory.releaseInstance(validator);
+                    for (int i = 0; i < index; i++) {
+                        constraintValidatorFactory.releaseInstance(validators[i]);
+                    }
+                    return null;
+                }
+                initialize(validator, constraintDescriptor.getAnnotation());
+                validators[index] = validator;
+                contexts[index] = new ColumnConstraintValidatorContext(constraintDescriptor.getMessageTemplate(),
+                        clockProvider);
+                index++;
+            }
+            return new Column(propertyName, getter, valueType, validators, contexts);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void initialize(ConstraintValidator<?, ?> validator, Annotation annotation) {
+            ((ConstraintValidator<Annotation, ?>) validator).initialize(annotation);
+        }
+
+        /**
+         * Resolve the most specific {@link ConstraintValidator} class for the field as the provider does
+         *
+         * @return <code>null</code> if absent or ambiguous, or the constraint is not declared on the field
+         */
+        @SuppressWarnings("unchecked")
+        private static Class<? extends ConstraintValidator<?, ?>> resolveValidatorClass(ConstraintDescriptor<?> constraintDescriptor,
+                                                                                         Field field, Class<?> valueType) {
+            Annotation annotation = constraintDescriptor.getAnnotation();
+            if (!constraintDescriptor.getComposingConstraints().isEmpty()
+                    || constraintDescriptor.getValidationAppliesTo() == ConstraintTarget.PARAMETERS
+                    || constraintDescriptor.getValueUnwrapping() != ValidateUnwrappedValue.DEFAULT
+                    || !asList(field.getAnnotationsByType(annotation.annotationType())).contains(annotation)) {
+                return null;
+            }
+            Class<? extends ConstraintValidator<?, ?>> validatorClass = null;
+            Class<?> validatedType = null;
+            for (Class<? extends ConstraintValidator<?, ?>> candidate : constraintDescriptor.getConstraintValidatorClasses()) {
+                SupportedValidationTarget target = candidate.getAnnotation(SupportedValidationTarget.class);
+                if (target != null && !asList(target.value()).contains(ValidationTarget.ANNOTATED_ELEMENT)) {
+                    continue;
+                }
+                Class<?>[] typeArguments = resolveTypeArguments(candidate, ConstraintValidator.class);
+                if (typeArguments == null || !resolvePrimitiveIfNecessary(typeArguments[1]).isAssignableFrom(valueType)) {
+                    continue;
+                }
+                Class<?> candidateType = resolvePrimitiveIfNecessary(typeArguments[1]);
+                if (validatedType == null || validatedType.isAssignableFrom(candidateType)) {
+                    if (validatedType == candidateType) {
+                        return null;
+                    }
+                    validatorClass = candidate;
+                    validatedType = candidateType;
+                } else if (!candidateType.isAssignableFrom(validatedType)) {
+                    return null;
+                }
+            }
+            return validatorClass;
+        }
+
+        private static boolean hasConstrainedGetter(Class<?> beanClass, String propertyName) {
+            String suffix = capitalize(propertyName);
+            List<Method> methods = new ArrayList<>(asList(getAllDeclaredMethods(beanClass)));
+            for (Class<?> interfaceClass : getAllInterfacesForClassAsSet(beanClass)) {
+                methods.addAll(asList(interfaceClass.getDeclaredMethods()));
+            }
+            for (Method method : methods) {
+                if (method.getParameterCount() == 0 && (method.getName().equals("get" + suffix) ||
+                        method.getName().equals("is" + suffix))) {
+                    for (Annotation annotation : method.getAnnotations()) {
+                        if (annotation.annotationType().isAnnotationPresent(Constraint.class) ||
+                                isConstraintContainer(annotation)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return <code>true</code> if the annotation is the container of repeatable constraints, e.g. "@List"
+         */
+        private static boolean isConstraintContainer(Annotation annotation) {
+            try {
+                Method value = annotation.annotationType().getMethod("value");
+                Class<?> returnType = value.getReturnType();
+                return returnType.isArray() && returnType.getComponentType().isAnnotationPresent(Constraint.class);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Arrays.asList;
+
+/**
+ * The cache of {@link ColumnValidationPlan ColumnValidationPlans} per bean class and groups of a {@link Validator},
+ * the {@link javax.validation.ConstraintValidator ConstraintValidators} of the plans are retained until the cache is
+ * {@link #close() closed}, that is, the {@link Validator} is evicted or its factory is closed.
+ * <p>
+ * The {@link javax.validation.ConstraintValidator ConstraintValidators} are got from the configured
+ * {@link ConstraintValidatorFactory} rather than the customized one, because the {@link ColumnConstraintValidator}
+ * would be hidden by the wrappers.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ColumnValidationPlan
+ * @since 1.0.0
+ */
+final class ColumnValidationPlanCache {
+
+    private final Validator validator;
+
+    private final ConstraintValidatorFactory constraintValidatorFactory;
+
+    private final ClockProvider clockProvider;
+
+    private final ConcurrentMap<List<Class<?>>, ColumnValidationPlan> cache = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param validator                  {@link Validator}
+     * @param constraintValidatorFactory the {@link ConstraintValidatorFactory} of {@link Validator}, or
+     *                                   <code>null</code> if unknown or the properties must be validated row by row,
+     *                                   e.g. the {@link javax.validation.TraversableResolver} is customized
+     * @param clockProvider              the {@link ClockProvider} of {@link Validator}
+     */
+    ColumnValidationPlanCache(Validator validator, ConstraintValidatorFactory constraintValidatorFactory,
+                              ClockProvider clockProvider) {
+        this.validator = validator;
+        this.constraintValidatorFactory = constraintValidatorFactory;
+        this.clockProvider = clockProvider;
+    }
+
+    /**
+     * Get the plan of the bean class and groups
+     *
+     * @param beanClass the bean class
+     * @param groups    the groups
+     * @return {@link ColumnValidationPlan#INAPPLICABLE} if closed
+     */
+    ColumnValidationPlan get(Class<?> beanClass, Class<?>[] groups) {
+        if (closed) {
+            return ColumnValidationPlan.INAPPLICABLE;
+        }
+        List<Class<?>> key = new ArrayList<>(groups.length + 1);
+        key.add(beanClass);
+        key.addAll(asList(groups));
+        ColumnValidationPlan plan = cache.computeIfAbsent(key, k -> ColumnValidationPlan.resolve(validator,
+                constraintValidatorFactory, clockProvider, beanClass, groups));
+        if (closed && cache.remove(key, plan)) {
+            // Resolved during the closing
+            plan.release(constraintValidatorFactory);
+            return ColumnValidationPlan.INAPPLICABLE;
+        }
+        return plan;
+    }
+
+    /**
+     * Release the {@link javax.validation.ConstraintValidator ConstraintValidators} of the plans, the beans are
+     * validated row by row after that
+     */
+    void close() {
+        closed = true;
+        if (constraintValidatorFactory == null) {
+            return;
+        }
+        for (List<Class<?>> key : cache.keySet()) {
+            ColumnValidationPlan plan = cache.remove(key);
+            if (plan != null) {
+                plan.release(constraintValidatorFactory);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Path;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The utilities class for {@link ConstraintValidatorContext}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ConstraintValidatorContext
+ * @since 1.0.0
+ */
+public final class ConstraintValidatorContextUtils {
+
+    /**
+     * The class name of Hibernate Validator's {@link ConstraintValidatorContext} implementation
+     */
+    static final String HIBERNATE_CONSTRAINT_VALIDATOR_CONTEXT_CLASS_NAME =
+            "org.hibernate.validator.internal.engine.constraintvalidation.ConstraintValidatorContextImpl";
+
+    /**
+     * The field name of the property path in Hibernate Validator's {@link ConstraintValidatorContext} implementation
+     */
+    static final String BASE_PATH_FIELD_NAME = "basePath";
+
+    private static final Class<?> hibernateConstraintValidatorContextClass;
+
+    /**
+     * The getter of "basePath" field with type (Object)Path, captured once
+     */
+    private static final MethodHandle basePathGetter;
+
+    static {
+        Class<?> contextClass = null;
+        MethodHandle getter = null;
+        try {
+            contextClass = Class.forName(HIBERNATE_CONSTRAINT_VALIDATOR_CONTEXT_CLASS_NAME, false,
+                    ConstraintValidatorContextUtils.class.getClassLoader());
+            Field field = contextClass.getDeclaredField(BASE_PATH_FIELD_NAME);
+            field.setAccessible(true);
+            getter = MethodHandles.lookup().unreflectGetter(field).asType(methodType(Path.class, Object.class));
+        } catch (Throwable e) {
+            // Hibernate Validator is absent or incompatible
+            contextClass = null;
+            getter = null;
+        }
+        hibernateConstraintValidatorContextClass = contextClass;
+        basePathGetter = getter;
+    }
+
+    private ConstraintValidatorContextUtils() {
+    }
+
+    /**
+     * Get the property path of the constraint being validated
+     *
+     * @param context {@link ConstraintValidatorContext}
+     * @return <code>null</code> if the context is not supported
+     */
+    public static Path getPropertyPath(ConstraintValidatorContext context) {
+        if (basePathGetter == null || !hibernateConstraintValidatorContextClass.isInstance(context)) {
+            return null;
+        }
+        try {
+            return (Path) basePathGetter.invokeExact((Object) context);
+        } catch (Throwable e) {
+            throw new IllegalStateException("The property path can't be read from " + context, e);
+        }
+    }
+}
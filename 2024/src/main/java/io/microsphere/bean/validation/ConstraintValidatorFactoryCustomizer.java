@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.ValidatorFactory;
+
+/**
+ * The customizer of {@link ConstraintValidatorFactory} that is applied once when the {@link ValidatorFactory} is being
+ * built, so that the {@link ConstraintValidator} instances could be decorated.
+ * <p>
+ * The {@link ValidationInterceptor ValidationInterceptors} implementing this interface are applied in the chain order,
+ * thus the customized {@link ConstraintValidatorFactory} of the first one is the outermost.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ConstraintValidatorFactory
+ * @see ValidationInterceptor
+ * @since 1.0.0
+ */
+public interface ConstraintValidatorFactoryCustomizer {
+
+    /**
+     * Customize the {@link ConstraintValidatorFactory}
+     *
+     * @param constraintValidatorFactory the configured {@link ConstraintValidatorFactory}
+     * @return non-null, returns the argument itself if no customization
+     */
+    ConstraintValidatorFactory customize(ConstraintValidatorFactory constraintValidatorFactory);
+}
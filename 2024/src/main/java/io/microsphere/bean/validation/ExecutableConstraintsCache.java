@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ExecutableDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * The cache of whether the {@link Method methods} or {@link Constructor constructors} have any constraint on
+ * their parameters (including cross-parameter and cascaded ones) or return values, resolved once from
+ * {@link Validator#getConstraintsForClass(Class)}, so that the unconstrained executables can skip the validation.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BeanDescriptor#getConstraintsForMethod(String, Class[])
+ * @see BeanDescriptor#getConstraintsForConstructor(Class[])
+ * @since 1.0.0
+ */
+final class ExecutableConstraintsCache {
+
+    static final int NONE = 0;
+
+    static final int PARAMETERS = 1;
+
+    static final int RETURN_VALUE = 1 << 1;
+
+    static final int ALL = PARAMETERS | RETURN_VALUE;
+
+    private final Validator validator;
+
+    /**
+     * The bean class is a part of key, because the constraints of the overriding methods in sub-class may be
+     * different from the declared ones, the executables are kept by {@link ClassValue}, so that the class loader of
+     * bean class is not pinned
+     */
+    private final ClassValue<ConcurrentMap<Executable, Integer>> cache = new ClassValue<ConcurrentMap<Executable, Integer>>() {
+        @Override
+        protected ConcurrentMap<Executable, Integer> computeValue(Class<?> beanClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    ExecutableConstraintsCache(Validator validator) {
+        this.validator = validator;
+    }
+
+    boolean hasParameterConstraints(Object object, Method method) {
+        // The null object or method is delegated to the underlying validator which rejects it
+        return object == null || method == null || (getConstraints(object.getClass(), method) & PARAMETERS) != NONE;
+    }
+
+    boolean hasReturnValueConstraints(Object object, Method method) {
+        // The null object or method is delegated to the underlying validator which rejects it
+        return object == null || method == null || (getConstraints(object.getClass(), method) & RETURN_VALUE) != NONE;
+    }
+
+    boolean hasParameterConstraints(Constructor<?> constructor) {
+        return constructor == null || (getConstraints(constructor.getDeclaringClass(), constructor) & PARAMETERS) != NONE;
+    }
+
+    boolean hasReturnValueConstraints(Constructor<?> constructor) {
+        return constructor == null || (getConstraints(constructor.getDeclaringClass(), constructor) & RETURN_VALUE) != NONE;
+    }
+
+    /**
+     * Resolve the constraints of the public methods and the declared constructors of the bean class in advance
+     *
+     * @param beanClass the bean class
+     * @return the count of constrained executables
+     */
+    int warmUp(Class<?> beanClass) {
+        int count = 0;
+        for (Method method : beanClass.getMethods()) {
+            if (!isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+                    && getConstraints(beanClass, method) != NONE) {
+                count++;
+            }
+        }
+        for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+            if (getConstraints(beanClass, constructor) != NONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int getConstraints(Class<?> beanClass, Executable executable) {
+        ConcurrentMap<Executable, Integer> constraintsMap = cache.get(beanClass);
+        Integer constraints = constraintsMap.get(executable);
+        if (constraints == null) {
+            constraints = constraintsMap.computeIfAbsent(executable, e -> resolveConstraints(beanClass, e));
+        }
+        return constraints;
+    }
+
+    private int resolveConstraints(Class<?> beanClass, Executable executable) {
+        ExecutableDescriptor descriptor;
+        try {
+            BeanDescriptor beanDescriptor = validator.getConstraintsForClass(beanClass);
+            if (executable instanceof Method) {
+                descriptor = beanDescriptor.getConstraintsForMethod(executable.getName(), executable.getParameterTypes());
+            } else {
+                descriptor = beanDescriptor.getConstraintsForConstructor(executable.getParameterTypes());
+            }
+        } catch (RuntimeException e) {
+            // Let the delegate validator handle (and report) the exceptional executable
+            return ALL;
+        }
+        if (descriptor == null) {
+            return NONE;
+        }
+        int constraints = NONE;
+        if (descriptor.hasConstrainedParameters()) {
+            constraints |= PARAMETERS;
+        }
+        if (descriptor.hasConstrainedReturnValue()) {
+            constraints |= RETURN_VALUE;
+        }
+        return constraints;
+    }
+}
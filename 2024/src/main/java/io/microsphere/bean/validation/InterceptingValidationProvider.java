@@ -16,12 +16,25 @@
  */
 package io.microsphere.bean.validation;
 
+import javax.validation.ClockProvider;
 import javax.validation.Configuration;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.MessageInterpolator;
+import javax.validation.ParameterNameProvider;
+import javax.validation.TraversableResolver;
 import javax.validation.ValidatorFactory;
 import javax.validation.spi.BootstrapState;
 import javax.validation.spi.ConfigurationState;
 import javax.validation.spi.ValidationProvider;
+import javax.validation.valueextraction.ValueExtractor;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Intercepting {@link ValidationProvider}
@@ -34,15 +47,44 @@ class InterceptingValidationProvider<T extends Configuration<T>> implements Vali
 
     private final ValidationProvider<T> delegate;
 
-    private final Iterable<ValidationInterceptor> validationInterceptors;
+    /**
+     * The chain is built once when the first {@link ValidatorFactory} is being built, the discovered providers that
+     * are never used don't load the interceptors
+     */
+    private volatile ValidationInterceptorChain validationInterceptorChain;
 
     InterceptingValidationProvider(ValidationProvider<T> delegate) {
         this.delegate = delegate;
-        this.validationInterceptors = loadValidationInterceptors();
     }
 
-    private Iterable<ValidationInterceptor> loadValidationInterceptors() {
-        return ServiceLoader.load(ValidationInterceptor.class);
+    private ValidationInterceptorChain getValidationInterceptorChain() {
+        ValidationInterceptorChain validationInterceptorChain = this.validationInterceptorChain;
+        if (validationInterceptorChain == null) {
+            synchronized (this) {
+                validationInterceptorChain = this.validationInterceptorChain;
+                if (validationInterceptorChain == null) {
+                    validationInterceptorChain = ValidationInterceptorChain.of(loadInterceptors(ValidationInterceptor.class),
+                            loadInterceptors(AroundValidationInterceptor.class));
+                    this.validationInterceptorChain = validationInterceptorChain;
+                }
+            }
+        }
+        return validationInterceptorChain;
+    }
+
+    /**
+     * Load the interceptors once, the lazy {@link ServiceLoader} is iterated eagerly, so that the instances are
+     * snapshot and never be re-discovered later.
+     *
+     * @param interceptorType {@link ValidationInterceptor} or {@link AroundValidationInterceptor}
+     * @return non-null unmodifiable {@link List}
+     */
+    private static <I> List<I> loadInterceptors(Class<I> interceptorType) {
+        List<I> interceptors = new ArrayList<>();
+        for (I interceptor : ServiceLoader.load(interceptorType)) {
+            interceptors.add(interceptor);
+        }
+        return unmodifiableList(interceptors);
     }
 
     @Override
@@ -57,6 +99,143 @@ class InterceptingValidationProvider<T extends Configuration<T>> implements Vali
 
     @Override
     public ValidatorFactory buildValidatorFactory(ConfigurationState configurationState) {
-        return new InterceptingValidatorFactory(delegate.buildValidatorFactory(configurationState), validationInterceptors);
+        ValidationInterceptorChain validationInterceptorChain = getValidationInterceptorChain();
+        ConstraintValidatorFactory constraintValidatorFactory = configurationState.getConstraintValidatorFactory();
+        SharingConstraintValidatorFactory sharingFactory = SharingConstraintValidatorFactory.isEnabled() ?
+                new SharingConstraintValidatorFactory(constraintValidatorFactory) : null;
+        ConstraintValidatorFactory customizedFactory = customize(sharingFactory == null ? constraintValidatorFactory : sharingFactory,
+                validationInterceptorChain);
+        MessageInterpolator messageInterpolator = configurationState.getMessageInterpolator();
+        MessageInterpolator cachingInterpolator = cache(messageInterpolator);
+        boolean defaultTraversableResolver = isDefaultTraversableResolver(configurationState);
+        if (customizedFactory == constraintValidatorFactory && cachingInterpolator == messageInterpolator) {
+            return new InterceptingValidatorFactory(delegate.buildValidatorFactory(configurationState),
+                    validationInterceptorChain, null, constraintValidatorFactory, defaultTraversableResolver);
+        }
+        if (configurationState instanceof Configuration) {
+            // The Configuration of the delegate is customized in place temporarily, because the provider-specific
+            // settings (e.g. Hibernate Validator's fail-fast) are only read from its own implementation
+            Configuration<?> configuration = (Configuration<?>) configurationState;
+            configuration.constraintValidatorFactory(customizedFactory);
+            configuration.messageInterpolator(cachingInterpolator);
+            try {
+                return new InterceptingValidatorFactory(delegate.buildValidatorFactory(configurationState),
+                        validationInterceptorChain, sharingFactory, constraintValidatorFactory, defaultTraversableResolver);
+            } finally {
+                configuration.constraintValidatorFactory(constraintValidatorFactory);
+                configuration.messageInterpolator(messageInterpolator);
+            }
+        }
+        return new InterceptingValidatorFactory(delegate.buildValidatorFactory(
+                new CustomizedConfigurationState(configurationState, customizedFactory, cachingInterpolator)),
+                validationInterceptorChain, sharingFactory, constraintValidatorFactory, defaultTraversableResolver);
+    }
+
+    /**
+     * @param configurationState {@link ConfigurationState}
+     * @return <code>true</code> if the {@link TraversableResolver} is not configured, <code>false</code> if it's
+     * configured or unknown
+     */
+    private static boolean isDefaultTraversableResolver(ConfigurationState configurationState) {
+        return configurationState instanceof Configuration && configurationState.getTraversableResolver() ==
+                ((Configuration<?>) configurationState).getDefaultTraversableResolver();
+    }
+
+    /**
+     * Cache the messages of the configured {@link MessageInterpolator}
+     *
+     * @param messageInterpolator the configured {@link MessageInterpolator}, may be <code>null</code>
+     * @return {@link CachingMessageInterpolator} if present
+     */
+    static MessageInterpolator cache(MessageInterpolator messageInterpolator) {
+        if (messageInterpolator == null || messageInterpolator instanceof CachingMessageInterpolator) {
+            return messageInterpolator;
+        }
+        return new CachingMessageInterpolator(messageInterpolator);
+    }
+
+    /**
+     * Apply the {@link ConstraintValidatorFactoryCustomizer ConstraintValidatorFactoryCustomizers} of the chain.
+     *
+     * @param constraintValidatorFactory the configured {@link ConstraintValidatorFactory}
+     * @param validationInterceptorChain {@link ValidationInterceptorChain}
+     * @return the customized {@link ConstraintValidatorFactory}
+     */
+    static ConstraintValidatorFactory customize(ConstraintValidatorFactory constraintValidatorFactory,
+                                                ValidationInterceptorChain validationInterceptorChain) {
+        ConstraintValidatorFactory customizedFactory = constraintValidatorFactory;
+        Object[] interceptors = validationInterceptorChain.allInterceptors;
+        // The first customizer is the outermost, so that they are applied in reverse order
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            Object interceptor = interceptors[i];
+            if (interceptor instanceof ConstraintValidatorFactoryCustomizer) {
+                customizedFactory = ((ConstraintValidatorFactoryCustomizer) interceptor).customize(customizedFactory);
+            }
+        }
+        return customizedFactory;
+    }
+
+    /**
+     * {@link ConfigurationState} overrides the {@link ConstraintValidatorFactory} and {@link MessageInterpolator}
+     */
+    private static class CustomizedConfigurationState implements ConfigurationState {
+
+        private final ConfigurationState delegate;
+
+        private final ConstraintValidatorFactory constraintValidatorFactory;
+
+        private final MessageInterpolator messageInterpolator;
+
+        CustomizedConfigurationState(ConfigurationState delegate, ConstraintValidatorFactory constraintValidatorFactory,
+                                     MessageInterpolator messageInterpolator) {
+            this.delegate = delegate;
+            this.constraintValidatorFactory = constraintValidatorFactory;
+            this.messageInterpolator = messageInterpolator;
+        }
+
+        @Override
+        public boolean isIgnoreXmlConfiguration() {
+            return delegate.isIgnoreXmlConfiguration();
+        }
+
+        @Override
+        public MessageInterpolator getMessageInterpolator() {
+            return messageInterpolator;
+        }
+
+        @Override
+        public Set<InputStream> getMappingStreams() {
+            return delegate.getMappingStreams();
+        }
+
+        @Override
+        public Set<ValueExtractor<?>> getValueExtractors() {
+            return delegate.getValueExtractors();
+        }
+
+        @Override
+        public ConstraintValidatorFactory getConstraintValidatorFactory() {
+            return constraintValidatorFactory;
+        }
+
+        @Override
+        public TraversableResolver getTraversableResolver() {
+            return delegate.getTraversableResolver();
+        }
+
+        @Override
+        public ParameterNameProvider getParameterNameProvider() {
+            return delegate.getParameterNameProvider();
+        }
+
+        @Override
+        public ClockProvider getClockProvider() {
+            return delegate.getClockProvider();
+        }
+
+        @Override
+        public Map<String, String> getProperties() {
+            return delegate.getProperties();
+        }
     }
 }
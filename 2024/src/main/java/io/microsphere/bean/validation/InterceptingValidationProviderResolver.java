@@ -16,17 +16,18 @@
  */
 package io.microsphere.bean.validation;
 
-import javax.validation.Validation;
 import javax.validation.ValidationProviderResolver;
-import javax.validation.bootstrap.GenericBootstrap;
-import javax.validation.spi.BootstrapState;
 import javax.validation.spi.ValidationProvider;
+import java.util.ArrayList;
 import java.util.List;
-
-import static java.util.stream.Collectors.toList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * {@link ValidationProviderResolver} Class wraps the external {@link ValidationProviderResolver},
+ * <p>
+ * The wrapped {@link ValidationProvider ValidationProviders} are cached per delegate instance, so that the
+ * interceptors are discovered once rather than every bootstrap.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ValidationProviderResolver
@@ -36,29 +37,29 @@ public class InterceptingValidationProviderResolver implements ValidationProvide
 
     private final ValidationProviderResolver delegate;
 
+    private final ConcurrentMap<ValidationProvider<?>, ValidationProvider<?>> interceptingValidationProviders =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Wraps the {@link ValidationProvider ValidationProviders} discovered by {@link java.util.ServiceLoader} lazily
+     */
     public InterceptingValidationProviderResolver() {
-        this(resolveDefaultValidationProviderResolver());
+        this(new ServiceLoaderValidationProviderResolver());
     }
 
     public InterceptingValidationProviderResolver(ValidationProviderResolver delegate) {
         this.delegate = delegate;
     }
 
-    private static ValidationProviderResolver resolveDefaultValidationProviderResolver() {
-        GenericBootstrap genericBootstrap = Validation.byDefaultProvider();
-        if (genericBootstrap instanceof BootstrapState) {
-            BootstrapState bootstrapState = (BootstrapState) genericBootstrap;
-            return bootstrapState.getDefaultValidationProviderResolver();
-        }
-        throw new IllegalArgumentException("The default Provider is not an instance of javax.validation.spi.BootstrapState");
-    }
-
     @Override
     public List<ValidationProvider<?>> getValidationProviders() {
-        return delegate.getValidationProviders()
-                .stream()
-                .map(InterceptingValidationProvider::new)
-                .collect(toList());
+        List<ValidationProvider<?>> validationProviders = delegate.getValidationProviders();
+        List<ValidationProvider<?>> interceptingValidationProviders = new ArrayList<>(validationProviders.size());
+        for (ValidationProvider<?> validationProvider : validationProviders) {
+            interceptingValidationProviders.add(this.interceptingValidationProviders.computeIfAbsent(validationProvider,
+                    InterceptingValidationProvider::new));
+        }
+        return interceptingValidationProviders;
     }
 
 }
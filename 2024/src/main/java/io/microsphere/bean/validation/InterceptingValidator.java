@@ -16,14 +16,26 @@
  */
 package io.microsphere.bean.validation;
 
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintValidatorFactory;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import javax.validation.executable.ExecutableValidator;
 import javax.validation.metadata.BeanDescriptor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_BATCH;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PROPERTY;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_VALUE;
 import static java.util.Collections.emptySet;
 
 /**
@@ -31,27 +43,53 @@ import static java.util.Collections.emptySet;
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see Validator
+ * @see BatchValidator
  * @see ValidationInterceptor
+ * @see AroundValidationInterceptor
  * @since 1.0.0
  */
-class InterceptingValidator implements Validator, ExecutableValidator, ValidationInterceptor {
+class InterceptingValidator implements Validator, ExecutableValidator, BatchValidator, ValidationInterceptor {
 
     private final Validator delegate;
 
-    private final Iterable<ValidationInterceptor> validationInterceptors;
+    private final ExecutableValidator executableValidator;
 
-    InterceptingValidator(Validator delegate, Iterable<ValidationInterceptor> validationInterceptors) {
-        this.delegate = delegate;
-        this.validationInterceptors = validationInterceptors;
+    private final ValidationInterceptorChain chain;
+
+    private final ExecutableConstraintsCache executableConstraintsCache;
+
+    private final ColumnValidationPlanCache columnValidationPlanCache;
+
+    InterceptingValidator(Validator delegate, ValidationInterceptorChain validationInterceptorChain) {
+        this(delegate, validationInterceptorChain, null, null);
     }
 
-    @Override
-    public <T> void beforeValidate(T object, Class<?>... groups) {
-        validationInterceptors.forEach(i -> i.beforeValidate(object, groups));
+    /**
+     * @param delegate                   the delegate {@link Validator}
+     * @param validationInterceptorChain {@link ValidationInterceptorChain}
+     * @param constraintValidatorFactory the {@link ConstraintValidatorFactory} of the delegate, or <code>null</code>
+     *                                   if unknown or the columnar batch validation is disallowed, which is used by
+     *                                   the columnar batch validation
+     * @param clockProvider              the {@link ClockProvider} of the delegate
+     */
+    InterceptingValidator(Validator delegate, ValidationInterceptorChain validationInterceptorChain,
+                          ConstraintValidatorFactory constraintValidatorFactory, ClockProvider clockProvider) {
+        this.delegate = delegate;
+        this.executableValidator = delegate.forExecutables();
+        this.chain = validationInterceptorChain;
+        this.executableConstraintsCache = new ExecutableConstraintsCache(delegate);
+        this.columnValidationPlanCache = new ColumnValidationPlanCache(delegate, constraintValidatorFactory, clockProvider);
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        if (chain.validate.empty) {
+            return validator().validate(object, groups);
+        }
+        if (chain.validate.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE, chain.validate.around)
+                    .object(object).groups(groups).proceed();
+        }
         beforeValidate(object, groups);
         Set<ConstraintViolation<T>> constraintViolations = emptySet();
         Throwable error = null;
@@ -59,47 +97,427 @@ class InterceptingValidator implements Validator, ExecutableValidator, Validatio
             constraintViolations = validator().validate(object, groups);
         } catch (Throwable e) {
             error = e;
+            throw e;
         } finally {
             afterValidate(object, constraintViolations, error, groups);
         }
         return constraintViolations;
     }
 
-    @Override
-    public <T> void afterValidate(T object, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
-        validationInterceptors.forEach(i -> i.afterValidate(object, constraintViolations, error, groups));
-    }
-
-    // TODO Intercept more
-
     @Override
     public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
-        return validator().validateProperty(object, propertyName, groups);
+        if (chain.validateProperty.empty) {
+            return validator().validateProperty(object, propertyName, groups);
+        }
+        if (chain.validateProperty.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_PROPERTY, chain.validateProperty.around)
+                    .object(object).propertyName(propertyName).groups(groups).proceed();
+        }
+        beforeValidateProperty(object, propertyName, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = validator().validateProperty(object, propertyName, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateProperty(object, propertyName, constraintViolations, error, groups);
+        }
+        return constraintViolations;
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
-        return validator().validateValue(beanType, propertyName, value, groups);
+        if (chain.validateValue.empty) {
+            return validator().validateValue(beanType, propertyName, value, groups);
+        }
+        if (chain.validateValue.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_VALUE, chain.validateValue.around)
+                    .beanType(beanType).propertyName(propertyName).value(value).groups(groups).proceed();
+        }
+        beforeValidateValue(beanType, propertyName, value, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = validator().validateValue(beanType, propertyName, value, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateValue(beanType, propertyName, value, constraintViolations, error, groups);
+        }
+        return constraintViolations;
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validateParameters(T object, Method method, Object[] parameterValues, Class<?>... groups) {
-        return executableValidator().validateParameters(object, method, parameterValues, groups);
+        if (!executableConstraintsCache.hasParameterConstraints(object, method)) {
+            return emptySet();
+        }
+        if (chain.validateParameters.empty) {
+            return executableValidator().validateParameters(object, method, parameterValues, groups);
+        }
+        if (chain.validateParameters.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_PARAMETERS, chain.validateParameters.around)
+                    .object(object).method(method).parameterValues(parameterValues).groups(groups).proceed();
+        }
+        beforeValidateParameters(object, method, parameterValues, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = executableValidator().validateParameters(object, method, parameterValues, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateParameters(object, method, parameterValues, constraintViolations, error, groups);
+        }
+        return constraintViolations;
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validateReturnValue(T object, Method method, Object returnValue, Class<?>... groups) {
-        return executableValidator().validateReturnValue(object, method, returnValue, groups);
+        if (!executableConstraintsCache.hasReturnValueConstraints(object, method)) {
+            return emptySet();
+        }
+        if (chain.validateReturnValue.empty) {
+            return executableValidator().validateReturnValue(object, method, returnValue, groups);
+        }
+        if (chain.validateReturnValue.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_RETURN_VALUE, chain.validateReturnValue.around)
+                    .object(object).method(method).returnValue(returnValue).groups(groups).proceed();
+        }
+        beforeValidateReturnValue(object, method, returnValue, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = executableValidator().validateReturnValue(object, method, returnValue, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateReturnValue(object, method, returnValue, constraintViolations, error, groups);
+        }
+        return constraintViolations;
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues, Class<?>... groups) {
-        return executableValidator().validateConstructorParameters(constructor, parameterValues, groups);
+        if (!executableConstraintsCache.hasParameterConstraints(constructor)) {
+            return emptySet();
+        }
+        if (chain.validateConstructorParameters.empty) {
+            return executableValidator().validateConstructorParameters(constructor, parameterValues, groups);
+        }
+        if (chain.validateConstructorParameters.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_CONSTRUCTOR_PARAMETERS, chain.validateConstructorParameters.around)
+                    .constructor(constructor).parameterValues(parameterValues).groups(groups).proceed();
+        }
+        beforeValidateConstructorParameters(constructor, parameterValues, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = executableValidator().validateConstructorParameters(constructor, parameterValues, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateConstructorParameters(constructor, parameterValues, constraintViolations, error, groups);
+        }
+        return constraintViolations;
     }
 
     @Override
     public <T> Set<ConstraintViolation<T>> validateConstructorReturnValue(Constructor<? extends T> constructor, T createdObject, Class<?>... groups) {
-        return executableValidator().validateConstructorReturnValue(constructor, createdObject, groups);
+        if (!executableConstraintsCache.hasReturnValueConstraints(constructor)) {
+            return emptySet();
+        }
+        if (chain.validateConstructorReturnValue.empty) {
+            return executableValidator().validateConstructorReturnValue(constructor, createdObject, groups);
+        }
+        if (chain.validateConstructorReturnValue.around != null) {
+            return this.<Set<ConstraintViolation<T>>>invocation(VALIDATE_CONSTRUCTOR_RETURN_VALUE, chain.validateConstructorReturnValue.around)
+                    .constructor(constructor).returnValue(createdObject).groups(groups).proceed();
+        }
+        beforeValidateConstructorReturnValue(constructor, createdObject, groups);
+        Set<ConstraintViolation<T>> constraintViolations = emptySet();
+        Throwable error = null;
+        try {
+            constraintViolations = executableValidator().validateConstructorReturnValue(constructor, createdObject, groups);
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateConstructorReturnValue(constructor, createdObject, constraintViolations, error, groups);
+        }
+        return constraintViolations;
+    }
+
+    @Override
+    public <T> BatchValidationResult<T> validateBatch(List<T> beans, BatchValidationOptions options) {
+        return validateBatch(BatchValidation.of(validator(), columnValidationPlanCache, beans, options), options);
+    }
+
+    @Override
+    public <T> BatchValidationResult<T> validateBatch(Iterator<T> beans, BatchValidationOptions options) {
+        return validateBatch(BatchValidation.of(validator(), columnValidationPlanCache, beans, options), options);
+    }
+
+    private <T> BatchValidationResult<T> validateBatch(BatchValidation<T> batchValidation, BatchValidationOptions options) {
+        if (chain.validateBatch.empty) {
+            return batchValidation.execute();
+        }
+        if (chain.validateBatch.around != null) {
+            return this.<BatchValidationResult<T>>invocation(VALIDATE_BATCH, chain.validateBatch.around)
+                    .batch(batchValidation, options).proceed();
+        }
+        beforeValidateBatch(options);
+        BatchValidationResult<T> result = null;
+        Throwable error = null;
+        try {
+            result = batchValidation.execute();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            afterValidateBatch(options, result, error);
+        }
+        return result;
+    }
+
+    // The composite interception methods, "before" in the chain order, "after" in reverse order. If a "before" fails,
+    // the "after" of the interceptors entered already are invoked in reverse order with the error
+
+    @Override
+    public <T> void beforeValidate(T object, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validate.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidate(object, groups);
+            }
+        } catch (Throwable e) {
+            afterValidate(chain.validate.getEnteredCount(i), object, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidate(T object, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidate(chain.validate.after.length, object, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidate(int count, T object, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validate.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidate(object, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateProperty(T object, String propertyName, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateProperty.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateProperty(object, propertyName, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateProperty(chain.validateProperty.getEnteredCount(i), object, propertyName, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateProperty(T object, String propertyName, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateProperty(chain.validateProperty.after.length, object, propertyName, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateProperty(int count, T object, String propertyName, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateProperty.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateProperty(object, propertyName, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateValue.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateValue(beanType, propertyName, value, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateValue(chain.validateValue.getEnteredCount(i), beanType, propertyName, value, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateValue(Class<T> beanType, String propertyName, Object value, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateValue(chain.validateValue.after.length, beanType, propertyName, value, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateValue(int count, Class<T> beanType, String propertyName, Object value, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateValue.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateValue(beanType, propertyName, value, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateParameters(T object, Method method, Object[] parameterValues, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateParameters.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateParameters(object, method, parameterValues, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateParameters(chain.validateParameters.getEnteredCount(i), object, method, parameterValues, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateParameters(T object, Method method, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateParameters(chain.validateParameters.after.length, object, method, parameterValues, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateParameters(int count, T object, Method method, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateParameters.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateParameters(object, method, parameterValues, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateReturnValue(T object, Method method, Object returnValue, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateReturnValue.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateReturnValue(object, method, returnValue, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateReturnValue(chain.validateReturnValue.getEnteredCount(i), object, method, returnValue, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateReturnValue(T object, Method method, Object returnValue, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateReturnValue(chain.validateReturnValue.after.length, object, method, returnValue, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateReturnValue(int count, T object, Method method, Object returnValue, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateReturnValue.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateReturnValue(object, method, returnValue, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateConstructorParameters.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateConstructorParameters(constructor, parameterValues, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateConstructorParameters(chain.validateConstructorParameters.getEnteredCount(i), constructor, parameterValues, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateConstructorParameters(chain.validateConstructorParameters.after.length, constructor, parameterValues, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateConstructorParameters(int count, Constructor<? extends T> constructor, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateConstructorParameters.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateConstructorParameters(constructor, parameterValues, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public <T> void beforeValidateConstructorReturnValue(Constructor<? extends T> constructor, Object createdObject, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateConstructorReturnValue.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateConstructorReturnValue(constructor, createdObject, groups);
+            }
+        } catch (Throwable e) {
+            afterValidateConstructorReturnValue(chain.validateConstructorReturnValue.getEnteredCount(i), constructor, createdObject, emptySet(), e, groups);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateConstructorReturnValue(Constructor<? extends T> constructor, Object createdObject, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        afterValidateConstructorReturnValue(chain.validateConstructorReturnValue.after.length, constructor, createdObject, constraintViolations, error, groups);
+    }
+
+    private <T> void afterValidateConstructorReturnValue(int count, Constructor<? extends T> constructor, Object createdObject, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        ValidationInterceptor[] interceptors = chain.validateConstructorReturnValue.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateConstructorReturnValue(constructor, createdObject, constraintViolations, error, groups);
+        }
+    }
+
+    @Override
+    public void beforeValidateBatch(BatchValidationOptions options) {
+        ValidationInterceptor[] interceptors = chain.validateBatch.before;
+        int i = 0;
+        try {
+            for (; i < interceptors.length; i++) {
+                interceptors[i].beforeValidateBatch(options);
+            }
+        } catch (Throwable e) {
+            afterValidateBatch(chain.validateBatch.getEnteredCount(i), options, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> void afterValidateBatch(BatchValidationOptions options, BatchValidationResult<T> result, Throwable error) {
+        afterValidateBatch(chain.validateBatch.after.length, options, result, error);
+    }
+
+    private <T> void afterValidateBatch(int count, BatchValidationOptions options, BatchValidationResult<T> result, Throwable error) {
+        ValidationInterceptor[] interceptors = chain.validateBatch.after;
+        for (int i = count - 1; i >= 0; i--) {
+            interceptors[i].afterValidateBatch(options, result, error);
+        }
+    }
+
+    /**
+     * Warm up the metadata of the bean class
+     *
+     * @param beanClass the bean class
+     * @return <code>true</code> if the bean class or any of its executables is constrained
+     */
+    boolean warmUp(Class<?> beanClass) {
+        boolean constrained = delegate.getConstraintsForClass(beanClass).isBeanConstrained();
+        return executableConstraintsCache.warmUp(beanClass) > 0 || constrained;
+    }
+
+    /**
+     * Release the resources of the columnar batch validation, which is invoked when the {@link Validator} is evicted
+     * or its factory is closed
+     */
+    void close() {
+        columnValidationPlanCache.close();
+    }
+
+    private <R> ChainedValidationInvocation<R> invocation(ValidationEntryPoint entryPoint, ValidationInterceptorChain.Link head) {
+        return new ChainedValidationInvocation<>(entryPoint, head, validator(), executableValidator());
     }
 
     private Validator validator() {
@@ -107,7 +525,7 @@ class InterceptingValidator implements Validator, ExecutableValidator, Validatio
     }
 
     private ExecutableValidator executableValidator() {
-        return delegate.forExecutables();
+        return executableValidator;
     }
 
     @Override
@@ -117,6 +535,9 @@ class InterceptingValidator implements Validator, ExecutableValidator, Validatio
 
     @Override
     public <T> T unwrap(Class<T> type) {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
         return delegate.unwrap(type);
     }
 
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ClockProvider;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.MessageInterpolator;
+import javax.validation.ParameterNameProvider;
+import javax.validation.TraversableResolver;
+import javax.validation.Validator;
+import javax.validation.ValidatorContext;
+import javax.validation.valueextraction.ValueExtractor;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Intercepting {@link ValidatorContext} Class records the configuration, the {@link Validator Validators} are
+ * created by the delegate {@link ValidatorContext} and cached by {@link InterceptingValidatorFactory} per distinct
+ * configuration.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidatorContext
+ * @see InterceptingValidatorFactory
+ * @since 1.0.0
+ */
+class InterceptingValidatorContext implements ValidatorContext {
+
+    private final InterceptingValidatorFactory validatorFactory;
+
+    private MessageInterpolator messageInterpolator;
+
+    private TraversableResolver traversableResolver;
+
+    private ConstraintValidatorFactory constraintValidatorFactory;
+
+    private ParameterNameProvider parameterNameProvider;
+
+    private ClockProvider clockProvider;
+
+    private final List<ValueExtractor<?>> valueExtractors = new ArrayList<>();
+
+    InterceptingValidatorContext(InterceptingValidatorFactory validatorFactory) {
+        this.validatorFactory = validatorFactory;
+    }
+
+    @Override
+    public ValidatorContext messageInterpolator(MessageInterpolator messageInterpolator) {
+        this.messageInterpolator = messageInterpolator;
+        return this;
+    }
+
+    @Override
+    public ValidatorContext traversableResolver(TraversableResolver traversableResolver) {
+        this.traversableResolver = traversableResolver;
+        return this;
+    }
+
+    @Override
+    public ValidatorContext constraintValidatorFactory(ConstraintValidatorFactory factory) {
+        this.constraintValidatorFactory = factory;
+        return this;
+    }
+
+    @Override
+    public ValidatorContext parameterNameProvider(ParameterNameProvider parameterNameProvider) {
+        this.parameterNameProvider = parameterNameProvider;
+        return this;
+    }
+
+    @Override
+    public ValidatorContext clockProvider(ClockProvider clockProvider) {
+        this.clockProvider = clockProvider;
+        return this;
+    }
+
+    @Override
+    public ValidatorContext addValueExtractor(ValueExtractor<?> extractor) {
+        this.valueExtractors.add(extractor);
+        return this;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return validatorFactory.getValidator(this);
+    }
+
+    /**
+     * @return <code>null</code> if the default of {@link javax.validation.ValidatorFactory} is used
+     */
+    ConstraintValidatorFactory getConstraintValidatorFactory() {
+        return constraintValidatorFactory;
+    }
+
+    /**
+     * @return <code>null</code> if the default of {@link javax.validation.ValidatorFactory} is used
+     */
+    TraversableResolver getTraversableResolver() {
+        return traversableResolver;
+    }
+
+    /**
+     * @return <code>null</code> if the default of {@link javax.validation.ValidatorFactory} is used
+     */
+    ClockProvider getClockProvider() {
+        return clockProvider;
+    }
+
+    /**
+     * The key of current configuration, the components are compared by their {@link Object#equals(Object)} methods
+     *
+     * @return non-null
+     */
+    Object getKey() {
+        return asList(messageInterpolator, traversableResolver, constraintValidatorFactory, parameterNameProvider,
+                clockProvider, new ArrayList<>(valueExtractors));
+    }
+
+    /**
+     * Apply current configuration to the delegate {@link ValidatorContext}
+     *
+     * @param delegate                   the delegate {@link ValidatorContext}
+     * @param constraintValidatorFactory the customized {@link #getConstraintValidatorFactory() contextual
+     *                                   ConstraintValidatorFactory}, or <code>null</code> if the default is used
+     * @return the delegate {@link ValidatorContext}
+     */
+    ValidatorContext applyTo(ValidatorContext delegate, ConstraintValidatorFactory constraintValidatorFactory) {
+        // null value means the default of ValidatorFactory in the specification
+        delegate.messageInterpolator(InterceptingValidationProvider.cache(messageInterpolator))
+                .traversableResolver(traversableResolver)
+                .constraintValidatorFactory(constraintValidatorFactory)
+                .parameterNameProvider(parameterNameProvider)
+                .clockProvider(clockProvider);
+        for (ValueExtractor<?> valueExtractor : valueExtractors) {
+            delegate.addValueExtractor(valueExtractor);
+        }
+        return delegate;
+    }
+}
@@ -27,6 +27,11 @@ import javax.validation.ValidatorFactory;
 
 /**
  * Intercepting {@link ValidatorFactory} Class
+ * <p>
+ * As the {@link Validator Validators} are thread-safe, the intercepting {@link Validator} is a singleton per factory,
+ * and the ones from {@link #usingContext()} are cached per distinct configuration. If the
+ * {@link ValidationResultCache} is {@link ValidationResultCache#isEnabled() enabled}, the results of
+ * {@link CacheableValidation cacheable types} are cached per {@link Validator}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ValidatorFactory
@@ -34,23 +39,100 @@ import javax.validation.ValidatorFactory;
  */
 class InterceptingValidatorFactory implements ValidatorFactory {
 
+    static final String MAX_CONTEXTUAL_VALIDATORS_PROPERTY_NAME = "microsphere.validation.contextual-validators.max-size";
+
+    static final int DEFAULT_MAX_CONTEXTUAL_VALIDATORS = 64;
+
     private final ValidatorFactory delegate;
 
-    private final Iterable<ValidationInterceptor> validationInterceptors;
+    private final ValidationInterceptorChain validationInterceptorChain;
+
+    private final InterceptingValidator validator;
+
+    /**
+     * The {@link SharingConstraintValidatorFactory} applied by provider, or <code>null</code> if disabled
+     */
+    private final SharingConstraintValidatorFactory sharingConstraintValidatorFactory;
+
+    /**
+     * The configured {@link ConstraintValidatorFactory} before the customization, which is used by the columnar
+     * batch validation
+     */
+    private final ConstraintValidatorFactory constraintValidatorFactory;
+
+    /**
+     * Whether the {@link TraversableResolver} is the default of provider, otherwise the properties are validated row
+     * by row, because the columnar batch validation doesn't consult it
+     */
+    private final boolean defaultTraversableResolver;
+
+    /**
+     * Whether the {@link ValidationResultCache} is enabled when the factory is built
+     */
+    private final boolean cacheEnabled = ValidationResultCache.isEnabled();
 
-    InterceptingValidatorFactory(ValidatorFactory delegate, Iterable<ValidationInterceptor> validationInterceptors) {
+    private final SegmentedLruCache<Object, InterceptingValidator> contextualValidators = new SegmentedLruCache<>(
+            Integer.getInteger(MAX_CONTEXTUAL_VALIDATORS_PROPERTY_NAME, DEFAULT_MAX_CONTEXTUAL_VALIDATORS),
+            InterceptingValidator::close);
+
+    InterceptingValidatorFactory(ValidatorFactory delegate, ValidationInterceptorChain validationInterceptorChain,
+                                 SharingConstraintValidatorFactory sharingConstraintValidatorFactory,
+                                 ConstraintValidatorFactory constraintValidatorFactory,
+                                 boolean defaultTraversableResolver) {
         this.delegate = delegate;
-        this.validationInterceptors = validationInterceptors;
+        this.validationInterceptorChain = validationInterceptorChain;
+        this.sharingConstraintValidatorFactory = sharingConstraintValidatorFactory;
+        this.constraintValidatorFactory = constraintValidatorFactory;
+        this.defaultTraversableResolver = defaultTraversableResolver;
+        this.validator = newValidator(delegate.getValidator(),
+                defaultTraversableResolver ? constraintValidatorFactory : null, delegate.getClockProvider());
     }
 
     @Override
     public Validator getValidator() {
-        return new InterceptingValidator(delegate.getValidator(), validationInterceptors);
+        return validator;
     }
 
     @Override
     public ValidatorContext usingContext() {
-        return delegate.usingContext();
+        return new InterceptingValidatorContext(this);
+    }
+
+    Validator getValidator(InterceptingValidatorContext validatorContext) {
+        ConstraintValidatorFactory contextualFactory = validatorContext.getConstraintValidatorFactory();
+        ClockProvider clockProvider = validatorContext.getClockProvider();
+        // The columnar batch validation is disallowed if the TraversableResolver is customized
+        ConstraintValidatorFactory columnarFactory = !defaultTraversableResolver ||
+                validatorContext.getTraversableResolver() != null ? null :
+                contextualFactory == null ? constraintValidatorFactory : contextualFactory;
+        return contextualValidators.computeIfAbsent(validatorContext.getKey(), key ->
+                newValidator(validatorContext.applyTo(delegate.usingContext(), customize(contextualFactory)).getValidator(),
+                        columnarFactory, clockProvider == null ? delegate.getClockProvider() : clockProvider));
+    }
+
+    /**
+     * Customize the contextual {@link ConstraintValidatorFactory} as same as the configured one by
+     * {@link InterceptingValidationProvider}
+     *
+     * @param contextualFactory the contextual {@link ConstraintValidatorFactory}, may be <code>null</code>
+     * @return <code>null</code> if the default one is used
+     */
+    private ConstraintValidatorFactory customize(ConstraintValidatorFactory contextualFactory) {
+        if (contextualFactory == null) {
+            return null;
+        }
+        ConstraintValidatorFactory factory = sharingConstraintValidatorFactory == null ? contextualFactory :
+                new SharingConstraintValidatorFactory(contextualFactory);
+        return InterceptingValidationProvider.customize(factory, validationInterceptorChain);
+    }
+
+    private InterceptingValidator newValidator(Validator delegateValidator,
+                                               ConstraintValidatorFactory constraintValidatorFactory,
+                                               ClockProvider clockProvider) {
+        // The results are cached per Validator, because the configurations of Validators may be different
+        Validator validator = cacheEnabled ? new CachingValidator(delegateValidator, new ValidationResultCache()) :
+                delegateValidator;
+        return new InterceptingValidator(validator, validationInterceptorChain, constraintValidatorFactory, clockProvider);
     }
 
     @Override
@@ -80,11 +162,19 @@ class InterceptingValidatorFactory implements ValidatorFactory {
 
     @Override
     public <T> T unwrap(Class<T> type) {
+        if (sharingConstraintValidatorFactory != null && type.isInstance(sharingConstraintValidatorFactory)) {
+            return type.cast(sharingConstraintValidatorFactory);
+        }
         return delegate.unwrap(type);
     }
 
     @Override
     public void close() {
-        delegate.close();
+        try {
+            validator.close();
+            contextualValidators.clear();
+        } finally {
+            delegate.close();
+        }
     }
 }
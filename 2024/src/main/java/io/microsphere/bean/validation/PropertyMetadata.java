@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The immutable metadata of a bean property backed by the {@link Field}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BeanPropertyIndex
+ * @since 1.0.0
+ */
+public final class PropertyMetadata {
+
+    private final String name;
+
+    private final Field field;
+
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+    private final Class<?> elementType;
+
+    PropertyMetadata(Field field) {
+        this.name = field.getName();
+        this.field = field;
+        this.annotations = resolveAnnotations(field);
+        this.elementType = resolveElementType(field);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * Get the type of elements if the property is a container (array, {@link Iterable} or {@link Map} values)
+     *
+     * @return the type of the property itself if not a container or unresolved
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    public <A extends Annotation> A getAnnotation(Class<A> annotationType) {
+        return annotationType.cast(annotations.get(annotationType));
+    }
+
+    public Map<Class<? extends Annotation>, Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    private static Map<Class<? extends Annotation>, Annotation> resolveAnnotations(Field field) {
+        Annotation[] annotations = field.getAnnotations();
+        Map<Class<? extends Annotation>, Annotation> annotationsMap = new HashMap<>(annotations.length * 2);
+        for (Annotation annotation : annotations) {
+            annotationsMap.put(annotation.annotationType(), annotation);
+        }
+        return unmodifiableMap(annotationsMap);
+    }
+
+    private static Class<?> resolveElementType(Field field) {
+        Class<?> type = field.getType();
+        if (type.isArray()) {
+            return type.getComponentType();
+        }
+        Type genericType = field.getGenericType();
+        if (genericType instanceof ParameterizedType) {
+            Type[] typeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
+            // The last one is the type of elements for Iterable, Optional and Map values
+            Type elementType = typeArguments[typeArguments.length - 1];
+            if (elementType instanceof Class) {
+                return (Class<?>) elementType;
+            }
+            if (elementType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) elementType).getRawType();
+            }
+        }
+        return type;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+/**
+ * {@link ValidationContextCarrier} in the style of scoped values : the bindings are immutable frames linked to their
+ * parents, and the {@link ThreadLocal} only references the top frame (removed when the last bean is unbound), thus
+ * {@link #capture() capturing} is O(1) without any copy, which suits for the executors hopping between the stages.
+ * <p>
+ * Every binding allocates a frame, so it's not the default, register it by {@link java.util.ServiceLoader} in
+ * "META-INF/services/io.microsphere.bean.validation.ValidationContextCarrier" if the contexts are propagated more
+ * often than bound, otherwise {@link ThreadLocalValidationContextCarrier} is preferred.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationContextCarrier
+ * @since 1.0.0
+ */
+public class ScopedValidationContextCarrier implements ValidationContextCarrier {
+
+    private final ThreadLocal<Frame> topFrameHolder = new ThreadLocal<>();
+
+    @Override
+    public void bind(Object bean) {
+        topFrameHolder.set(new Frame(bean, topFrameHolder.get()));
+    }
+
+    @Override
+    public void unbind(Object bean) {
+        Frame top = topFrameHolder.get();
+        if (top == null) {
+            return;
+        }
+        Frame newTop = top.bean == bean ? top.parent : top.without(bean);
+        if (newTop == null) {
+            topFrameHolder.remove();
+        } else if (newTop != top) {
+            topFrameHolder.set(newTop);
+        }
+    }
+
+    @Override
+    public Object getValidatedBean() {
+        Frame top = topFrameHolder.get();
+        return top == null ? null : top.bean;
+    }
+
+    @Override
+    public Object capture() {
+        return topFrameHolder.get();
+    }
+
+    @Override
+    public Object restore(Object snapshot) {
+        Frame previous = topFrameHolder.get();
+        if (snapshot == null) {
+            topFrameHolder.remove();
+        } else {
+            topFrameHolder.set((Frame) snapshot);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        topFrameHolder.remove();
+    }
+
+    /**
+     * The immutable frame of binding
+     */
+    private static final class Frame {
+
+        private final Object bean;
+
+        private final Frame parent;
+
+        private Frame(Object bean, Frame parent) {
+            this.bean = bean;
+            this.parent = parent;
+        }
+
+        /**
+         * Build the frames without the specified bean, the frames above it are re-linked (rare case, e.g. the
+         * binding is not paired because of an error).
+         *
+         * @param bean the bean to be removed by identity
+         * @return this if not found
+         */
+        private Frame without(Object bean) {
+            if (this.bean == bean) {
+                return parent;
+            }
+            if (parent == null) {
+                return this;
+            }
+            Frame newParent = parent.without(bean);
+            return newParent == parent ? this : new Frame(this.bean, newParent);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The bounded cache split into the segments in LRU order, each segment is guarded by its monitor and evicts its
+ * eldest entry when it's full.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationResultCache
+ * @see CachingMessageInterpolator
+ * @since 1.0.0
+ */
+final class SegmentedLruCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final int segmentMaxSize;
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * The listener of the values evicted by size or cleared
+     */
+    private final Consumer<? super V> removalListener;
+
+    SegmentedLruCache(int maxSize) {
+        this(maxSize, value -> {
+        });
+    }
+
+    /**
+     * @param maxSize         the max size
+     * @param removalListener the listener of the values evicted by size or cleared, which is invoked under the monitor
+     *                        of segment
+     */
+    @SuppressWarnings("unchecked")
+    SegmentedLruCache(int maxSize, Consumer<? super V> removalListener) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The max size must be positive : " + maxSize);
+        }
+        this.segmentMaxSize = (maxSize + SEGMENTS - 1) / SEGMENTS;
+        this.removalListener = removalListener;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * @param key the key, which may be a lookup key equal to the stored one with the same hash code
+     * @return the value or <code>null</code>
+     */
+    V get(Object key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            return segment.entries.get(key);
+        }
+    }
+
+    void put(K key, V value) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            segment.entries.put(key, value);
+            evictIfFull(segment);
+        }
+    }
+
+    /**
+     * The value is computed under the monitor of segment, thus it's computed once per key
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            V value = segment.entries.get(key);
+            if (value == null) {
+                value = mappingFunction.apply(key);
+                segment.entries.put(key, value);
+                evictIfFull(segment);
+            }
+            return value;
+        }
+    }
+
+    V remove(Object key) {
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+            return segment.entries.remove(key);
+        }
+    }
+
+    /**
+     * @return the count of entries evicted by size
+     */
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (V value : segment.entries.values()) {
+                    removalListener.accept(value);
+                }
+                segment.entries.clear();
+            }
+        }
+    }
+
+    private void evictIfFull(Segment<K, V> segment) {
+        if (segment.entries.size() > segmentMaxSize) {
+            Iterator<V> iterator = segment.entries.values().iterator();
+            V value = iterator.next();
+            iterator.remove();
+            removalListener.accept(value);
+            evictionCount.increment();
+        }
+    }
+
+    private Segment<K, V> segment(Object key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment<K, V> {
+
+        /**
+         * The entries in access order, the first one is the eldest
+         */
+        private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.Validation;
+import javax.validation.ValidationProviderResolver;
+import javax.validation.spi.ValidationProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * {@link ValidationProviderResolver} discovers the {@link ValidationProvider ValidationProviders} by
+ * {@link ServiceLoader} lazily and only once, as the default one of {@link Validation} does, without bootstrapping
+ * {@link Validation#byDefaultProvider()} to obtain it.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationProviderResolver
+ * @since 1.0.0
+ */
+final class ServiceLoaderValidationProviderResolver implements ValidationProviderResolver {
+
+    private final ClassLoader classLoader;
+
+    private volatile List<ValidationProvider<?>> validationProviders;
+
+    ServiceLoaderValidationProviderResolver() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = classLoader == null ? ValidationProvider.class.getClassLoader() : classLoader;
+    }
+
+    @Override
+    public List<ValidationProvider<?>> getValidationProviders() {
+        List<ValidationProvider<?>> validationProviders = this.validationProviders;
+        if (validationProviders == null) {
+            synchronized (this) {
+                validationProviders = this.validationProviders;
+                if (validationProviders == null) {
+                    validationProviders = loadValidationProviders();
+                    this.validationProviders = validationProviders;
+                }
+            }
+        }
+        return validationProviders;
+    }
+
+    private List<ValidationProvider<?>> loadValidationProviders() {
+        List<ValidationProvider<?>> validationProviders = new ArrayList<>(1);
+        for (ValidationProvider<?> validationProvider : ServiceLoader.load(ValidationProvider.class, classLoader)) {
+            validationProviders.add(validationProvider);
+        }
+        return unmodifiableList(validationProviders);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+
+/**
+ * The proxy of shared {@link ConstraintValidator}, which binds the shared instance at initialization
+ *
+ * @param <A> the type of constraint annotation
+ * @param <T> the type of validated value
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SharingConstraintValidatorFactory
+ * @since 1.0.0
+ */
+final class SharingConstraintValidator<A extends Annotation, T> implements ConstraintValidator<A, T> {
+
+    private final SharingConstraintValidatorFactory factory;
+
+    private final Class<?> validatorClass;
+
+    private A constraintAnnotation;
+
+    private ConstraintValidator<A, T> delegate;
+
+    SharingConstraintValidator(SharingConstraintValidatorFactory factory, Class<?> validatorClass) {
+        this.factory = factory;
+        this.validatorClass = validatorClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void initialize(A constraintAnnotation) {
+        if (delegate != null) {
+            // Re-initialized by the provider, the previous instance is released
+            release();
+        }
+        this.delegate = (ConstraintValidator<A, T>) factory.acquire(validatorClass, constraintAnnotation);
+        this.constraintAnnotation = constraintAnnotation;
+    }
+
+    @Override
+    public boolean isValid(T value, ConstraintValidatorContext context) {
+        return delegate.isValid(value, context);
+    }
+
+    void release() {
+        if (delegate != null) {
+            factory.release(validatorClass, constraintAnnotation);
+            delegate = null;
+            constraintAnnotation = null;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * {@link ConstraintValidatorFactory} shares the {@link ConstraintValidator} instances per validator class and the
+ * attributes of constraint annotation, or per validator class if it's annotated
+ * {@link StatelessConstraintValidator @StatelessConstraintValidator}.
+ * <p>
+ * As the annotation is only known at {@link ConstraintValidator#initialize(Annotation) initialization}, a lightweight
+ * proxy is returned by {@link #getInstance(Class)}, and it binds the shared instance when it's initialized. The shared
+ * instance is released to the delegate factory when no proxy refers to it. The {@link HibernateConstraintValidator
+ * HibernateConstraintValidators} are not shared, because they are initialized with the provider context.
+ * <p>
+ * It's applied by the intercepting provider unless the System Property {@value #ENABLED_PROPERTY_NAME} is
+ * <code>false</code>, obtains it by <code>validatorFactory.unwrap(SharingConstraintValidatorFactory.class)</code>.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see StatelessConstraintValidator
+ * @since 1.0.0
+ */
+public final class SharingConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+    public static final String ENABLED_PROPERTY_NAME = "microsphere.validation.constraint-validator.sharing";
+
+    private static final ClassValue<Boolean> statelessValidatorClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> validatorClass) {
+            return validatorClass.isAnnotationPresent(StatelessConstraintValidator.class);
+        }
+    };
+
+    private final ConstraintValidatorFactory delegate;
+
+    private final ConcurrentMap<Object, SharedInstance> sharedInstances = new ConcurrentHashMap<>();
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder creationCount = new LongAdder();
+
+    SharingConstraintValidatorFactory(ConstraintValidatorFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    static boolean isEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY_NAME));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+        if (HibernateConstraintValidator.class.isAssignableFrom(key)) {
+            return delegate.getInstance(key);
+        }
+        requestCount.increment();
+        return (T) new SharingConstraintValidator<>(this, key);
+    }
+
+    @Override
+    public void releaseInstance(ConstraintValidator<?, ?> instance) {
+        if (instance instanceof SharingConstraintValidator) {
+            ((SharingConstraintValidator<?, ?>) instance).release();
+        } else {
+            delegate.releaseInstance(instance);
+        }
+    }
+
+    /**
+     * Acquire the shared instance, which is created and initialized outside of the map, because the initialization
+     * may validate or acquire the other instances
+     *
+     * @param validatorClass      the class of {@link ConstraintValidator}
+     * @param constraintAnnotation the constraint annotation
+     * @return non-null
+     */
+    @SuppressWarnings("unchecked")
+    <A extends Annotation> ConstraintValidator<A, ?> acquire(Class<?> validatorClass, A constraintAnnotation) {
+        Object key = sharingKey(validatorClass, constraintAnnotation);
+        while (true) {
+            SharedInstance sharedInstance = sharedInstances.get(key);
+            if (sharedInstance == null) {
+                ConstraintValidator<A, ?> instance = (ConstraintValidator<A, ?>)
+                        delegate.getInstance((Class<ConstraintValidator<?, ?>>) validatorClass);
+                instance.initialize(constraintAnnotation);
+                creationCount.increment();
+                SharedInstance newSharedInstance = new SharedInstance(instance);
+                sharedInstance = sharedInstances.putIfAbsent(key, newSharedInstance);
+                if (sharedInstance == null) {
+                    return instance;
+                }
+                // The other thread published first
+                delegate.releaseInstance(instance);
+            }
+            if (sharedInstance.retain()) {
+                return (ConstraintValidator<A, ?>) sharedInstance.instance;
+            }
+            // The instance is being released, retry
+        }
+    }
+
+    /**
+     * Release the shared instance, which is released to the delegate if no one refers to it
+     */
+    void release(Class<?> validatorClass, Annotation constraintAnnotation) {
+        Object key = sharingKey(validatorClass, constraintAnnotation);
+        SharedInstance sharedInstance = sharedInstances.get(key);
+        if (sharedInstance != null && sharedInstance.release()) {
+            sharedInstances.remove(key, sharedInstance);
+            delegate.releaseInstance(sharedInstance.instance);
+        }
+    }
+
+    private static Object sharingKey(Class<?> validatorClass, Annotation constraintAnnotation) {
+        if (statelessValidatorClasses.get(validatorClass)) {
+            return validatorClass;
+        }
+        return new SharingKey(validatorClass, constraintAnnotation);
+    }
+
+    /**
+     * @return the count of requested {@link ConstraintValidator ConstraintValidators} by the provider
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return the count of created {@link ConstraintValidator ConstraintValidators}, including the released ones
+     */
+    public long getCreationCount() {
+        return creationCount.sum();
+    }
+
+    /**
+     * @return the count of live shared instances per validator class
+     */
+    public Map<Class<?>, Integer> getInstanceCounts() {
+        Map<Class<?>, Integer> instanceCounts = new HashMap<>();
+        for (SharedInstance sharedInstance : sharedInstances.values()) {
+            instanceCounts.merge(sharedInstance.instance.getClass(), 1, Integer::sum);
+        }
+        return unmodifiableMap(instanceCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "SharingConstraintValidatorFactory{requestCount=" + getRequestCount() +
+                ", creationCount=" + getCreationCount() +
+                ", instanceCounts=" + getInstanceCounts() +
+                '}';
+    }
+
+    /**
+     * The shared instance with its reference count, which is never retained again once it drops to zero
+     */
+    private static final class SharedInstance {
+
+        private final ConstraintValidator<?, ?> instance;
+
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        SharedInstance(ConstraintValidator<?, ?> instance) {
+            this.instance = instance;
+        }
+
+        /**
+         * @return <code>false</code> if the instance has been released
+         */
+        boolean retain() {
+            while (true) {
+                int count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return <code>true</code> if no one refers to the instance
+         */
+        boolean release() {
+            return references.decrementAndGet() == 0;
+        }
+    }
+
+    /**
+     * The key of validator class and annotation attributes, which relies on {@link Annotation#equals(Object)}
+     */
+    private static final class SharingKey {
+
+        private final Class<?> validatorClass;
+
+        private final Annotation constraintAnnotation;
+
+        private final int hash;
+
+        SharingKey(Class<?> validatorClass, Annotation constraintAnnotation) {
+            this.validatorClass = validatorClass;
+            this.constraintAnnotation = constraintAnnotation;
+            this.hash = 31 * validatorClass.hashCode() + constraintAnnotation.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SharingKey)) {
+                return false;
+            }
+            SharingKey that = (SharingKey) o;
+            return validatorClass == that.validatorClass && constraintAnnotation.equals(that.constraintAnnotation);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+/**
+ * {@link ValidationContextCarrier} based on {@link ThreadLocal}, the validated beans are kept in a per-thread
+ * array stack, and the {@link ThreadLocal} binding is removed when the stack becomes empty, so that the pooled threads
+ * don't retain the bean graphs.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationContextCarrier
+ * @since 1.0.0
+ */
+public class ThreadLocalValidationContextCarrier implements ValidationContextCarrier {
+
+    private final ThreadLocal<ValidatedBeanStack> validatedBeansHolder = new ThreadLocal<>();
+
+    @Override
+    public void bind(Object bean) {
+        ValidatedBeanStack validatedBeans = validatedBeansHolder.get();
+        if (validatedBeans == null) {
+            validatedBeans = new ValidatedBeanStack();
+            validatedBeansHolder.set(validatedBeans);
+        }
+        validatedBeans.push(bean);
+    }
+
+    @Override
+    public void unbind(Object bean) {
+        ValidatedBeanStack validatedBeans = validatedBeansHolder.get();
+        if (validatedBeans == null) {
+            return;
+        }
+        validatedBeans.pop(bean);
+        if (validatedBeans.isEmpty()) {
+            validatedBeansHolder.remove();
+        }
+    }
+
+    @Override
+    public Object getValidatedBean() {
+        ValidatedBeanStack validatedBeans = validatedBeansHolder.get();
+        return validatedBeans == null ? null : validatedBeans.peek();
+    }
+
+    @Override
+    public Object capture() {
+        ValidatedBeanStack validatedBeans = validatedBeansHolder.get();
+        // The stack is mutable, so it must be copied
+        return validatedBeans == null ? null : validatedBeans.copy();
+    }
+
+    @Override
+    public Object restore(Object snapshot) {
+        ValidatedBeanStack previous = validatedBeansHolder.get();
+        if (snapshot == null) {
+            validatedBeansHolder.remove();
+        } else {
+            validatedBeansHolder.set(((ValidatedBeanStack) snapshot).copy());
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        validatedBeansHolder.remove();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+
+/**
+ * The stack of validated beans based on the growable array, the elements are pushed and popped by identity (==),
+ * it's not thread-safe and should be used by a single thread.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ThreadLocalValidationContextCarrier
+ * @since 1.0.0
+ */
+final class ValidatedBeanStack {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+
+    private int size;
+
+    void push(Object bean) {
+        if (size == elements.length) {
+            elements = copyOf(elements, size << 1);
+        }
+        elements[size++] = bean;
+    }
+
+    /**
+     * Pop the bean by identity, it's the top element usually, or it will be searched from top to bottom and
+     * removed (e.g. the binding is not paired because of an error)
+     *
+     * @param bean the validated bean
+     * @return <code>true</code> if found and removed
+     */
+    boolean pop(Object bean) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == bean) {
+                int moved = size - 1 - i;
+                if (moved > 0) {
+                    arraycopy(elements, i + 1, elements, i, moved);
+                }
+                elements[--size] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Object peek() {
+        return size == 0 ? null : elements[size - 1];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ValidatedBeanStack copy() {
+        ValidatedBeanStack copy = new ValidatedBeanStack();
+        if (size > copy.elements.length) {
+            copy.elements = copyOf(elements, size);
+        } else {
+            arraycopy(elements, 0, copy.elements, 0, size);
+        }
+        copy.size = size;
+        return copy;
+    }
+}
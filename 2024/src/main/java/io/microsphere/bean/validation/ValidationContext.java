@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * The validation context facade, which reads and propagates the validated beans through the
+ * {@link ValidationContextCarrier} selected in the following order :
+ * <ol>
+ *     <li>The first one loaded by {@link ServiceLoader}, e.g. {@link ScopedValidationContextCarrier}</li>
+ *     <li>{@link ThreadLocalValidationContextCarrier}</li>
+ * </ol>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationContextCarrier
+ * @since 1.0.0
+ */
+public final class ValidationContext {
+
+    private static final ValidationContextCarrier carrier = selectCarrier();
+
+    private ValidationContext() {
+    }
+
+    public static ValidationContextCarrier getCarrier() {
+        return carrier;
+    }
+
+    public static void bind(Object bean) {
+        carrier.bind(bean);
+    }
+
+    public static void unbind(Object bean) {
+        carrier.unbind(bean);
+    }
+
+    /**
+     * Get the validated bean bound most recently in the current context
+     *
+     * @return <code>null</code> if absent
+     */
+    public static Object getValidatedBean() {
+        return carrier.getValidatedBean();
+    }
+
+    public static void clear() {
+        carrier.clear();
+    }
+
+    /**
+     * Capture the snapshot of the current context
+     *
+     * @return the opaque snapshot
+     * @see #restore(Object)
+     */
+    public static Object capture() {
+        return carrier.capture();
+    }
+
+    /**
+     * Restore the current context from the snapshot
+     *
+     * @param snapshot the snapshot that was {@link #capture() captured}
+     * @return the snapshot of the previous context, which should be restored afterwards
+     */
+    public static Object restore(Object snapshot) {
+        return carrier.restore(snapshot);
+    }
+
+    /**
+     * Wrap the task that will be executed with the context captured now
+     *
+     * @param task {@link Runnable}
+     * @return non-null
+     */
+    public static Runnable wrap(Runnable task) {
+        Object snapshot = capture();
+        return () -> {
+            Object previous = restore(snapshot);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the task that will be executed with the context captured now
+     *
+     * @param task {@link Callable}
+     * @return non-null
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        Object snapshot = capture();
+        return () -> {
+            Object previous = restore(snapshot);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the {@link Executor} propagating the context of submitters to the tasks
+     *
+     * @param executor {@link Executor}
+     * @return non-null
+     */
+    public static Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    private static ValidationContextCarrier selectCarrier() {
+        Iterator<ValidationContextCarrier> iterator = ServiceLoader.load(ValidationContextCarrier.class).iterator();
+        if (iterator.hasNext()) {
+            return iterator.next();
+        }
+        return new ThreadLocalValidationContextCarrier();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import java.util.ServiceLoader;
+
+/**
+ * The carrier SPI of the validation context, which carries the validated (root) beans for the current execution, so
+ * that the {@link javax.validation.ConstraintValidator ConstraintValidators} could read the bean being validated.
+ * <p>
+ * The beans are bound in a stack-like manner : the nested binding shadows the outer one until it's unbound.
+ * The context could be propagated to another thread by {@link #capture()} and {@link #restore(Object)}, or
+ * {@link ValidationContext#wrap(Runnable)} in short.
+ * <p>
+ * The implementation class is loaded by {@link ServiceLoader}, if absent, the default implementation will be
+ * selected by {@link ValidationContext} at runtime.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationContext
+ * @see ThreadLocalValidationContextCarrier
+ * @see ScopedValidationContextCarrier
+ * @since 1.0.0
+ */
+public interface ValidationContextCarrier {
+
+    /**
+     * Bind the validated bean into the current context
+     *
+     * @param bean the validated bean
+     */
+    void bind(Object bean);
+
+    /**
+     * Unbind the validated bean from the current context by identity
+     *
+     * @param bean the validated bean
+     */
+    void unbind(Object bean);
+
+    /**
+     * Get the validated bean bound most recently in the current context
+     *
+     * @return <code>null</code> if absent
+     */
+    Object getValidatedBean();
+
+    /**
+     * Capture the snapshot of the current context
+     *
+     * @return the opaque snapshot, <code>null</code> means the empty context
+     */
+    Object capture();
+
+    /**
+     * Restore the current context from the snapshot that was {@link #capture() captured}
+     *
+     * @param snapshot the snapshot, <code>null</code> means the empty context
+     * @return the snapshot of the previous context, which should be restored afterwards
+     */
+    Object restore(Object snapshot);
+
+    /**
+     * Clear the current context
+     */
+    void clear();
+}
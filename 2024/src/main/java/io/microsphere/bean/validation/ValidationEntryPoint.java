@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+
+/**
+ * The entry points of {@link Validator}, {@link ExecutableValidator} and {@link BatchValidator}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see Validator
+ * @see ExecutableValidator
+ * @see BatchValidator
+ * @since 1.0.0
+ */
+public enum ValidationEntryPoint {
+
+    VALIDATE("validate"),
+
+    VALIDATE_PROPERTY("validateProperty"),
+
+    VALIDATE_VALUE("validateValue"),
+
+    VALIDATE_PARAMETERS("validateParameters"),
+
+    VALIDATE_RETURN_VALUE("validateReturnValue"),
+
+    VALIDATE_CONSTRUCTOR_PARAMETERS("validateConstructorParameters"),
+
+    VALIDATE_CONSTRUCTOR_RETURN_VALUE("validateConstructorReturnValue"),
+
+    VALIDATE_BATCH("validateBatch");
+
+    private final String methodName;
+
+    ValidationEntryPoint(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * @return the name of the entry method
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
@@ -210,4 +210,23 @@ public interface ValidationInterceptor {
      */
     default <T> void afterValidateConstructorReturnValue(Constructor<? extends T> constructor, Object createdObject, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
     }
+
+    /**
+     * Intercept before {@link BatchValidator} validating a batch of beans, the callbacks per bean are not
+     * invoked in batch
+     *
+     * @param options {@link BatchValidationOptions}
+     */
+    default void beforeValidateBatch(BatchValidationOptions options) {
+    }
+
+    /**
+     * Intercept after {@link BatchValidator} validating a batch of beans
+     *
+     * @param options {@link BatchValidationOptions}
+     * @param result  {@link BatchValidationResult} or <code>null</code> if validation is failed
+     * @param error   error if validation is failed
+     */
+    default <T> void afterValidateBatch(BatchValidationOptions options, BatchValidationResult<T> result, Throwable error) {
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import java.lang.reflect.Constructor;
+import java.util.Set;
+
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_BATCH;
+import static java.util.Collections.emptySet;
+
+/**
+ * The adapter of {@link ValidationInterceptor} for an entry point in the chain of
+ * {@link AroundValidationInterceptor AroundValidationInterceptors}, the "before" callback is invoked before
+ * {@link ValidationInvocation#proceed()}, and the "after" one is invoked after it, as {@link InterceptingValidator}
+ * does.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationInterceptor
+ * @see AroundValidationInterceptor
+ * @since 1.0.0
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+final class ValidationInterceptorAdapter implements AroundValidationInterceptor {
+
+    private final ValidationInterceptor interceptor;
+
+    private final ValidationEntryPoint entryPoint;
+
+    private final boolean before;
+
+    private final boolean after;
+
+    ValidationInterceptorAdapter(ValidationInterceptor interceptor, ValidationEntryPoint entryPoint, boolean before,
+                                 boolean after) {
+        this.interceptor = interceptor;
+        this.entryPoint = entryPoint;
+        this.before = before;
+        this.after = after;
+    }
+
+    @Override
+    public boolean supports(ValidationEntryPoint entryPoint) {
+        return this.entryPoint == entryPoint;
+    }
+
+    @Override
+    public <R> R around(ValidationInvocation<R> invocation) {
+        if (before) {
+            before(invocation);
+        }
+        if (!after) {
+            return invocation.proceed();
+        }
+        R result = null;
+        Throwable error = null;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            after(invocation, result, error);
+        }
+        return result;
+    }
+
+    private void before(ValidationInvocation<?> invocation) {
+        Class<?>[] groups = invocation.getGroups();
+        switch (entryPoint) {
+            case VALIDATE:
+                interceptor.beforeValidate(invocation.getObject(), groups);
+                break;
+            case VALIDATE_PROPERTY:
+                interceptor.beforeValidateProperty(invocation.getObject(), invocation.getPropertyName(), groups);
+                break;
+            case VALIDATE_VALUE:
+                interceptor.beforeValidateValue(invocation.getBeanType(), invocation.getPropertyName(),
+                        invocation.getValue(), groups);
+                break;
+            case VALIDATE_PARAMETERS:
+                interceptor.beforeValidateParameters(invocation.getObject(), invocation.getMethod(),
+                        invocation.getParameterValues(), groups);
+                break;
+            case VALIDATE_RETURN_VALUE:
+                interceptor.beforeValidateReturnValue(invocation.getObject(), invocation.getMethod(),
+                        invocation.getReturnValue(), groups);
+                break;
+            case VALIDATE_CONSTRUCTOR_PARAMETERS:
+                interceptor.beforeValidateConstructorParameters(invocation.getConstructor(),
+                        invocation.getParameterValues(), groups);
+                break;
+            case VALIDATE_CONSTRUCTOR_RETURN_VALUE:
+                interceptor.beforeValidateConstructorReturnValue(invocation.getConstructor(),
+                        invocation.getReturnValue(), groups);
+                break;
+            case VALIDATE_BATCH:
+                interceptor.beforeValidateBatch(invocation.getBatchValidationOptions());
+                break;
+        }
+    }
+
+    private void after(ValidationInvocation<?> invocation, Object result, Throwable error) {
+        Class<?>[] groups = invocation.getGroups();
+        // The violations are empty if the validation is failed, as InterceptingValidator does
+        Set constraintViolations = result == null && entryPoint != VALIDATE_BATCH ? emptySet() : (Set) result;
+        switch (entryPoint) {
+            case VALIDATE:
+                interceptor.afterValidate(invocation.getObject(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_PROPERTY:
+                interceptor.afterValidateProperty(invocation.getObject(), invocation.getPropertyName(),
+                        constraintViolations, error, groups);
+                break;
+            case VALIDATE_VALUE:
+                interceptor.afterValidateValue(invocation.getBeanType(), invocation.getPropertyName(),
+                        invocation.getValue(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_PARAMETERS:
+                interceptor.afterValidateParameters(invocation.getObject(), invocation.getMethod(),
+                        invocation.getParameterValues(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_RETURN_VALUE:
+                interceptor.afterValidateReturnValue(invocation.getObject(), invocation.getMethod(),
+                        invocation.getReturnValue(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_CONSTRUCTOR_PARAMETERS:
+                interceptor.afterValidateConstructorParameters((Constructor) invocation.getConstructor(),
+                        invocation.getParameterValues(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_CONSTRUCTOR_RETURN_VALUE:
+                interceptor.afterValidateConstructorReturnValue((Constructor) invocation.getConstructor(),
+                        invocation.getReturnValue(), constraintViolations, error, groups);
+                break;
+            case VALIDATE_BATCH:
+                interceptor.afterValidateBatch(invocation.getBatchValidationOptions(), (BatchValidationResult) result,
+                        error);
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationInterceptorAdapter{interceptor=" + interceptor + ", entryPoint=" + entryPoint + '}';
+    }
+}
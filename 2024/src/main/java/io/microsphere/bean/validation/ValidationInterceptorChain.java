@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.annotation.Priority;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_BATCH;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PROPERTY;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_VALUE;
+import static java.util.Arrays.sort;
+import static java.util.Collections.emptyList;
+
+/**
+ * The resolved, immutable and ordered chain of {@link ValidationInterceptor ValidationInterceptors}.
+ * <p>
+ * The interceptors are sorted by {@link Priority @Priority} (the lower value, the higher priority),
+ * the ones without {@link Priority @Priority} are placed at the end and keep their discovered order.
+ * The "before" callbacks are invoked in the chain order, and the "after" callbacks are invoked in reverse order. If a
+ * "before" callback fails, only the interceptors preceding it are unwound by their "after" callbacks with the error.
+ * <p>
+ * The {@link Hooks} of each entry point only contain the interceptors overriding the corresponding default methods
+ * of {@link ValidationInterceptor}, thus the un-overridden callbacks are never invoked. If any
+ * {@link AroundValidationInterceptor} supports the entry point, the {@link Link Links} of the entry point are linked
+ * once, and the {@link ValidationInterceptor ValidationInterceptors} are adapted into them.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationInterceptor
+ * @see AroundValidationInterceptor
+ * @see Priority
+ * @since 1.0.0
+ */
+final class ValidationInterceptorChain {
+
+    /**
+     * The priority of {@link ValidationInterceptor} that is not annotated {@link Priority @Priority}
+     */
+    static final int DEFAULT_PRIORITY = Integer.MAX_VALUE;
+
+    static final ValidationInterceptorChain EMPTY = new ValidationInterceptorChain(new ValidationInterceptor[0], new Object[0]);
+
+    /**
+     * The sorted interceptors, never be modified after construction
+     */
+    final ValidationInterceptor[] interceptors;
+
+    /**
+     * The sorted {@link ValidationInterceptor ValidationInterceptors} and
+     * {@link AroundValidationInterceptor AroundValidationInterceptors}, never be modified after construction
+     */
+    final Object[] allInterceptors;
+
+    final Hooks validate;
+
+    final Hooks validateProperty;
+
+    final Hooks validateValue;
+
+    final Hooks validateParameters;
+
+    final Hooks validateReturnValue;
+
+    final Hooks validateConstructorParameters;
+
+    final Hooks validateConstructorReturnValue;
+
+    final Hooks validateBatch;
+
+    private ValidationInterceptorChain(ValidationInterceptor[] interceptors, Object[] allInterceptors) {
+        this.interceptors = interceptors;
+        this.allInterceptors = allInterceptors;
+        this.validate = new Hooks(VALIDATE, interceptors, allInterceptors,
+                "beforeValidate", new Class<?>[]{Object.class, Class[].class},
+                "afterValidate", new Class<?>[]{Object.class, Set.class, Throwable.class, Class[].class});
+        this.validateProperty = new Hooks(VALIDATE_PROPERTY, interceptors, allInterceptors,
+                "beforeValidateProperty", new Class<?>[]{Object.class, String.class, Class[].class},
+                "afterValidateProperty", new Class<?>[]{Object.class, String.class, Set.class, Throwable.class, Class[].class});
+        this.validateValue = new Hooks(VALIDATE_VALUE, interceptors, allInterceptors,
+                "beforeValidateValue", new Class<?>[]{Class.class, String.class, Object.class, Class[].class},
+                "afterValidateValue", new Class<?>[]{Class.class, String.class, Object.class, Set.class, Throwable.class, Class[].class});
+        this.validateParameters = new Hooks(VALIDATE_PARAMETERS, interceptors, allInterceptors,
+                "beforeValidateParameters", new Class<?>[]{Object.class, Method.class, Object[].class, Class[].class},
+                "afterValidateParameters", new Class<?>[]{Object.class, Method.class, Object[].class, Set.class, Throwable.class, Class[].class});
+        this.validateReturnValue = new Hooks(VALIDATE_RETURN_VALUE, interceptors, allInterceptors,
+                "beforeValidateReturnValue", new Class<?>[]{Object.class, Method.class, Object.class, Class[].class},
+                "afterValidateReturnValue", new Class<?>[]{Object.class, Method.class, Object.class, Set.class, Throwable.class, Class[].class});
+        this.validateConstructorParameters = new Hooks(VALIDATE_CONSTRUCTOR_PARAMETERS, interceptors, allInterceptors,
+                "beforeValidateConstructorParameters", new Class<?>[]{Constructor.class, Object[].class, Class[].class},
+                "afterValidateConstructorParameters", new Class<?>[]{Constructor.class, Object[].class, Set.class, Throwable.class, Class[].class});
+        this.validateConstructorReturnValue = new Hooks(VALIDATE_CONSTRUCTOR_RETURN_VALUE, interceptors, allInterceptors,
+                "beforeValidateConstructorReturnValue", new Class<?>[]{Constructor.class, Object.class, Class[].class},
+                "afterValidateConstructorReturnValue", new Class<?>[]{Constructor.class, Object.class, Set.class, Throwable.class, Class[].class});
+        this.validateBatch = new Hooks(VALIDATE_BATCH, interceptors, allInterceptors,
+                "beforeValidateBatch", new Class<?>[]{BatchValidationOptions.class},
+                "afterValidateBatch", new Class<?>[]{BatchValidationOptions.class, BatchValidationResult.class, Throwable.class});
+    }
+
+    boolean isEmpty() {
+        return allInterceptors.length == 0;
+    }
+
+    int size() {
+        return allInterceptors.length;
+    }
+
+    static ValidationInterceptorChain of(Iterable<ValidationInterceptor> validationInterceptors) {
+        return of(validationInterceptors, emptyList());
+    }
+
+    static ValidationInterceptorChain of(Iterable<ValidationInterceptor> validationInterceptors,
+                                         Iterable<AroundValidationInterceptor> aroundValidationInterceptors) {
+        List<ValidationInterceptor> interceptorsList = new ArrayList<>();
+        for (ValidationInterceptor validationInterceptor : validationInterceptors) {
+            interceptorsList.add(validationInterceptor);
+        }
+        List<Object> allInterceptorsList = new ArrayList<>(interceptorsList);
+        for (AroundValidationInterceptor aroundValidationInterceptor : aroundValidationInterceptors) {
+            allInterceptorsList.add(aroundValidationInterceptor);
+        }
+        if (allInterceptorsList.isEmpty()) {
+            return EMPTY;
+        }
+        ValidationInterceptor[] interceptors = interceptorsList.toArray(new ValidationInterceptor[0]);
+        Object[] allInterceptors = allInterceptorsList.toArray();
+        // Stable sorting keeps the discovered order for the same priority
+        sort(interceptors, (a, b) -> Integer.compare(getPriority(a), getPriority(b)));
+        sort(allInterceptors, (a, b) -> Integer.compare(getPriority(a), getPriority(b)));
+        return new ValidationInterceptorChain(interceptors, allInterceptors);
+    }
+
+    static int getPriority(Object interceptor) {
+        Priority priority = interceptor.getClass().getAnnotation(Priority.class);
+        return priority == null ? DEFAULT_PRIORITY : priority.value();
+    }
+
+    /**
+     * Is the specified default method of {@link ValidationInterceptor} overridden by the given interceptor or not?
+     *
+     * @param validationInterceptor {@link ValidationInterceptor}
+     * @param methodName            the name of method
+     * @param parameterTypes        the erased parameter types of method
+     * @return <code>true</code> if overridden
+     */
+    static boolean isOverridden(ValidationInterceptor validationInterceptor, String methodName, Class<?>[] parameterTypes) {
+        try {
+            Method method = validationInterceptor.getClass().getMethod(methodName, parameterTypes);
+            return !ValidationInterceptor.class.equals(method.getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("The method[name : " + methodName + "] can't be found in "
+                    + ValidationInterceptor.class.getName(), e);
+        }
+    }
+
+    private static ValidationInterceptor[] filter(ValidationInterceptor[] interceptors, String methodName, Class<?>[] parameterTypes) {
+        List<ValidationInterceptor> overriddenInterceptors = new ArrayList<>(interceptors.length);
+        for (ValidationInterceptor interceptor : interceptors) {
+            if (isOverridden(interceptor, methodName, parameterTypes)) {
+                overriddenInterceptors.add(interceptor);
+            }
+        }
+        return overriddenInterceptors.toArray(new ValidationInterceptor[0]);
+    }
+
+    private static boolean contains(ValidationInterceptor[] interceptors, Object interceptor) {
+        for (ValidationInterceptor validationInterceptor : interceptors) {
+            if (validationInterceptor == interceptor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Link the interceptors supporting the entry point
+     *
+     * @return the head {@link Link}, or <code>null</code> if no {@link AroundValidationInterceptor} supports it
+     */
+    private static Link link(ValidationEntryPoint entryPoint, Object[] allInterceptors, ValidationInterceptor[] before,
+                             ValidationInterceptor[] after) {
+        boolean around = false;
+        for (Object interceptor : allInterceptors) {
+            if (interceptor instanceof AroundValidationInterceptor
+                    && ((AroundValidationInterceptor) interceptor).supports(entryPoint)) {
+                around = true;
+                break;
+            }
+        }
+        if (!around) {
+            return null;
+        }
+        Link head = null;
+        for (int i = allInterceptors.length - 1; i >= 0; i--) {
+            Object interceptor = allInterceptors[i];
+            if (interceptor instanceof AroundValidationInterceptor) {
+                AroundValidationInterceptor aroundInterceptor = (AroundValidationInterceptor) interceptor;
+                if (aroundInterceptor.supports(entryPoint)) {
+                    head = new Link(aroundInterceptor, head);
+                }
+            } else {
+                boolean beforeHooked = contains(before, interceptor);
+                boolean afterHooked = contains(after, interceptor);
+                if (beforeHooked || afterHooked) {
+                    head = new Link(new ValidationInterceptorAdapter((ValidationInterceptor) interceptor, entryPoint,
+                            beforeHooked, afterHooked), head);
+                }
+            }
+        }
+        return head;
+    }
+
+    /**
+     * The node of the pre-linked chain of {@link AroundValidationInterceptor AroundValidationInterceptors}
+     */
+    static final class Link {
+
+        final AroundValidationInterceptor interceptor;
+
+        /**
+         * The next link, or <code>null</code> if it's the last one
+         */
+        final Link next;
+
+        Link(AroundValidationInterceptor interceptor, Link next) {
+            this.interceptor = interceptor;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The "before" and "after" interceptors of an entry point of {@link javax.validation.Validator} or
+     * {@link javax.validation.executable.ExecutableValidator}
+     */
+    static final class Hooks {
+
+        /**
+         * The interceptors overriding "before" method, in the chain order
+         */
+        final ValidationInterceptor[] before;
+
+        /**
+         * The interceptors overriding "after" method, in the chain order
+         */
+        final ValidationInterceptor[] after;
+
+        /**
+         * The count of {@link #after} interceptors preceding each {@link #before} interceptor in the chain order
+         */
+        private final int[] enteredCounts;
+
+        /**
+         * The head of linked chain if any {@link AroundValidationInterceptor} supports this entry point, which
+         * takes precedence over {@link #before} and {@link #after}, or <code>null</code>
+         */
+        final Link around;
+
+        /**
+         * No interceptor hooks this entry point
+         */
+        final boolean empty;
+
+        private Hooks(ValidationEntryPoint entryPoint, ValidationInterceptor[] interceptors, Object[] allInterceptors,
+                      String beforeMethodName, Class<?>[] beforeParameterTypes,
+                      String afterMethodName, Class<?>[] afterParameterTypes) {
+            this.before = filter(interceptors, beforeMethodName, beforeParameterTypes);
+            this.after = filter(interceptors, afterMethodName, afterParameterTypes);
+            this.enteredCounts = enteredCounts(interceptors, before, after);
+            this.around = link(entryPoint, allInterceptors, before, after);
+            this.empty = before.length == 0 && after.length == 0 && around == null;
+        }
+
+        /**
+         * @param failedIndex the index of the failed {@link #before} interceptor
+         * @return the count of {@link #after} interceptors that have entered before the failed one, they are the
+         * prefix of {@link #after}
+         */
+        int getEnteredCount(int failedIndex) {
+            return enteredCounts[failedIndex];
+        }
+
+        private static int[] enteredCounts(ValidationInterceptor[] interceptors, ValidationInterceptor[] before,
+                                           ValidationInterceptor[] after) {
+            int[] enteredCounts = new int[before.length];
+            int beforeIndex = 0;
+            int afterIndex = 0;
+            for (ValidationInterceptor interceptor : interceptors) {
+                if (beforeIndex < before.length && before[beforeIndex] == interceptor) {
+                    enteredCounts[beforeIndex++] = afterIndex;
+                }
+                if (afterIndex < after.length && after[afterIndex] == interceptor) {
+                    afterIndex++;
+                }
+            }
+            return enteredCounts;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * The invocation of a validation entry point intercepted by {@link AroundValidationInterceptor}
+ *
+ * @param <R> the type of result, {@link Set} of {@link ConstraintViolation ConstraintViolations} or
+ *            {@link BatchValidationResult}
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see AroundValidationInterceptor
+ * @since 1.0.0
+ */
+public interface ValidationInvocation<R> {
+
+    /**
+     * @return the entry point of invocation
+     */
+    ValidationEntryPoint getEntryPoint();
+
+    /**
+     * @return the object to validate, or the object on which the method is invoked, or <code>null</code> if absent
+     */
+    Object getObject();
+
+    /**
+     * @return the bean type of {@link Validator#validateValue(Class, String, Object, Class[])}, the declaring class of
+     * method or constructor, the type of {@link #getObject() object}, or <code>null</code> for batch validation
+     */
+    Class<?> getBeanType();
+
+    /**
+     * @return the property name of {@link Validator#validateProperty(Object, String, Class[])} or
+     * {@link Validator#validateValue(Class, String, Object, Class[])}, or <code>null</code> if absent
+     */
+    String getPropertyName();
+
+    /**
+     * @return the value of {@link Validator#validateValue(Class, String, Object, Class[])}, or <code>null</code>
+     */
+    Object getValue();
+
+    /**
+     * @return the method of {@link ExecutableValidator}, or <code>null</code> if absent
+     */
+    Method getMethod();
+
+    /**
+     * @return the constructor of {@link ExecutableValidator}, or <code>null</code> if absent
+     */
+    Constructor<?> getConstructor();
+
+    /**
+     * @return the parameter values of method or constructor, or <code>null</code> if absent
+     */
+    Object[] getParameterValues();
+
+    /**
+     * @return the return value of method, or the created object of constructor, or <code>null</code> if absent
+     */
+    Object getReturnValue();
+
+    /**
+     * @return the groups targeted for validation, never <code>null</code>
+     */
+    Class<?>[] getGroups();
+
+    /**
+     * @return the options of batch validation, or <code>null</code> if absent
+     */
+    BatchValidationOptions getBatchValidationOptions();
+
+    /**
+     * Proceed to the next interceptor, or the underlying validation if it's the last one. It could be invoked more
+     * than once, e.g. retrying, or never invoked, e.g. a substituted result.
+     *
+     * @return the result of the rest of chain
+     */
+    R proceed();
+}
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import io.microsphere.bean.validation.CacheableValidation.KeyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.bean.validation.CacheableValidation.KeyType.IDENTITY;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * The bounded cache of {@link Validator#validate(Object, Class[]) validation} results for the immutable types, which
+ * are annotated {@link CacheableValidation @CacheableValidation} or {@link #registerType(Class, KeyType) registered}.
+ * <p>
+ * The cache is split into the segments in LRU order, the beans are referenced weakly as the keys with the validation
+ * groups, and the entries of collected beans are purged on writing. Only the valid (empty) results are cached, because
+ * the {@link ConstraintViolation ConstraintViolations} refer to the bean strongly. Obtains the cache of a
+ * {@link Validator} by <code>validator.unwrap(ValidationResultCache.class)</code>.
+ * <p>
+ * The cache is opt-in, it's installed by the intercepting {@link javax.validation.ValidatorFactory} only if the System
+ * Property {@value #ENABLED_PROPERTY_NAME} is <code>true</code> or any type is registered before the factory is
+ * built, e.g. by the System Property {@value #TYPES_PROPERTY_NAME}.
+ * <p>
+ * The returned results are unmodifiable, the maximum size could be changed by the System Property
+ * {@value #MAX_SIZE_PROPERTY_NAME}, defaults to {@value #DEFAULT_MAX_SIZE}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CacheableValidation
+ * @since 1.0.0
+ */
+public final class ValidationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationResultCache.class);
+
+    public static final String ENABLED_PROPERTY_NAME = "microsphere.validation.cache";
+
+    public static final String MAX_SIZE_PROPERTY_NAME = "microsphere.validation.cache.max-size";
+
+    /**
+     * The comma-separated class names of registered types with {@link KeyType#IDENTITY identity} keys
+     */
+    public static final String TYPES_PROPERTY_NAME = "microsphere.validation.cache.types";
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final ConcurrentMap<Class<?>, KeyType> registeredTypes = new ConcurrentHashMap<>();
+
+    private static final ClassValue<KeyType> annotatedTypes = new ClassValue<KeyType>() {
+        @Override
+        protected KeyType computeValue(Class<?> type) {
+            CacheableValidation cacheableValidation = type.getAnnotation(CacheableValidation.class);
+            return cacheableValidation == null ? null : cacheableValidation.key();
+        }
+    };
+
+    static {
+        String typeNames = System.getProperty(TYPES_PROPERTY_NAME);
+        if (typeNames != null) {
+            ClassLoader classLoader = ValidationResultCache.class.getClassLoader();
+            for (String typeName : typeNames.split(",")) {
+                typeName = typeName.trim();
+                if (typeName.isEmpty()) {
+                    continue;
+                }
+                try {
+                    registerType(Class.forName(typeName, false, classLoader), IDENTITY);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.warn("The cacheable type[{}] can't be loaded and is skipped", typeName, e);
+                }
+            }
+        }
+    }
+
+    private final SegmentedLruCache<Key, Set<?>> cache;
+
+    /**
+     * The references of collected beans, which are shared by the segments
+     */
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    ValidationResultCache() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY_NAME, DEFAULT_MAX_SIZE));
+    }
+
+    ValidationResultCache(int maxSize) {
+        this.cache = new SegmentedLruCache<>(maxSize);
+    }
+
+    /**
+     * Register the cacheable type, which overrides the {@link CacheableValidation @CacheableValidation}, the
+     * registration enables the cache of the {@link javax.validation.ValidatorFactory ValidatorFactories} built later
+     *
+     * @param type    the immutable type
+     * @param keyType {@link KeyType}
+     */
+    public static void registerType(Class<?> type, KeyType keyType) {
+        registeredTypes.put(type, keyType);
+    }
+
+    /**
+     * @return <code>true</code> if the System Property {@value #ENABLED_PROPERTY_NAME} is <code>true</code> or any
+     * type is registered
+     */
+    static boolean isEnabled() {
+        return "true".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY_NAME)) || !registeredTypes.isEmpty();
+    }
+
+    /**
+     * @param type the type of bean
+     * @return the {@link KeyType} if the type is cacheable, or <code>null</code>
+     */
+    static KeyType getKeyType(Class<?> type) {
+        if (!registeredTypes.isEmpty()) {
+            KeyType keyType = registeredTypes.get(type);
+            if (keyType != null) {
+                return keyType;
+            }
+        }
+        return annotatedTypes.get(type);
+    }
+
+    <T> Set<ConstraintViolation<T>> get(T bean, KeyType keyType, Class<?>[] groups) {
+        int hash = hash(bean, keyType, groups);
+        @SuppressWarnings("unchecked")
+        Set<ConstraintViolation<T>> constraintViolations = (Set<ConstraintViolation<T>>) cache.get(new LookupKey(bean, keyType, groups, hash));
+        if (constraintViolations == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return constraintViolations;
+    }
+
+    /**
+     * @return the unmodifiable result, which is cached only if it's empty
+     */
+    <T> Set<ConstraintViolation<T>> put(T bean, KeyType keyType, Class<?>[] groups,
+                                         Set<ConstraintViolation<T>> constraintViolations) {
+        Set<ConstraintViolation<T>> result = unmodifiableSet(constraintViolations);
+        // The violations refer to the bean as the root bean, which would keep the weak key reachable
+        if (constraintViolations.isEmpty()) {
+            int hash = hash(bean, keyType, groups);
+            purge();
+            cache.put(new WeakKey(bean, keyType, groups, hash, queue), result);
+        }
+        return result;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the count of entries evicted by size, excluding the ones of collected beans
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * @return the ratio of hits in [0, 1], or <code>0</code> if no request
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0L ? 0.0d : (double) hits / requests;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+        while (queue.poll() != null) {
+            // drain
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResultCache{size=" + size() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", evictionCount=" + getEvictionCount() +
+                '}';
+    }
+
+    /**
+     * Remove the entries of collected beans
+     */
+    private void purge() {
+        Object reference;
+        while ((reference = queue.poll()) != null) {
+            cache.remove(reference);
+        }
+    }
+
+    private static int hash(Object bean, KeyType keyType, Class<?>[] groups) {
+        int hash = keyType == IDENTITY ? System.identityHashCode(bean) : bean.hashCode();
+        return 31 * hash + Arrays.hashCode(groups);
+    }
+
+    private static boolean matches(Object bean, KeyType keyType, Class<?>[] groups, Key other) {
+        Object otherBean = other.bean();
+        if (otherBean == null || keyType != other.keyType() || !Arrays.equals(groups, other.groups())) {
+            return false;
+        }
+        return keyType == IDENTITY ? bean == otherBean : bean.equals(otherBean);
+    }
+
+    /**
+     * The key of entry
+     */
+    private interface Key {
+
+        Object bean();
+
+        KeyType keyType();
+
+        Class<?>[] groups();
+    }
+
+    /**
+     * The key for lookup, which is never stored
+     */
+    private static final class LookupKey implements Key {
+
+        private final Object bean;
+
+        private final KeyType keyType;
+
+        private final Class<?>[] groups;
+
+        private final int hash;
+
+        LookupKey(Object bean, KeyType keyType, Class<?>[] groups, int hash) {
+            this.bean = bean;
+            this.keyType = keyType;
+            this.groups = groups;
+            this.hash = hash;
+        }
+
+        @Override
+        public Object bean() {
+            return bean;
+        }
+
+        @Override
+        public KeyType keyType() {
+            return keyType;
+        }
+
+        @Override
+        public Class<?>[] groups() {
+            return groups;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && matches(bean, keyType, groups, (Key) o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The stored key references the bean weakly
+     */
+    private static final class WeakKey extends WeakReference<Object> implements Key {
+
+        private final KeyType keyType;
+
+        private final Class<?>[] groups;
+
+        private final int hash;
+
+        WeakKey(Object bean, KeyType keyType, Class<?>[] groups, int hash, ReferenceQueue<Object> queue) {
+            super(bean, queue);
+            this.keyType = keyType;
+            this.groups = groups;
+            this.hash = hash;
+        }
+
+        @Override
+        public Object bean() {
+            return get();
+        }
+
+        @Override
+        public KeyType keyType() {
+            return keyType;
+        }
+
+        @Override
+        public Class<?>[] groups() {
+            return groups;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            Object bean = get();
+            return bean != null && o instanceof Key && matches(bean, keyType, groups, (Key) o);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
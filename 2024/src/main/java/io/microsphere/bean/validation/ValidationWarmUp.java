@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedArrayType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The warm-up of validation metadata, the classes in the base packages are scanned and the metadata of the ones
+ * declaring constraint annotations, including {@link Validator#getConstraintsForClass(Class) bean descriptors} and the
+ * constraints of executables, are resolved in advance, so that the first validation of each bean doesn't pay for it.
+ * <p>
+ * The {@link ValidatorFactory} is built before the warm-up, thus the interceptors are also resolved. It's usually
+ * {@link #start() started} in background at startup, well before the first validation :
+ * <pre>{@code
+ * new ValidationWarmUp(validatorFactory, "com.acme.dto").start();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see Validator#getConstraintsForClass(Class)
+ * @since 1.0.0
+ */
+public class ValidationWarmUp {
+
+    /**
+     * The comma-separated base packages to be scanned if none is specified
+     */
+    public static final String BASE_PACKAGES_PROPERTY_NAME = "microsphere.validation.warm-up.packages";
+
+    static final String THREAD_NAME = "validation-warm-up";
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationWarmUp.class);
+
+    /**
+     * Whether the annotation type is a constraint, {@link Valid @Valid} or the container of constraints (e.g.
+     * {@link javax.validation.constraints.NotNull.List @NotNull.List})
+     */
+    private static final ClassValue<Boolean> constraintAnnotationTypes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> annotationType) {
+            if (annotationType == Valid.class || annotationType.isAnnotationPresent(Constraint.class)) {
+                return true;
+            }
+            try {
+                Class<?> valueType = annotationType.getMethod("value").getReturnType();
+                return valueType.isArray() && valueType.getComponentType().isAnnotationPresent(Constraint.class);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final Validator validator;
+
+    private final String[] basePackages;
+
+    private final ClassLoader classLoader;
+
+    public ValidationWarmUp(ValidatorFactory validatorFactory, String... basePackages) {
+        this.validator = validatorFactory.getValidator();
+        this.basePackages = basePackages.length == 0 ? resolveBasePackages() : basePackages;
+        this.classLoader = ClassUtils.getDefaultClassLoader();
+    }
+
+    private static String[] resolveBasePackages() {
+        String basePackages = System.getProperty(BASE_PACKAGES_PROPERTY_NAME, "");
+        return basePackages.isEmpty() ? new String[0] : basePackages.trim().split("\\s*,\\s*");
+    }
+
+    /**
+     * Start the warm-up in a daemon thread
+     *
+     * @return the {@link CompletableFuture} of the count of constrained classes
+     */
+    public CompletableFuture<Integer> start() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(run());
+            } catch (Throwable e) {
+                logger.warn("The validation warm-up is failed", e);
+                future.completeExceptionally(e);
+            }
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * Run the warm-up in the current thread
+     *
+     * @return the count of constrained classes
+     */
+    public int run() {
+        long startTime = System.nanoTime();
+        ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(resourcePatternResolver);
+        int scanned = 0;
+        int constrained = 0;
+        for (String basePackage : basePackages) {
+            String pattern = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
+                    ClassUtils.convertClassNameToResourcePath(basePackage) + "/**/*.class";
+            Resource[] resources;
+            try {
+                resources = resourcePatternResolver.getResources(pattern);
+            } catch (IOException e) {
+                logger.warn("The classes of package[{}] can't be scanned", basePackage, e);
+                continue;
+            }
+            for (Resource resource : resources) {
+                Class<?> beanClass = loadBeanClass(metadataReaderFactory, resource);
+                if (beanClass == null) {
+                    continue;
+                }
+                scanned++;
+                if (hasConstraintAnnotations(beanClass) && warmUp(beanClass)) {
+                    constrained++;
+                }
+            }
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("The validation warm-up of packages {} is completed : {} classes scanned, {} constrained, took {} ms",
+                    Arrays.toString(basePackages), scanned, constrained, NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        }
+        return constrained;
+    }
+
+    private boolean warmUp(Class<?> beanClass) {
+        long startTime = System.nanoTime();
+        boolean constrained;
+        try {
+            if (validator instanceof InterceptingValidator) {
+                constrained = ((InterceptingValidator) validator).warmUp(beanClass);
+            } else {
+                constrained = validator.getConstraintsForClass(beanClass).isBeanConstrained();
+            }
+        } catch (RuntimeException e) {
+            // The invalid constraint declarations will be reported by the validations
+            logger.debug("The validation metadata of {} can't be resolved", beanClass, e);
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("The validation metadata of {} is resolved, constrained : {}, took {} μs", beanClass.getName(),
+                    constrained, NANOSECONDS.toMicros(System.nanoTime() - startTime));
+        }
+        return constrained;
+    }
+
+    /**
+     * Whether the class or its super types declare any constraint or {@link Valid @Valid} annotation on the type,
+     * fields, executables, parameters or their type arguments, which is much cheaper than building the provider's
+     * metadata of the unconstrained classes, the constraints mapped by XML are not detected
+     *
+     * @param beanClass the bean class
+     * @return <code>true</code> if any
+     */
+    static boolean hasConstraintAnnotations(Class<?> beanClass) {
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (declaresConstraintAnnotations(type)) {
+                return true;
+            }
+            for (Class<?> interfaceType : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (declaresConstraintAnnotations(interfaceType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean declaresConstraintAnnotations(Class<?> type) {
+        try {
+            if (hasConstraintAnnotations(type.getAnnotations())) {
+                return true;
+            }
+            for (Field field : type.getDeclaredFields()) {
+                if (hasConstraintAnnotations(field.getAnnotations()) || hasConstraintAnnotations(field.getAnnotatedType())) {
+                    return true;
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                if (hasConstraintAnnotations(method) || hasConstraintAnnotations(method.getAnnotatedReturnType())) {
+                    return true;
+                }
+            }
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (hasConstraintAnnotations(constructor)) {
+                    return true;
+                }
+            }
+        } catch (LinkageError e) {
+            // The dependent classes are absent, let the provider decide
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean hasConstraintAnnotations(Executable executable) {
+        if (hasConstraintAnnotations(executable.getAnnotations())) {
+            return true;
+        }
+        for (Parameter parameter : executable.getParameters()) {
+            if (hasConstraintAnnotations(parameter.getAnnotations())
+                    || hasConstraintAnnotations(parameter.getAnnotatedType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param annotatedType the annotated type, whose type arguments (e.g. <code>List&lt;@NotNull String&gt;</code>)
+     *                      are inspected recursively
+     */
+    private static boolean hasConstraintAnnotations(AnnotatedType annotatedType) {
+        if (hasConstraintAnnotations(annotatedType.getAnnotations())) {
+            return true;
+        }
+        if (annotatedType instanceof AnnotatedParameterizedType) {
+            for (AnnotatedType typeArgument : ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments()) {
+                if (hasConstraintAnnotations(typeArgument)) {
+                    return true;
+                }
+            }
+        } else if (annotatedType instanceof AnnotatedArrayType) {
+            return hasConstraintAnnotations(((AnnotatedArrayType) annotatedType).getAnnotatedGenericComponentType());
+        }
+        return false;
+    }
+
+    private static boolean hasConstraintAnnotations(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (constraintAnnotationTypes.get(annotation.annotationType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Class<?> loadBeanClass(MetadataReaderFactory metadataReaderFactory, Resource resource) {
+        String className = null;
+        try {
+            ClassMetadata classMetadata = metadataReaderFactory.getMetadataReader(resource).getClassMetadata();
+            if (classMetadata.isInterface() || classMetadata.isAnnotation()) {
+                return null;
+            }
+            className = classMetadata.getClassName();
+            return ClassUtils.forName(className, classLoader);
+        } catch (Throwable e) {
+            logger.debug("The class[{}] can't be loaded from {}", className, resource, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * The constraint violation materialized from {@link ViolationReport}, the property path, constraint and messages
+ * are shared with the other records.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ViolationReport
+ * @see ConstraintViolation
+ * @since 1.0.0
+ */
+public final class ViolationRecord {
+
+    private final int index;
+
+    private final String propertyPath;
+
+    private final ConstraintDescriptor<?> constraintDescriptor;
+
+    private final String messageTemplate;
+
+    private final String message;
+
+    ViolationRecord(int index, String propertyPath, ConstraintDescriptor<?> constraintDescriptor,
+                    String messageTemplate, String message) {
+        this.index = index;
+        this.propertyPath = propertyPath;
+        this.constraintDescriptor = constraintDescriptor;
+        this.messageTemplate = messageTemplate;
+        this.message = message;
+    }
+
+    /**
+     * @return the index of bean in batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the string representation of {@link ConstraintViolation#getPropertyPath()}
+     */
+    public String getPropertyPath() {
+        return propertyPath;
+    }
+
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return constraintDescriptor;
+    }
+
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    /**
+     * @return the interpolated message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "ViolationRecord{" +
+                "index=" + index +
+                ", propertyPath='" + propertyPath + '\'' +
+                ", constraint=@" + constraintDescriptor.getAnnotation().annotationType().getSimpleName() +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
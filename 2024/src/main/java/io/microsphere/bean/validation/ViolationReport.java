@@ -0,0 +1,579 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.copyOf;
+
+/**
+ * The compact report of the constraint violations for the large batch validation, which is specified by
+ * {@link BatchValidationOptions#violationReport(ViolationReport)}.
+ * <p>
+ * Each violation is recorded as a tuple of primitive ints (bean index, property path id, constraint id, message id),
+ * the property paths and {@link ConstraintDescriptor constraints} are interned, the beans, the validated values and
+ * the {@link ConstraintViolation} objects are not retained. The tuples are buffered in the int arrays, and they are
+ * spilled to a temporary file once the buffered ones reach the threshold, which could be changed by the System
+ * Property {@value #SPILL_THRESHOLD_PROPERTY_NAME}, defaults to {@value #DEFAULT_SPILL_THRESHOLD}.
+ * <p>
+ * The messages are interned with their templates per constraint, up to {@value #MAX_MESSAGES_PER_CONSTRAINT} distinct
+ * ones. The others, whose templates embed the validated values (e.g. "${validatedValue}") in practice, are appended
+ * to a message log, which is spilled to another temporary file once its buffered characters take as much memory as the
+ * buffered tuples at the threshold, thus the heap usage is bounded regardless of the messages.
+ * <p>
+ * The {@link ViolationRecord ViolationRecords} are materialized {@link #getViolations(long, int) per page}, and the
+ * {@link ConstraintViolation ConstraintViolations} of a page could be materialized by revalidating its beans.
+ * The report should be {@link #close() closed} to delete the temporary file.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidationOptions#violationReport(ViolationReport)
+ * @see ViolationRecord
+ * @since 1.0.0
+ */
+public final class ViolationReport implements Closeable {
+
+    public static final String SPILL_THRESHOLD_PROPERTY_NAME = "microsphere.validation.report.spill-threshold";
+
+    /**
+     * The default number of the buffered violations
+     */
+    public static final int DEFAULT_SPILL_THRESHOLD = 1 << 20;
+
+    /**
+     * The number of ints per violation
+     */
+    static final int RECORD_INTS = 4;
+
+    static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+
+    /**
+     * The number of violations per buffer block
+     */
+    private static final int BLOCK_RECORDS = 1 << 12;
+
+    private static final int BLOCK_INTS = BLOCK_RECORDS * RECORD_INTS;
+
+    /**
+     * The max number of the interned messages per constraint
+     */
+    static final int MAX_MESSAGES_PER_CONSTRAINT = 16;
+
+    private final int spillThreshold;
+
+    private final Path spillDirectory;
+
+    private final Interner<String> propertyPaths = new Interner<>();
+
+    private final Interner<ConstraintDescriptor<?>> constraints = new Interner<>();
+
+    private final Interner<String> messageTemplates = new Interner<>();
+
+    /**
+     * The interned messages with their template ids and constraint ids
+     */
+    private final Interner<Message> messages = new Interner<>();
+
+    /**
+     * The messages beyond the interned ones
+     */
+    private final MessageLog messageLog = new MessageLog();
+
+    /**
+     * The number of violations per constraint id
+     */
+    private long[] constraintCounts = new long[16];
+
+    /**
+     * The number of interned messages per constraint id
+     */
+    private int[] constraintMessageCounts = new int[16];
+
+    private final List<int[]> blocks = new ArrayList<>();
+
+    /**
+     * The number of the buffered violations
+     */
+    private int bufferedCount;
+
+    /**
+     * The number of the spilled violations
+     */
+    private long spilledCount;
+
+    private int invalidCount;
+
+    private Path spillFile;
+
+    private FileChannel spillChannel;
+
+    private boolean closed;
+
+    public ViolationReport() {
+        this(Integer.getInteger(SPILL_THRESHOLD_PROPERTY_NAME, DEFAULT_SPILL_THRESHOLD), null);
+    }
+
+    /**
+     * @param spillThreshold the max number of the buffered violations, must be positive
+     * @param spillDirectory the directory of the temporary file, or <code>null</code> for "java.io.tmpdir"
+     */
+    public ViolationReport(int spillThreshold, Path spillDirectory) {
+        if (spillThreshold < 1) {
+            throw new IllegalArgumentException("The spill threshold must be positive : " + spillThreshold);
+        }
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = spillDirectory == null ? Paths.get(System.getProperty("java.io.tmpdir")) : spillDirectory;
+    }
+
+    /**
+     * Record the constraint violations of a bean
+     *
+     * @param index                the index of bean
+     * @param constraintViolations the constraint violations of bean
+     * @param <T>                  the type of bean
+     */
+    public synchronized <T> void record(int index, Set<ConstraintViolation<T>> constraintViolations) {
+        assertNotClosed();
+        if (constraintViolations.isEmpty()) {
+            return;
+        }
+        for (ConstraintViolation<T> constraintViolation : constraintViolations) {
+            int constraintId = constraints.intern(constraintViolation.getConstraintDescriptor());
+            if (constraintId == constraintCounts.length) {
+                constraintCounts = copyOf(constraintCounts, constraintId << 1);
+                constraintMessageCounts = copyOf(constraintMessageCounts, constraintId << 1);
+            }
+            constraintCounts[constraintId]++;
+            append(index, propertyPaths.intern(constraintViolation.getPropertyPath().toString()), constraintId,
+                    messageId(constraintId, constraintViolation.getMessageTemplate(), constraintViolation.getMessage()));
+        }
+        invalidCount++;
+    }
+
+    /**
+     * @return the id of interned message if non-negative, or the negative ordinal of logged message minus one
+     */
+    private int messageId(int constraintId, String messageTemplate, String message) {
+        Message interned = new Message(constraintId, messageTemplates.intern(messageTemplate), message);
+        int messageId = messages.indexOf(interned);
+        if (messageId > -1) {
+            return messageId;
+        }
+        if (constraintMessageCounts[constraintId] < MAX_MESSAGES_PER_CONSTRAINT) {
+            constraintMessageCounts[constraintId]++;
+            return messages.intern(interned);
+        }
+        return -1 - messageLog.append(interned.templateId, message);
+    }
+
+    private void append(int index, int propertyPathId, int constraintId, int messageId) {
+        if (bufferedCount == spillThreshold) {
+            spill();
+        }
+        int blockIndex = bufferedCount / BLOCK_RECORDS;
+        if (blockIndex == blocks.size()) {
+            blocks.add(new int[BLOCK_INTS]);
+        }
+        int[] block = blocks.get(blockIndex);
+        int offset = (bufferedCount % BLOCK_RECORDS) * RECORD_INTS;
+        block[offset] = index;
+        block[offset + 1] = propertyPathId;
+        block[offset + 2] = constraintId;
+        block[offset + 3] = messageId;
+        bufferedCount++;
+    }
+
+    /**
+     * Spill the buffered violations to the end of temporary file, and keep the first block for reuse
+     */
+    private void spill() {
+        try {
+            if (spillChannel == null) {
+                spillFile = Files.createTempFile(spillDirectory, "violation-report-", ".bin");
+                spillChannel = FileChannel.open(spillFile, READ, WRITE, DELETE_ON_CLOSE);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(BLOCK_INTS * Integer.BYTES);
+            long position = spilledCount * RECORD_BYTES;
+            int remaining = bufferedCount;
+            for (int[] block : blocks) {
+                int records = min(remaining, BLOCK_RECORDS);
+                buffer.clear();
+                buffer.asIntBuffer().put(block, 0, records * RECORD_INTS);
+                buffer.limit(records * RECORD_BYTES);
+                while (buffer.hasRemaining()) {
+                    position += spillChannel.write(buffer, position);
+                }
+                remaining -= records;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The violations can't be spilled into " + spillDirectory, e);
+        }
+        int[] firstBlock = blocks.get(0);
+        blocks.clear();
+        blocks.add(firstBlock);
+        spilledCount += bufferedCount;
+        bufferedCount = 0;
+    }
+
+    /**
+     * Get a page of the violations in the recorded order
+     *
+     * @param offset the offset of the first violation
+     * @param limit  the max number of the violations
+     * @return the read-only {@link List}
+     */
+    public synchronized List<ViolationRecord> getViolations(long offset, int limit) {
+        assertNotClosed();
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("The offset and limit must not be negative : " + offset + " , " + limit);
+        }
+        long end = min(size(), offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<ViolationRecord> records = new ArrayList<>((int) (end - offset));
+        long position = offset;
+        if (position < spilledCount) {
+            long spilledEnd = min(end, spilledCount);
+            readSpilled(position, (int) (spilledEnd - position), records);
+            position = spilledEnd;
+        }
+        for (; position < end; position++) {
+            int bufferedIndex = (int) (position - spilledCount);
+            int[] block = blocks.get(bufferedIndex / BLOCK_RECORDS);
+            int blockOffset = (bufferedIndex % BLOCK_RECORDS) * RECORD_INTS;
+            records.add(newRecord(block[blockOffset], block[blockOffset + 1], block[blockOffset + 2],
+                    block[blockOffset + 3]));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    private void readSpilled(long position, int count, List<ViolationRecord> records) {
+        ByteBuffer buffer = ByteBuffer.allocate(count * RECORD_BYTES);
+        long filePosition = position * RECORD_BYTES;
+        try {
+            while (buffer.hasRemaining()) {
+                int read = spillChannel.read(buffer, filePosition + buffer.position());
+                if (read < 0) {
+                    throw new IOException("The end of file is reached unexpectedly : " + spillFile);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The violations can't be read from " + spillFile, e);
+        }
+        buffer.flip();
+        IntBuffer ints = buffer.asIntBuffer();
+        for (int i = 0; i < count; i++) {
+            records.add(newRecord(ints.get(), ints.get(), ints.get(), ints.get()));
+        }
+    }
+
+    private ViolationRecord newRecord(int index, int propertyPathId, int constraintId, int messageId) {
+        Message message = messageId > -1 ? messages.get(messageId) : messageLog.get(-1 - messageId);
+        return new ViolationRecord(index, propertyPaths.get(propertyPathId), constraints.get(constraintId),
+                messageTemplates.get(message.templateId), message.message);
+    }
+
+    /**
+     * Materialize the {@link ConstraintViolation ConstraintViolations} of the beans in a page by revalidating them
+     *
+     * @param records   the page of {@link ViolationRecord ViolationRecords}
+     * @param beans     the beans of batch
+     * @param validator {@link Validator}
+     * @param groups    the groups of batch
+     * @param <T>       the type of beans
+     * @return the violations of the beans in the page with the key of bean index
+     */
+    public static <T> SortedMap<Integer, Set<ConstraintViolation<T>>> materialize(List<ViolationRecord> records,
+                                                                                    List<T> beans, Validator validator,
+                                                                                    Class<?>... groups) {
+        SortedMap<Integer, Set<ConstraintViolation<T>>> violations = new TreeMap<>();
+        for (ViolationRecord record : records) {
+            int index = record.getIndex();
+            if (!violations.containsKey(index)) {
+                violations.put(index, validator.validate(beans.get(index), groups));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @return the number of the recorded violations
+     */
+    public synchronized long size() {
+        return spilledCount + bufferedCount;
+    }
+
+    /**
+     * @return the number of the spilled violations
+     */
+    public synchronized long getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * @return the number of the invalid beans
+     */
+    public synchronized int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Get the number of violations per constraint annotation type
+     *
+     * @return the read-only {@link Map}
+     */
+    public synchronized Map<Class<? extends Annotation>, Long> getConstraintCounts() {
+        Map<Class<? extends Annotation>, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < constraints.size(); i++) {
+            counts.merge(constraints.get(i).getAnnotation().annotationType(), constraintCounts[i], Long::sum);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Delete the temporary file and release the buffers, the report can't be used anymore
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        blocks.clear();
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The temporary file can't be deleted : " + spillFile, e);
+        } finally {
+            messageLog.close();
+        }
+    }
+
+    private void assertNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("The report has been closed");
+        }
+    }
+
+    /**
+     * The interned values with the sequential ids
+     */
+    private static final class Interner<V> {
+
+        private final Map<V, Integer> ids = new HashMap<>();
+
+        private final List<V> values = new ArrayList<>();
+
+        int indexOf(V value) {
+            Integer id = ids.get(value);
+            return id == null ? -1 : id;
+        }
+
+        int intern(V value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        V get(int id) {
+            return values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * The message with its template id, and its constraint id if interned
+     */
+    private static final class Message {
+
+        private final int constraintId;
+
+        private final int templateId;
+
+        private final String message;
+
+        private final int hash;
+
+        Message(int constraintId, int templateId, String message) {
+            this.constraintId = constraintId;
+            this.templateId = templateId;
+            this.message = message;
+            this.hash = 31 * (31 * constraintId + templateId) + message.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Message)) {
+                return false;
+            }
+            Message that = (Message) o;
+            return constraintId == that.constraintId && templateId == that.templateId && message.equals(that.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The append-only log of the messages with the sequential ordinals, the buffered ones are spilled to the end of
+     * temporary file as (template id, length, UTF-8 bytes), and the file positions of every
+     * {@value #CHECKPOINT_INTERVAL} messages are kept for the random reads
+     */
+    private final class MessageLog {
+
+        private static final int CHECKPOINT_INTERVAL = 1 << 10;
+
+        private final List<Message> buffered = new ArrayList<>();
+
+        private long bufferedChars;
+
+        private int spilledCount;
+
+        private long[] checkpoints = new long[16];
+
+        private long fileSize;
+
+        private FileChannel channel;
+
+        int append(int templateId, String message) {
+            int ordinal = spilledCount + buffered.size();
+            if (ordinal == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many messages are logged");
+            }
+            buffered.add(new Message(-1, templateId, message));
+            bufferedChars += message.length();
+            // The chars take 2 bytes at most
+            if (bufferedChars * 2 >= (long) spillThreshold * RECORD_BYTES) {
+                spill();
+            }
+            return ordinal;
+        }
+
+        private void spill() {
+            try {
+                if (channel == null) {
+                    channel = FileChannel.open(Files.createTempFile(spillDirectory, "violation-messages-", ".bin"),
+                            READ, WRITE, DELETE_ON_CLOSE);
+                }
+                for (Message message : buffered) {
+                    int ordinal = spilledCount++;
+                    if (ordinal % CHECKPOINT_INTERVAL == 0) {
+                        int checkpoint = ordinal / CHECKPOINT_INTERVAL;
+                        if (checkpoint == checkpoints.length) {
+                            checkpoints = copyOf(checkpoints, checkpoint << 1);
+                        }
+                        checkpoints[checkpoint] = fileSize;
+                    }
+                    byte[] bytes = message.message.getBytes(UTF_8);
+                    ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + bytes.length);
+                    buffer.putInt(message.templateId).putInt(bytes.length).put(bytes).flip();
+                    while (buffer.hasRemaining()) {
+                        fileSize += channel.write(buffer, fileSize);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("The messages can't be spilled into " + spillDirectory, e);
+            }
+            buffered.clear();
+            bufferedChars = 0;
+        }
+
+        Message get(int ordinal) {
+            if (ordinal >= spilledCount) {
+                return buffered.get(ordinal - spilledCount);
+            }
+            try {
+                ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES);
+                long position = checkpoints[ordinal / CHECKPOINT_INTERVAL];
+                for (int skipped = ordinal % CHECKPOINT_INTERVAL; ; skipped--) {
+                    header.clear();
+                    read(header, position);
+                    int templateId = header.getInt(0);
+                    int length = header.getInt(Integer.BYTES);
+                    position += header.capacity();
+                    if (skipped == 0) {
+                        ByteBuffer bytes = ByteBuffer.allocate(length);
+                        read(bytes, position);
+                        return new Message(-1, templateId, new String(bytes.array(), UTF_8));
+                    }
+                    position += length;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("The messages can't be read from the temporary file", e);
+            }
+        }
+
+        private void read(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("The end of file is reached unexpectedly");
+                }
+            }
+        }
+
+        void close() {
+            buffered.clear();
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("The temporary file of messages can't be deleted", e);
+                }
+            }
+        }
+    }
+}
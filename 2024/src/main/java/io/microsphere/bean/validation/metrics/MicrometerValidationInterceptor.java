@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.metrics;
+
+import io.microsphere.bean.validation.AroundValidationInterceptor;
+import io.microsphere.bean.validation.BatchValidationResult;
+import io.microsphere.bean.validation.ValidationEntryPoint;
+import io.microsphere.bean.validation.ValidationInvocation;
+import io.microsphere.bean.validation.ViolationReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import javax.validation.ConstraintViolation;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Set;
+
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_BATCH;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@link AroundValidationInterceptor} records the metrics of validation into Micrometer {@link MeterRegistry} :
+ * <ul>
+ *     <li>{@value #DURATION_METRIC_NAME} : {@link Timer} per bean type and entry point</li>
+ *     <li>{@value #VIOLATIONS_METRIC_NAME} : {@link Counter} per constraint annotation</li>
+ *     <li>{@value #ERRORS_METRIC_NAME} : {@link Counter} per bean type, entry point and error type</li>
+ * </ul>
+ * The meters of a bean type are registered once at its first validation and cached per class, and the start time is
+ * a local variable around {@link ValidationInvocation#proceed()}, thus the recording is allocation-free without any
+ * per-thread state.
+ * <p>
+ * The {@link Metrics#globalRegistry global registry} is used by default, which is bound with the registries of
+ * Spring Boot Actuator (exposed by "/actuator/metrics"). It's registered in
+ * "META-INF/services/io.microsphere.bean.validation.AroundValidationInterceptor".
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see AroundValidationInterceptor
+ * @see MeterRegistry
+ * @since 1.0.0
+ */
+public class MicrometerValidationInterceptor implements AroundValidationInterceptor {
+
+    public static final String DURATION_METRIC_NAME = "validation.duration";
+
+    public static final String VIOLATIONS_METRIC_NAME = "validation.violations";
+
+    public static final String ERRORS_METRIC_NAME = "validation.errors";
+
+    public static final String TYPE_TAG_NAME = "type";
+
+    public static final String ENTRY_POINT_TAG_NAME = "entrypoint";
+
+    public static final String CONSTRAINT_TAG_NAME = "constraint";
+
+    public static final String EXCEPTION_TAG_NAME = "exception";
+
+    /**
+     * The bean type of {@link ValidationEntryPoint#VALIDATE_BATCH batch validation} is unknown
+     */
+    static final String BATCH_TYPE_TAG_VALUE = "batch";
+
+    private static final ValidationEntryPoint[] ENTRY_POINTS = ValidationEntryPoint.values();
+
+    private final MeterRegistry registry;
+
+    private final ClassValue<Timer[]> timers = new ClassValue<Timer[]>() {
+        @Override
+        protected Timer[] computeValue(Class<?> beanType) {
+            return registerTimers(beanType.getName());
+        }
+    };
+
+    private final ClassValue<Counter> violationCounters = new ClassValue<Counter>() {
+        @Override
+        protected Counter computeValue(Class<?> constraintType) {
+            return Counter.builder(VIOLATIONS_METRIC_NAME)
+                    .description("The count of constraint violations")
+                    .tag(CONSTRAINT_TAG_NAME, constraintType.getName())
+                    .register(registry);
+        }
+    };
+
+    private final Timer batchTimer;
+
+    public MicrometerValidationInterceptor() {
+        this(Metrics.globalRegistry);
+    }
+
+    public MicrometerValidationInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+        this.batchTimer = registerTimer(BATCH_TYPE_TAG_VALUE, VALIDATE_BATCH);
+    }
+
+    @Override
+    public <R> R around(ValidationInvocation<R> invocation) {
+        long startTime = System.nanoTime();
+        R result = null;
+        Throwable error = null;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            record(invocation, result, error, System.nanoTime() - startTime);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(ValidationInvocation<?> invocation, Object result, Throwable error, long duration) {
+        ValidationEntryPoint entryPoint = invocation.getEntryPoint();
+        if (entryPoint == VALIDATE_BATCH) {
+            recordBatch((BatchValidationResult<?>) result, error, duration);
+            return;
+        }
+        Class<?> beanType = getBeanType(invocation);
+        timers.get(beanType)[entryPoint.ordinal()].record(duration, NANOSECONDS);
+        countViolations((Collection<? extends ConstraintViolation<?>>) result);
+        if (error != null) {
+            countError(beanType.getName(), entryPoint, error);
+        }
+    }
+
+    private <T> void recordBatch(BatchValidationResult<T> result, Throwable error, long duration) {
+        batchTimer.record(duration, NANOSECONDS);
+        if (result != null) {
+            ViolationReport violationReport = result.getViolationReport();
+            if (violationReport != null) {
+                violationReport.getConstraintCounts().forEach((constraintType, count) ->
+                        violationCounters.get(constraintType).increment(count));
+            }
+            for (Set<ConstraintViolation<T>> constraintViolations : result.getViolations().values()) {
+                countViolations(constraintViolations);
+            }
+        }
+        if (error != null) {
+            countError(BATCH_TYPE_TAG_VALUE, VALIDATE_BATCH, error);
+        }
+    }
+
+    /**
+     * The runtime type of object takes precedence over the declaring class of method, the null object is rejected by
+     * the provider, whose error is tagged with the placeholder type {@link Void}
+     */
+    private static Class<?> getBeanType(ValidationInvocation<?> invocation) {
+        Object object = invocation.getObject();
+        if (object != null) {
+            return object.getClass();
+        }
+        Class<?> beanType = invocation.getBeanType();
+        return beanType == null ? Void.class : beanType;
+    }
+
+    private void countViolations(Collection<? extends ConstraintViolation<?>> constraintViolations) {
+        if (constraintViolations == null || constraintViolations.isEmpty()) {
+            return;
+        }
+        for (ConstraintViolation<?> constraintViolation : constraintViolations) {
+            Annotation constraint = constraintViolation.getConstraintDescriptor().getAnnotation();
+            violationCounters.get(constraint.annotationType()).increment();
+        }
+    }
+
+    private void countError(String type, ValidationEntryPoint entryPoint, Throwable error) {
+        // The errors are rare, thus the meter is looked up from the registry
+        Counter.builder(ERRORS_METRIC_NAME)
+                .description("The count of validation errors")
+                .tag(TYPE_TAG_NAME, type)
+                .tag(ENTRY_POINT_TAG_NAME, entryPoint.getMethodName())
+                .tag(EXCEPTION_TAG_NAME, error.getClass().getName())
+                .register(registry)
+                .increment();
+    }
+
+    private Timer[] registerTimers(String type) {
+        Timer[] timers = new Timer[ENTRY_POINTS.length];
+        for (ValidationEntryPoint entryPoint : ENTRY_POINTS) {
+            if (entryPoint != VALIDATE_BATCH) {
+                timers[entryPoint.ordinal()] = registerTimer(type, entryPoint);
+            }
+        }
+        return timers;
+    }
+
+    private Timer registerTimer(String type, ValidationEntryPoint entryPoint) {
+        return Timer.builder(DURATION_METRIC_NAME)
+                .description("The duration of validation")
+                .tag(TYPE_TAG_NAME, type)
+                .tag(ENTRY_POINT_TAG_NAME, entryPoint.getMethodName())
+                .register(registry);
+    }
+}
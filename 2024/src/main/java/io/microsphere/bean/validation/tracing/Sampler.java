@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The sampler decides whether a top-level validation is traced or not, the nested validations and constraint
+ * validators of a sampled one are always traced.
+ * <p>
+ * The implementation must be thread-safe and cheap, because it's invoked by every top-level validation.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see TracingValidationInterceptor
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface Sampler {
+
+    /**
+     * @return <code>true</code> if the current validation should be traced
+     */
+    boolean sample();
+
+    /**
+     * @return the {@link Sampler} traces all validations
+     */
+    static Sampler always() {
+        return () -> true;
+    }
+
+    /**
+     * @return the {@link Sampler} traces nothing
+     */
+    static Sampler never() {
+        return () -> false;
+    }
+
+    /**
+     * The {@link Sampler} traces one in <code>interval</code> validations on average, the decision is made by the
+     * {@link ThreadLocalRandom}, thus there is no shared counter among threads.
+     *
+     * @param interval the interval of sampling, must be positive
+     * @return non-null
+     */
+    static Sampler oneIn(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("The sampling interval must be positive : " + interval);
+        }
+        if (interval == 1) {
+            return always();
+        }
+        return () -> ThreadLocalRandom.current().nextInt(interval) == 0;
+    }
+
+    /**
+     * The {@link Sampler} traces the validations at the given rate
+     *
+     * @param rate the rate of sampling in [0, 1]
+     * @return non-null
+     */
+    static Sampler rate(double rate) {
+        if (rate < 0.0d || rate > 1.0d) {
+            throw new IllegalArgumentException("The sampling rate must be in [0, 1] : " + rate);
+        }
+        if (rate == 0.0d) {
+            return never();
+        }
+        if (rate == 1.0d) {
+            return always();
+        }
+        return () -> ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
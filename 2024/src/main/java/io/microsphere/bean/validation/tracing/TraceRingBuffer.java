@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The lock-free and bounded ring buffer of {@link ValidationTrace ValidationTraces}, the oldest ones are overwritten
+ * when it's full.
+ * <p>
+ * The slot is claimed by an atomic cursor, thus the writers never block each other, and the snapshot is weakly
+ * consistent, which may miss the traces published during the copying.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationTrace
+ * @since 1.0.0
+ */
+final class TraceRingBuffer {
+
+    private final AtomicReferenceArray<ValidationTrace> slots;
+
+    private final int mask;
+
+    private final AtomicLong cursor = new AtomicLong();
+
+    TraceRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive : " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(ValidationTrace trace) {
+        slots.set((int) (cursor.getAndIncrement() & mask), trace);
+    }
+
+    /**
+     * @return the snapshot of traces, the newest first
+     */
+    List<ValidationTrace> snapshot() {
+        int size = slots.length();
+        List<ValidationTrace> traces = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ValidationTrace trace = slots.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        traces.sort((a, b) -> Long.compare(b.getSequence(), a.getSequence()));
+        return traces;
+    }
+
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import io.microsphere.bean.validation.tracing.ValidationTracer.Recording;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidator;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorInitializationContext;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+
+import static io.microsphere.bean.validation.ConstraintValidatorContextUtils.getPropertyPath;
+
+/**
+ * {@link ConstraintValidator} records the execution of the delegate into the current trace if any.
+ * <p>
+ * It implements {@link HibernateConstraintValidator}, because Hibernate Validator only initializes the
+ * {@link HibernateConstraintValidator} with the {@link ConstraintDescriptor}, both initializations are forwarded to
+ * the delegate as the provider does.
+ *
+ * @param <A> the type of constraint annotation
+ * @param <T> the type of validated value
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ConstraintValidator
+ * @since 1.0.0
+ */
+final class TracingConstraintValidator<A extends Annotation, T> implements HibernateConstraintValidator<A, T> {
+
+    final ConstraintValidator<A, T> delegate;
+
+    /**
+     * The class of requested validator, the delegate may be a proxy
+     */
+    private final Class<?> validatorClass;
+
+    private final ValidationTracer tracer;
+
+    private Class<? extends Annotation> constraintType = Annotation.class;
+
+    @SuppressWarnings("unchecked")
+    TracingConstraintValidator(ConstraintValidator<?, ?> delegate, Class<?> validatorClass, ValidationTracer tracer) {
+        this.delegate = (ConstraintValidator<A, T>) delegate;
+        this.validatorClass = validatorClass;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void initialize(ConstraintDescriptor<A> constraintDescriptor,
+                           HibernateConstraintValidatorInitializationContext initializationContext) {
+        if (delegate instanceof HibernateConstraintValidator) {
+            ((HibernateConstraintValidator<A, T>) delegate).initialize(constraintDescriptor, initializationContext);
+        }
+    }
+
+    @Override
+    public void initialize(A constraintAnnotation) {
+        this.constraintType = constraintAnnotation.annotationType();
+        delegate.initialize(constraintAnnotation);
+    }
+
+    @Override
+    public boolean isValid(T value, ConstraintValidatorContext context) {
+        Recording recording = tracer.currentRecording();
+        if (recording == null) {
+            return delegate.isValid(value, context);
+        }
+        long startOffset = recording.offset();
+        boolean valid = false;
+        Throwable error = null;
+        try {
+            valid = delegate.isValid(value, context);
+            return valid;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            recording.recordConstraint(getPropertyPath(context), constraintType, validatorClass, startOffset,
+                    valid, error);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorFactory;
+
+/**
+ * {@link ConstraintValidatorFactory} decorates the {@link ConstraintValidator ConstraintValidators} to be traced
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see TracingConstraintValidator
+ * @since 1.0.0
+ */
+final class TracingConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+    private final ConstraintValidatorFactory delegate;
+
+    final ValidationTracer tracer;
+
+    TracingConstraintValidatorFactory(ConstraintValidatorFactory delegate, ValidationTracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+        T constraintValidator = delegate.getInstance(key);
+        if (constraintValidator == null) {
+            return null;
+        }
+        // The instance is only used as ConstraintValidator by the provider
+        return (T) new TracingConstraintValidator<>(constraintValidator, key, tracer);
+    }
+
+    @Override
+    public void releaseInstance(ConstraintValidator<?, ?> instance) {
+        if (instance instanceof TracingConstraintValidator) {
+            delegate.releaseInstance(((TracingConstraintValidator<?, ?>) instance).delegate);
+        } else {
+            delegate.releaseInstance(instance);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import io.microsphere.bean.validation.BatchValidationOptions;
+import io.microsphere.bean.validation.BatchValidationResult;
+import io.microsphere.bean.validation.ConstraintValidatorFactoryCustomizer;
+import io.microsphere.bean.validation.ValidationInterceptor;
+
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.ConstraintViolation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_BATCH;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_CONSTRUCTOR_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PARAMETERS;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_PROPERTY;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_RETURN_VALUE;
+import static io.microsphere.bean.validation.ValidationEntryPoint.VALIDATE_VALUE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link ValidationInterceptor} traces the sampled validations, each trace is a tree of {@link ValidationSpan spans}
+ * from the validation entry point, the (cascaded) property paths, to the executions of constraint validators.
+ * <p>
+ * The completed traces are kept in the bounded ring buffers, the slow ones are kept separately and logged at WARN
+ * level, which could be exposed by {@link ValidationTraceEndpoint}. The unsampled validations are almost free, they
+ * don't allocate or look up any {@link ThreadLocal}, as long as no other thread is recording.
+ * <p>
+ * The default settings could be changed by the System Properties :
+ * <ul>
+ *     <li>{@value #SAMPLING_RATE_PROPERTY_NAME} : the rate of sampling, defaults to {@value #DEFAULT_SAMPLING_RATE}</li>
+ *     <li>{@value #SAMPLING_INTERVAL_PROPERTY_NAME} : traces one in N validations, overrides the rate if present</li>
+ *     <li>{@value #SLOW_THRESHOLD_PROPERTY_NAME} : the slow threshold in milliseconds, defaults to
+ *     {@value #DEFAULT_SLOW_THRESHOLD}</li>
+ *     <li>{@value #BUFFER_SIZE_PROPERTY_NAME} : the capacity of ring buffers, defaults to {@value #DEFAULT_BUFFER_SIZE}</li>
+ * </ul>
+ * Registers this class into "META-INF/services/io.microsphere.bean.validation.ValidationInterceptor" to enable it.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationInterceptor
+ * @see ConstraintValidatorFactoryCustomizer
+ * @see Sampler
+ * @since 1.0.0
+ */
+public class TracingValidationInterceptor implements ValidationInterceptor, ConstraintValidatorFactoryCustomizer {
+
+    public static final String SAMPLING_RATE_PROPERTY_NAME = "microsphere.validation.tracing.sampling-rate";
+
+    public static final String SAMPLING_INTERVAL_PROPERTY_NAME = "microsphere.validation.tracing.sampling-interval";
+
+    public static final String SLOW_THRESHOLD_PROPERTY_NAME = "microsphere.validation.tracing.slow-threshold";
+
+    public static final String BUFFER_SIZE_PROPERTY_NAME = "microsphere.validation.tracing.buffer-size";
+
+    public static final double DEFAULT_SAMPLING_RATE = 0.01d;
+
+    public static final long DEFAULT_SLOW_THRESHOLD = 100L;
+
+    public static final int DEFAULT_BUFFER_SIZE = 128;
+
+    private final ValidationTracer tracer;
+
+    public TracingValidationInterceptor() {
+        this(resolveSampler(), Long.getLong(SLOW_THRESHOLD_PROPERTY_NAME, DEFAULT_SLOW_THRESHOLD), MILLISECONDS);
+    }
+
+    public TracingValidationInterceptor(Sampler sampler, long slowThreshold, TimeUnit timeUnit) {
+        this.tracer = new ValidationTracer(sampler, timeUnit.toNanos(slowThreshold));
+    }
+
+    private static Sampler resolveSampler() {
+        Integer interval = Integer.getInteger(SAMPLING_INTERVAL_PROPERTY_NAME);
+        if (interval != null) {
+            return Sampler.oneIn(interval);
+        }
+        String rate = System.getProperty(SAMPLING_RATE_PROPERTY_NAME);
+        return Sampler.rate(rate == null ? DEFAULT_SAMPLING_RATE : Double.parseDouble(rate));
+    }
+
+    /**
+     * @return the recent traces, the newest first
+     */
+    public static List<ValidationTrace> getRecentTraces() {
+        return ValidationTracer.getRecentTraces();
+    }
+
+    /**
+     * @return the recent slow traces, the newest first
+     */
+    public static List<ValidationTrace> getSlowTraces() {
+        return ValidationTracer.getSlowTraces();
+    }
+
+    /**
+     * Clear all traces
+     */
+    public static void clearTraces() {
+        ValidationTracer.clearTraces();
+    }
+
+    @Override
+    public ConstraintValidatorFactory customize(ConstraintValidatorFactory constraintValidatorFactory) {
+        if (constraintValidatorFactory instanceof TracingConstraintValidatorFactory
+                && ((TracingConstraintValidatorFactory) constraintValidatorFactory).tracer == tracer) {
+            return constraintValidatorFactory;
+        }
+        return new TracingConstraintValidatorFactory(constraintValidatorFactory, tracer);
+    }
+
+    @Override
+    public <T> void beforeValidate(T object, Class<?>... groups) {
+        tracer.startSpan(VALIDATE, object == null ? null : object.getClass(), null);
+    }
+
+    @Override
+    public <T> void afterValidate(T object, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateProperty(T object, String propertyName, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_PROPERTY, object == null ? null : object.getClass(), propertyName);
+    }
+
+    @Override
+    public <T> void afterValidateProperty(T object, String propertyName, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateValue(Class<T> beanType, String propertyName, Object value, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_VALUE, beanType, propertyName);
+    }
+
+    @Override
+    public <T> void afterValidateValue(Class<T> beanType, String propertyName, Object value, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateParameters(T object, Method method, Object[] parameterValues, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_PARAMETERS, method.getDeclaringClass(), method.getName());
+    }
+
+    @Override
+    public <T> void afterValidateParameters(T object, Method method, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateReturnValue(T object, Method method, Object returnValue, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_RETURN_VALUE, method.getDeclaringClass(), method.getName());
+    }
+
+    @Override
+    public <T> void afterValidateReturnValue(T object, Method method, Object returnValue, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_CONSTRUCTOR_PARAMETERS, constructor.getDeclaringClass(), "<init>");
+    }
+
+    @Override
+    public <T> void afterValidateConstructorParameters(Constructor<? extends T> constructor, Object[] parameterValues, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public <T> void beforeValidateConstructorReturnValue(Constructor<? extends T> constructor, Object createdObject, Class<?>... groups) {
+        tracer.startSpan(VALIDATE_CONSTRUCTOR_RETURN_VALUE, constructor.getDeclaringClass(), "<init>");
+    }
+
+    @Override
+    public <T> void afterValidateConstructorReturnValue(Constructor<? extends T> constructor, Object createdObject, Set<ConstraintViolation<T>> constraintViolations, Throwable error, Class<?>... groups) {
+        tracer.endSpan(size(constraintViolations), error);
+    }
+
+    @Override
+    public void beforeValidateBatch(BatchValidationOptions options) {
+        tracer.startSpan(VALIDATE_BATCH, null, null);
+    }
+
+    @Override
+    public <T> void afterValidateBatch(BatchValidationOptions options, BatchValidationResult<T> result, Throwable error) {
+        tracer.endSpan(result == null ? -1 : result.getInvalidCount(), error);
+    }
+
+    private static int size(Set<?> constraintViolations) {
+        return constraintViolations == null ? -1 : constraintViolations.size();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The span of a traced validation, the tree of spans is :
+ * <ul>
+ *     <li>{@link Kind#VALIDATION} : the validation entry point, e.g. the root bean or the nested validation</li>
+ *     <li>{@link Kind#PROPERTY} : the (cascaded) property path under validation</li>
+ *     <li>{@link Kind#CONSTRAINT} : the execution of a constraint validator</li>
+ * </ul>
+ * The span is only mutated by the recording thread, and it's read-only once the {@link ValidationTrace} is published.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationTrace
+ * @since 1.0.0
+ */
+public final class ValidationSpan {
+
+    /**
+     * The kind of {@link ValidationSpan}
+     */
+    public enum Kind {
+
+        VALIDATION,
+
+        PROPERTY,
+
+        CONSTRAINT
+    }
+
+    private final Kind kind;
+
+    private final String name;
+
+    private final String detail;
+
+    private final long offsetNanos;
+
+    private long durationNanos;
+
+    private int violationCount = -1;
+
+    private String error;
+
+    private List<ValidationSpan> children;
+
+    ValidationSpan(Kind kind, String name, String detail, long offsetNanos) {
+        this.kind = kind;
+        this.name = name;
+        this.detail = detail;
+        this.offsetNanos = offsetNanos;
+    }
+
+    void end(long durationNanos, int violationCount, Throwable error) {
+        this.durationNanos = durationNanos;
+        this.violationCount = violationCount;
+        if (error != null) {
+            this.error = error.getClass().getName();
+        }
+    }
+
+    /**
+     * Accumulate the child span into this one, used by {@link Kind#PROPERTY} span
+     */
+    void accumulate(ValidationSpan child) {
+        this.durationNanos += child.durationNanos;
+        if (child.violationCount > 0) {
+            this.violationCount = Math.max(this.violationCount, 0) + child.violationCount;
+        } else if (this.violationCount < 0) {
+            this.violationCount = 0;
+        }
+        if (child.error != null) {
+            this.error = child.error;
+        }
+    }
+
+    void addChild(ValidationSpan child) {
+        if (children == null) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+    }
+
+    /**
+     * Find the last child span by kind and name
+     *
+     * @return <code>null</code> if not found
+     */
+    ValidationSpan findChild(Kind kind, String name) {
+        if (children == null) {
+            return null;
+        }
+        for (int i = children.size() - 1; i >= 0; i--) {
+            ValidationSpan child = children.get(i);
+            if (child.kind == kind && child.name.equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the entry point method name, the property path or the constraint annotation type
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the validated type and member, the constraint validator class, or <code>null</code>
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * @return the start time offset to the trace in nanoseconds
+     */
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return the count of constraint violations, <code>-1</code> if unknown
+     */
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    /**
+     * @return the class name of error, or <code>null</code> if completed normally
+     */
+    public String getError() {
+        return error;
+    }
+
+    public List<ValidationSpan> getChildren() {
+        return children == null ? emptyList() : unmodifiableList(children);
+    }
+
+    void appendTo(StringBuilder builder, int depth) {
+        for (int i = 0; i < depth; i++) {
+            builder.append("  ");
+        }
+        builder.append(kind == Kind.CONSTRAINT ? "@" : "").append(name);
+        if (detail != null) {
+            builder.append(" [").append(detail).append(']');
+        }
+        builder.append(' ').append(String.format("%.3f", durationNanos / 1_000_000.0d)).append(" ms");
+        if (violationCount > 0) {
+            builder.append(", ").append(violationCount).append(" violation(s)");
+        }
+        if (error != null) {
+            builder.append(", error : ").append(error);
+        }
+        builder.append(System.lineSeparator());
+        if (children != null) {
+            for (ValidationSpan child : children) {
+                child.appendTo(builder, depth + 1);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        appendTo(builder, 0);
+        return builder.toString();
+    }
+}
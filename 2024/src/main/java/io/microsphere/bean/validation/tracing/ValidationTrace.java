@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+/**
+ * The trace of a sampled top-level validation
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationSpan
+ * @since 1.0.0
+ */
+public final class ValidationTrace {
+
+    private final long sequence;
+
+    private final long timestamp;
+
+    private final String threadName;
+
+    private final boolean slow;
+
+    private final ValidationSpan root;
+
+    ValidationTrace(long sequence, long timestamp, String threadName, boolean slow, ValidationSpan root) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.threadName = threadName;
+        this.slow = slow;
+        this.root = root;
+    }
+
+    /**
+     * @return the sequence of trace, increased monotonically per {@link TracingValidationInterceptor}
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the epoch milliseconds when the validation was started
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return <code>true</code> if the duration exceeds the slow threshold
+     */
+    public boolean isSlow() {
+        return slow;
+    }
+
+    public long getDurationNanos() {
+        return root.getDurationNanos();
+    }
+
+    public ValidationSpan getRoot() {
+        return root;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ValidationTrace{sequence=").append(sequence)
+                .append(", timestamp=").append(timestamp)
+                .append(", thread='").append(threadName).append('\'')
+                .append(", slow=").append(slow)
+                .append('}').append(System.lineSeparator());
+        root.appendTo(builder, 1);
+        return builder.toString();
+    }
+}
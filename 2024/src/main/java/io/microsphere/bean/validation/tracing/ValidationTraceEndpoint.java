@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Boot Actuator {@link Endpoint} exposes the traces of {@link TracingValidationInterceptor} :
+ * <ul>
+ *     <li>GET "/actuator/validationtraces" : the recent and slow traces</li>
+ *     <li>GET "/actuator/validationtraces/slow" : the slow traces only</li>
+ *     <li>DELETE "/actuator/validationtraces" : clear all traces</li>
+ * </ul>
+ * Declares it as a Spring Bean and includes "validationtraces" into
+ * "management.endpoints.web.exposure.include" to enable it.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see TracingValidationInterceptor
+ * @since 1.0.0
+ */
+@Endpoint(id = ValidationTraceEndpoint.ENDPOINT_ID)
+public class ValidationTraceEndpoint {
+
+    public static final String ENDPOINT_ID = "validationtraces";
+
+    static final String SLOW_SELECTOR = "slow";
+
+    @ReadOperation
+    public Map<String, List<ValidationTrace>> traces() {
+        Map<String, List<ValidationTrace>> traces = new LinkedHashMap<>(4);
+        traces.put("recent", TracingValidationInterceptor.getRecentTraces());
+        traces.put(SLOW_SELECTOR, TracingValidationInterceptor.getSlowTraces());
+        return traces;
+    }
+
+    @ReadOperation
+    public List<ValidationTrace> traces(@Selector String category) {
+        if (SLOW_SELECTOR.equals(category)) {
+            return TracingValidationInterceptor.getSlowTraces();
+        }
+        return TracingValidationInterceptor.getRecentTraces();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        TracingValidationInterceptor.clearTraces();
+    }
+}
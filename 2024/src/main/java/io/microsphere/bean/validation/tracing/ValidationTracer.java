@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation.tracing;
+
+import io.microsphere.bean.validation.ValidationEntryPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.microsphere.bean.validation.tracing.ValidationSpan.Kind.CONSTRAINT;
+import static io.microsphere.bean.validation.tracing.ValidationSpan.Kind.PROPERTY;
+import static io.microsphere.bean.validation.tracing.ValidationSpan.Kind.VALIDATION;
+
+/**
+ * The tracer records the {@link ValidationSpan} tree of the sampled validations per thread, and publishes the
+ * completed {@link ValidationTrace ValidationTraces} into the shared ring buffers.
+ * <p>
+ * The count of in-flight recordings is checked before the {@link ThreadLocal} lookup, so that the unsampled
+ * validations only pay a volatile read and a {@link Sampler#sample()} invocation.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ValidationTrace
+ * @since 1.0.0
+ */
+final class ValidationTracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationTracer.class);
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static final TraceRingBuffer recentTraces = new TraceRingBuffer(
+            Integer.getInteger(TracingValidationInterceptor.BUFFER_SIZE_PROPERTY_NAME, TracingValidationInterceptor.DEFAULT_BUFFER_SIZE));
+
+    private static final TraceRingBuffer slowTraces = new TraceRingBuffer(
+            Integer.getInteger(TracingValidationInterceptor.BUFFER_SIZE_PROPERTY_NAME, TracingValidationInterceptor.DEFAULT_BUFFER_SIZE));
+
+    private final Sampler sampler;
+
+    private final long slowThresholdNanos;
+
+    private final AtomicInteger activeRecordings = new AtomicInteger();
+
+    private final ThreadLocal<Recording> recordings = new ThreadLocal<>();
+
+    ValidationTracer(Sampler sampler, long slowThresholdNanos) {
+        this.sampler = sampler;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * Start the span of validation entry point, a new trace is started if the current thread is not recording and
+     * the validation is sampled
+     *
+     * @param entryPoint {@link ValidationEntryPoint}
+     * @param type       the validated type, may be <code>null</code>
+     * @param memberName the name of validated property, method or constructor, may be <code>null</code>
+     */
+    void startSpan(ValidationEntryPoint entryPoint, Class<?> type, String memberName) {
+        Recording recording = currentRecording();
+        if (recording == null) {
+            if (!sampler.sample()) {
+                return;
+            }
+            recording = new Recording(System.nanoTime(), System.currentTimeMillis());
+            recordings.set(recording);
+            activeRecordings.incrementAndGet();
+        }
+        String detail = type == null ? memberName : memberName == null ? type.getName() : type.getName() + "#" + memberName;
+        recording.push(new ValidationSpan(VALIDATION, entryPoint.getMethodName(), detail, recording.offset()));
+    }
+
+    /**
+     * End the current span of validation entry point, the trace is published if the root span is ended
+     *
+     * @param violationCount the count of violations, <code>-1</code> if unknown
+     * @param error          the error of validation, may be <code>null</code>
+     */
+    void endSpan(int violationCount, Throwable error) {
+        Recording recording = currentRecording();
+        if (recording == null) {
+            return;
+        }
+        ValidationSpan root = recording.pop(violationCount, error);
+        if (root != null) {
+            recordings.remove();
+            activeRecordings.decrementAndGet();
+            publish(recording, root);
+        }
+    }
+
+    /**
+     * @return the {@link Recording} of current thread, or <code>null</code> if the current thread is not recording
+     */
+    Recording currentRecording() {
+        if (activeRecordings.get() == 0) {
+            return null;
+        }
+        return recordings.get();
+    }
+
+    private void publish(Recording recording, ValidationSpan root) {
+        boolean slow = root.getDurationNanos() >= slowThresholdNanos;
+        ValidationTrace trace = new ValidationTrace(sequence.getAndIncrement(), recording.timestamp,
+                Thread.currentThread().getName(), slow, root);
+        recentTraces.add(trace);
+        if (slow) {
+            slowTraces.add(trace);
+            if (logger.isWarnEnabled()) {
+                logger.warn("The validation is slower than {} ms : {}", slowThresholdNanos / 1_000_000.0d, trace);
+            }
+        }
+    }
+
+    static List<ValidationTrace> getRecentTraces() {
+        return recentTraces.snapshot();
+    }
+
+    static List<ValidationTrace> getSlowTraces() {
+        return slowTraces.snapshot();
+    }
+
+    static void clearTraces() {
+        recentTraces.clear();
+        slowTraces.clear();
+    }
+
+    /**
+     * The per-thread recording state of a sampled trace
+     */
+    static final class Recording {
+
+        private final long startTime;
+
+        private final long timestamp;
+
+        private ValidationSpan[] spans = new ValidationSpan[8];
+
+        private int depth;
+
+        Recording(long startTime, long timestamp) {
+            this.startTime = startTime;
+            this.timestamp = timestamp;
+        }
+
+        long offset() {
+            return System.nanoTime() - startTime;
+        }
+
+        void push(ValidationSpan span) {
+            if (depth > 0) {
+                spans[depth - 1].addChild(span);
+            }
+            if (depth == spans.length) {
+                ValidationSpan[] newSpans = new ValidationSpan[depth << 1];
+                System.arraycopy(spans, 0, newSpans, 0, depth);
+                spans = newSpans;
+            }
+            spans[depth++] = span;
+        }
+
+        /**
+         * @return the root span if it's ended, or <code>null</code>
+         */
+        ValidationSpan pop(int violationCount, Throwable error) {
+            ValidationSpan span = spans[--depth];
+            spans[depth] = null;
+            span.end(offset() - span.getOffsetNanos(), violationCount, error);
+            return depth == 0 ? span : null;
+        }
+
+        /**
+         * Record the execution of constraint validator under the span of its property path
+         *
+         * @param propertyPath   the property path, may be <code>null</code>
+         * @param constraintType the type of constraint annotation
+         * @param validatorClass the class of constraint validator
+         * @param startOffset    the start offset of execution
+         * @param valid          the result of execution
+         * @param error          the error of execution, may be <code>null</code>
+         */
+        void recordConstraint(Path propertyPath, Class<?> constraintType, Class<?> validatorClass, long startOffset,
+                              boolean valid, Throwable error) {
+            if (depth == 0) {
+                return;
+            }
+            ValidationSpan span = new ValidationSpan(CONSTRAINT, constraintType.getSimpleName(), validatorClass.getName(), startOffset);
+            span.end(offset() - startOffset, valid ? 0 : 1, error);
+            ValidationSpan parent = spans[depth - 1];
+            String path = propertyPath == null ? "" : propertyPath.toString();
+            if (!path.isEmpty()) {
+                ValidationSpan propertySpan = parent.findChild(PROPERTY, path);
+                if (propertySpan == null) {
+                    propertySpan = new ValidationSpan(PROPERTY, path, null, startOffset);
+                    parent.addChild(propertySpan);
+                }
+                propertySpan.accumulate(span);
+                parent = propertySpan;
+            }
+            parent.addChild(span);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package mercyblitz.zsxq.java.questions.january.day24.q1;
 
 import io.microsphere.bean.validation.InterceptingValidationProviderResolver;
+import io.microsphere.bean.validation.ValidationWarmUp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +46,8 @@ public class Bootstrap {
                 .providerResolver(new InterceptingValidationProviderResolver())
                 .configure()
                 .buildValidatorFactory();
+        // 启动时后台预热当前包下 Bean 的校验元数据，示例随即校验，因此等待预热完成
+        new ValidationWarmUp(validatorFactory, Bootstrap.class.getPackage().getName()).start().join();
         Validator validator = validatorFactory.getValidator();
         Set<ConstraintViolation<CashIncomeReportExcelData>> violations = validator.validate(new CashIncomeReportExcelData());
         violations.forEach(i -> logger.info(i.getMessage()));
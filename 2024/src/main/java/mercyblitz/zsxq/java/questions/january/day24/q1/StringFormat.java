@@ -45,4 +45,10 @@ public @interface StringFormat {
     Class<? extends Payload>[] payload() default {};
 
     Class<?> targetClass();
+
+    /**
+     * 格式模式，仅支持日期类型（{@link java.time.LocalDate} 默认 "yyyy-MM-dd"，{@link java.time.YearMonth} 默认
+     * "yyyy-MM"），其中 "y" 为年，"M" 为月，"d" 为日，其他非字母字符为字面量
+     */
+    String pattern() default "";
 }
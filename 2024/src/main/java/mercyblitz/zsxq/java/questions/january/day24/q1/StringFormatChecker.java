@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1;
+
+/**
+ * 字符串格式检查器，在 {@link StringFormatValidator#initialize(StringFormat) 初始化}时按目标类型编译，
+ * 实现必须是线程安全且无内存分配的
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see StringFormatCheckers
+ * @see StringFormatValidator
+ * @since 1.0.0
+ */
+@FunctionalInterface
+interface StringFormatChecker {
+
+    /**
+     * 检查字符串是否能转换为目标类型
+     *
+     * @param value 非 null 字符串
+     * @return 合法返回 <code>true</code>
+     */
+    boolean check(CharSequence value);
+}
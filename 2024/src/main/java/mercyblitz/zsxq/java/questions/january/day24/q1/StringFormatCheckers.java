@@ -0,0 +1,413 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.copyOf;
+
+/**
+ * {@link StringFormatChecker} 的编译工具类，整数、小数以及日期类型通过逐字符扫描检查，不解析结果对象，也不依赖异常判断失败；
+ * 其他类型回退到其静态 <code>parse(CharSequence)</code>、<code>valueOf(String)</code> 方法或者 String 参数构造器
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see StringFormatChecker
+ * @since 1.0.0
+ */
+final class StringFormatCheckers {
+
+    static final String DEFAULT_LOCAL_DATE_PATTERN = "yyyy-MM-dd";
+
+    static final String DEFAULT_YEAR_MONTH_PATTERN = "yyyy-MM";
+
+    private StringFormatCheckers() {
+    }
+
+    /**
+     * 编译目标类型的检查器
+     *
+     * @param targetClass 目标类型
+     * @param pattern     格式模式，空字符串表示默认
+     * @return 非 null
+     * @throws IllegalArgumentException 目标类型不支持或者格式模式非法
+     */
+    static StringFormatChecker compile(Class<?> targetClass, String pattern) {
+        if (LocalDate.class.equals(targetClass)) {
+            return new DateChecker(pattern.isEmpty() ? DEFAULT_LOCAL_DATE_PATTERN : pattern, true);
+        }
+        if (YearMonth.class.equals(targetClass)) {
+            return new DateChecker(pattern.isEmpty() ? DEFAULT_YEAR_MONTH_PATTERN : pattern, false);
+        }
+        if (!pattern.isEmpty()) {
+            throw new IllegalArgumentException("The pattern is not supported by the target class : " + targetClass.getName());
+        }
+        if (Integer.class.equals(targetClass) || int.class.equals(targetClass)) {
+            return new IntegralChecker(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        if (Long.class.equals(targetClass) || long.class.equals(targetClass)) {
+            return new IntegralChecker(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        if (Short.class.equals(targetClass) || short.class.equals(targetClass)) {
+            return new IntegralChecker(Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+        if (Byte.class.equals(targetClass) || byte.class.equals(targetClass)) {
+            return new IntegralChecker(Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+        if (BigInteger.class.equals(targetClass)) {
+            return StringFormatCheckers::isInteger;
+        }
+        if (BigDecimal.class.equals(targetClass)) {
+            return StringFormatCheckers::isDecimal;
+        }
+        if (CharSequence.class.isAssignableFrom(targetClass)) {
+            return value -> true;
+        }
+        return new ConversionChecker(targetClass);
+    }
+
+    /**
+     * 无界整数：[+-]?\d+，数字与 {@link BigInteger#BigInteger(String)} 相同按 {@link Character#digit(char, int)} 判断，
+     * 包括非 ASCII 的十进制数字
+     */
+    static boolean isInteger(CharSequence value) {
+        int length = value.length();
+        int i = skipSign(value);
+        if (i == length) {
+            return false;
+        }
+        for (; i < length; i++) {
+            if (digit(value.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link BigDecimal#BigDecimal(String)} 的格式：[+-]?(\d+(.\d*)?|.\d+)([eE][+-]?\d+)?，指数与标度必须在 int 范围内，
+     * 数字按 {@link Character#digit(char, int)} 判断
+     */
+    static boolean isDecimal(CharSequence value) {
+        int length = value.length();
+        int i = skipSign(value);
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (digit(c) >= 0) {
+                digits++;
+                if (point) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        char c = value.charAt(i);
+        if (c != 'e' && c != 'E') {
+            return false;
+        }
+        i++;
+        boolean negative = i < length && value.charAt(i) == '-';
+        if (i < length && (negative || value.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == length) {
+            return false;
+        }
+        long exponent = 0;
+        for (; i < length; i++) {
+            int digit = digit(value.charAt(i));
+            if (digit < 0) {
+                return false;
+            }
+            exponent = exponent * 10 + digit;
+            if (exponent > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+                return false;
+            }
+        }
+        // The scale of BigDecimal is the count of fraction digits minus the exponent
+        long scale = fractionDigits - (negative ? -exponent : exponent);
+        return scale >= Integer.MIN_VALUE && scale <= Integer.MAX_VALUE;
+    }
+
+    private static int skipSign(CharSequence value) {
+        if (value.length() > 0) {
+            char c = value.charAt(0);
+            if (c == '-' || c == '+') {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 数字的值，与 {@link Integer#parseInt(String)} 等解析方法相同，包括非 ASCII 的十进制数字
+     *
+     * @return 非数字时返回 -1
+     */
+    private static int digit(char c) {
+        return Character.digit(c, 10);
+    }
+
+    /**
+     * ASCII 数字，{@link java.time.format.DateTimeFormatter} 默认仅接受 ASCII 数字
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 有界整数检查器，与 {@link Long#parseLong(String)} 相同按负数累加，以判断溢出，数字按 {@link Character#digit(char, int)} 判断
+     */
+    static final class IntegralChecker implements StringFormatChecker {
+
+        private final long min;
+
+        private final long max;
+
+        IntegralChecker(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean check(CharSequence value) {
+            int length = value.length();
+            if (length == 0) {
+                return false;
+            }
+            int i = 0;
+            long limit = -max;
+            char first = value.charAt(0);
+            if (first == '-') {
+                limit = min;
+                i = 1;
+            } else if (first == '+') {
+                i = 1;
+            }
+            if (i == length) {
+                return false;
+            }
+            long multiplyMin = limit / 10;
+            long result = 0;
+            for (; i < length; i++) {
+                int digit = digit(value.charAt(i));
+                if (digit < 0 || result < multiplyMin) {
+                    return false;
+                }
+                result *= 10;
+                if (result < limit + digit) {
+                    return false;
+                }
+                result -= digit;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 日期检查器，格式模式在编译时解析为字段序列，检查时按序列扫描，并校验月份与当月天数（含闰年）；年份为定长无符号数字
+     */
+    static final class DateChecker implements StringFormatChecker {
+
+        private static final byte LITERAL = 0;
+
+        private static final byte YEAR = 1;
+
+        private static final byte MONTH = 2;
+
+        private static final byte DAY = 3;
+
+        private final byte[] kinds;
+
+        private final char[] literals;
+
+        private final int[] minWidths;
+
+        private final int[] maxWidths;
+
+        private final int yearBase;
+
+        DateChecker(String pattern, boolean requireDay) {
+            int length = pattern.length();
+            byte[] kinds = new byte[length];
+            char[] literals = new char[length];
+            int[] minWidths = new int[length];
+            int[] maxWidths = new int[length];
+            int yearBase = 0;
+            int size = 0;
+            boolean year = false;
+            boolean month = false;
+            boolean day = false;
+            for (int i = 0; i < length; ) {
+                char c = pattern.charAt(i);
+                int j = i + 1;
+                while (j < length && pattern.charAt(j) == c) {
+                    j++;
+                }
+                int count = j - i;
+                if (c == 'y' || c == 'u') {
+                    kinds[size] = YEAR;
+                    minWidths[size] = maxWidths[size] = count == 1 ? 4 : count;
+                    yearBase = count == 2 ? 2000 : 0;
+                    year = true;
+                } else if (c == 'M' || c == 'd') {
+                    if (count > 2) {
+                        throw new IllegalArgumentException("The pattern letter '" + c + "' is too many : " + pattern);
+                    }
+                    kinds[size] = c == 'M' ? MONTH : DAY;
+                    minWidths[size] = count;
+                    maxWidths[size] = 2;
+                    month |= c == 'M';
+                    day |= c == 'd';
+                } else if (Character.isLetter(c)) {
+                    throw new IllegalArgumentException("The pattern letter '" + c + "' is not supported : " + pattern);
+                } else {
+                    // The literal is matched char by char
+                    j = i + 1;
+                    kinds[size] = LITERAL;
+                    literals[size] = c;
+                }
+                size++;
+                i = j;
+            }
+            if (!year || !month || day != requireDay) {
+                throw new IllegalArgumentException("The pattern must contain the " + (requireDay ? "year, month and day"
+                        : "year and month only") + " : " + pattern);
+            }
+            this.kinds = copyOf(kinds, size);
+            this.literals = copyOf(literals, size);
+            this.minWidths = copyOf(minWidths, size);
+            this.maxWidths = copyOf(maxWidths, size);
+            this.yearBase = yearBase;
+        }
+
+        @Override
+        public boolean check(CharSequence value) {
+            int length = value.length();
+            int position = 0;
+            int year = 0;
+            int month = 0;
+            int day = 1;
+            for (int i = 0; i < kinds.length; i++) {
+                byte kind = kinds[i];
+                if (kind == LITERAL) {
+                    if (position == length || value.charAt(position) != literals[i]) {
+                        return false;
+                    }
+                    position++;
+                    continue;
+                }
+                int end = Math.min(position + maxWidths[i], length);
+                int number = 0;
+                int start = position;
+                while (position < end) {
+                    char c = value.charAt(position);
+                    if (!isDigit(c)) {
+                        break;
+                    }
+                    number = number * 10 + (c - '0');
+                    position++;
+                }
+                if (position - start < minWidths[i]) {
+                    return false;
+                }
+                if (kind == YEAR) {
+                    year = yearBase + number;
+                } else if (kind == MONTH) {
+                    month = number;
+                } else {
+                    day = number;
+                }
+            }
+            return position == length && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+        }
+
+        private static int lengthOfMonth(int year, int month) {
+            switch (month) {
+                case 2:
+                    return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+                case 4:
+                case 6:
+                case 9:
+                case 11:
+                    return 30;
+                default:
+                    return 31;
+            }
+        }
+    }
+
+    /**
+     * 转换检查器，调用目标类型的转换方法，以异常判断失败，仅用于不支持扫描的类型；值先转换为 String，因为转换方法的参数可能是 String
+     */
+    static final class ConversionChecker implements StringFormatChecker {
+
+        private final MethodHandle converter;
+
+        ConversionChecker(Class<?> targetClass) {
+            this.converter = findConverter(targetClass);
+        }
+
+        private static MethodHandle findConverter(Class<?> targetClass) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodType type = methodType(Object.class, String.class);
+            try {
+                return lookup.findStatic(targetClass, "parse", methodType(targetClass, CharSequence.class)).asType(type);
+            } catch (ReflectiveOperationException ignored) {
+                // try the next one
+            }
+            try {
+                return lookup.findStatic(targetClass, "valueOf", methodType(targetClass, String.class)).asType(type);
+            } catch (ReflectiveOperationException ignored) {
+                // try the next one
+            }
+            try {
+                return lookup.findConstructor(targetClass, methodType(void.class, String.class)).asType(type);
+            } catch (ReflectiveOperationException ignored) {
+                throw new IllegalArgumentException("The target class is not supported : " + targetClass.getName());
+            }
+        }
+
+        @Override
+        public boolean check(CharSequence value) {
+            try {
+                Object result = converter.invokeExact(value.toString());
+                return result != null;
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+    }
+}
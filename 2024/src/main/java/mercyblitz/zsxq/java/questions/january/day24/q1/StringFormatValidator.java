@@ -16,35 +16,44 @@
  */
 package mercyblitz.zsxq.java.questions.january.day24.q1;
 
-import org.hibernate.validator.internal.engine.constraintvalidation.ConstraintValidatorContextImpl;
+import io.microsphere.bean.validation.BeanPropertyIndex;
+import io.microsphere.bean.validation.ColumnConstraintValidator;
+import io.microsphere.bean.validation.PropertyMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import javax.validation.Path;
-import java.lang.reflect.Field;
 
-import static mercyblitz.zsxq.java.questions.january.day24.q1.bean.validation.ThreadLocalBeanValidationInterceptor.getValidatedBean;
-import static org.apache.commons.lang3.reflect.FieldUtils.getField;
-import static org.apache.commons.lang3.reflect.FieldUtils.readField;
+import static io.microsphere.bean.validation.ConstraintValidatorContextUtils.getPropertyPath;
+import static io.microsphere.bean.validation.ValidationContext.getValidatedBean;
 
 /**
  * {@link StringFormat} Validator
+ * <p>
+ * 在 {@link #initialize(StringFormat) 初始化}时按 {@link StringFormat#targetClass() 目标类型}以及
+ * {@link StringFormat#pattern() 格式模式}编译 {@link StringFormatChecker}，校验时仅扫描字符；null 值视为合法。
+ * 作为 {@link ColumnConstraintValidator}，列式批量校验时整列值一次校验。
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see StringFormat
+ * @see StringFormatChecker
  * @since 1.0.0
  */
-public class StringFormatValidator implements ConstraintValidator<StringFormat, String> {
+public class StringFormatValidator implements ConstraintValidator<StringFormat, String>,
+        ColumnConstraintValidator<CharSequence> {
 
     private static final Logger logger = LoggerFactory.getLogger(StringFormatValidator.class);
 
     private StringFormat stringFormat;
 
+    private StringFormatChecker checker;
+
     @Override
     public void initialize(StringFormat stringFormat) {
         this.stringFormat = stringFormat;
+        this.checker = StringFormatCheckers.compile(stringFormat.targetClass(), stringFormat.pattern());
     }
 
     public boolean isValid(String value, Object container, ConstraintValidatorContext context) {
@@ -56,24 +65,47 @@ public class StringFormatValidator implements ConstraintValidator<StringFormat,
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
-        if (context instanceof ConstraintValidatorContextImpl) {
-            ConstraintValidatorContextImpl contextImpl = (ConstraintValidatorContextImpl) context;
-            try {
-                Object fieldValue = readField(contextImpl, "basePath", true);
-                Path path = (Path) fieldValue;
-                Object validatedBean = getValidatedBean();
-                if (validatedBean != null) {
-                    Class<?> beanClass = validatedBean.getClass();
-                    String propertyName = path.toString();
-                    Field field = getField(beanClass, propertyName, true);
-                    DataInfo dataInfo = field.getAnnotation(DataInfo.class);
-                    logger.info("Bean[class : {}] 属性字段[name : {}] 标注的 @DataInfo value : {}", beanClass.getName(), propertyName, dataInfo.value());
-                }
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
+        if (value == null || checker.check(value)) {
+            return true;
+        }
+        if (logger.isDebugEnabled()) {
+            logInvalidValue(value, context);
+        }
+        return false;
+    }
+
+    /**
+     * 按列批量校验
+     *
+     * @param values  列值，null 值视为合法
+     * @param results 校验结果，长度不小于 values
+     * @return 非法值的数量
+     */
+    @Override
+    public int isValid(CharSequence[] values, boolean[] results) {
+        StringFormatChecker checker = this.checker;
+        int invalidCount = 0;
+        for (int i = 0; i < values.length; i++) {
+            CharSequence value = values[i];
+            boolean valid = value == null || checker.check(value);
+            results[i] = valid;
+            if (!valid) {
+                invalidCount++;
             }
         }
+        return invalidCount;
+    }
 
-        return true;
+    private void logInvalidValue(String value, ConstraintValidatorContext context) {
+        Path path = getPropertyPath(context);
+        Object validatedBean = getValidatedBean();
+        DataInfo dataInfo = null;
+        if (path != null && validatedBean != null) {
+            // 属性元数据按类预先索引，避免每次校验的反射查找
+            PropertyMetadata property = BeanPropertyIndex.of(validatedBean.getClass()).getProperty(path);
+            dataInfo = property == null ? null : property.getAnnotation(DataInfo.class);
+        }
+        logger.debug("属性[path : {}{}] 的值[{}] 不能转换为 {}", path, dataInfo == null ? "" : ", @DataInfo : " + dataInfo.value(),
+                value, stringFormat.targetClass().getName());
     }
 }
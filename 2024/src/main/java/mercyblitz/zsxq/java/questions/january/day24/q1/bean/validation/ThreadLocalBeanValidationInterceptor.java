@@ -16,29 +16,28 @@
  */
 package mercyblitz.zsxq.java.questions.january.day24.q1.bean.validation;
 
+import io.microsphere.bean.validation.ValidationContext;
+import io.microsphere.bean.validation.ValidationContextCarrier;
 import io.microsphere.bean.validation.ValidationInterceptor;
 
 import javax.validation.ConstraintViolation;
 import java.lang.reflect.Method;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 
-import static java.lang.ThreadLocal.withInitial;
-
 /**
  * {@link Thread-Local} 保存校验 Bean 拦截器
  * <p>
- * TODO: 注意请在合适的地方调用 {@link #clear()} 放置内存泄漏
+ * 校验 Bean 按对象标识绑定到 {@link ValidationContext} 所选择的 {@link ValidationContextCarrier} 中，当绑定为空时，
+ * 自动移除线程绑定，避免线程池中的线程持有 Bean 对象图；异常场景下仍可调用 {@link #clear()} 强制清理。
+ * 跨线程（如 Executor、响应式流水线）校验时，请使用 {@link ValidationContext#wrap(Runnable)} 传递上下文
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see ValidationInterceptor
+ * @see ValidationContext
  * @since 1.0.0
  */
 public class ThreadLocalBeanValidationInterceptor implements ValidationInterceptor {
 
-    private static final ThreadLocal<List<Object>> validatedBeansHolder = withInitial(LinkedList::new);
-
     @Override
     public <T> void beforeValidate(T object, Class<?>... groups) {
         bind(object);
@@ -71,26 +70,19 @@ public class ThreadLocalBeanValidationInterceptor implements ValidationIntercept
     }
 
     private static void bind(Object object) {
-        List<Object> validateBeans = validatedBeansHolder.get();
-        validateBeans.add(object);
+        ValidationContext.bind(object);
     }
 
     private static void unbind(Object object) {
-        List<Object> validateBeans = validatedBeansHolder.get();
-        validateBeans.remove(object);
+        ValidationContext.unbind(object);
     }
 
     public static Object getValidatedBean() {
-        List<Object> validateBeans = validatedBeansHolder.get();
-        int size = validateBeans.size();
-        if (size < 1) {
-            return null;
-        }
-        return validateBeans.get(size - 1);
+        return ValidationContext.getValidatedBean();
     }
 
     public static void clear() {
-        validatedBeansHolder.remove();
+        ValidationContext.clear();
     }
 
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+import io.microsphere.bean.validation.BeanPropertyIndex;
+import io.microsphere.bean.validation.PropertyMetadata;
+import mercyblitz.zsxq.java.questions.january.day24.q1.DataInfo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * 基于注解的 {@link RowMapper}，表头与 {@link DataInfo#value()}（缺省时为字段名称）匹配的列映射到对应的
+ * {@link String} 类型字段，空单元格映射为 <code>null</code>。构造器与字段 Setter 均以 {@link MethodHandle} 形式预先解析，
+ * 映射时无反射查找
+ *
+ * @param <T> 行对象类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see DataInfo
+ * @see BeanPropertyIndex
+ * @since 1.0.0
+ */
+public class AnnotatedRowMapper<T> implements RowMapper<T> {
+
+    private final Class<T> rowType;
+
+    /**
+     * 类型为 ()Object 的构造器
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * 列名称与类型为 (Object,String)void 的字段 Setter 映射
+     */
+    private final Map<String, MethodHandle> columnSetters;
+
+    /**
+     * 按列序号排列的 Setter，未匹配的列为 <code>null</code>
+     */
+    private MethodHandle[] setters;
+
+    public AnnotatedRowMapper(Class<T> rowType) {
+        this.rowType = rowType;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Constructor<T> rowConstructor = rowType.getDeclaredConstructor();
+            rowConstructor.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(rowConstructor).asType(methodType(Object.class));
+            this.columnSetters = resolveColumnSetters(rowType, lookup);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("The row type[" + rowType.getName() + "] can't be mapped", e);
+        }
+    }
+
+    private static Map<String, MethodHandle> resolveColumnSetters(Class<?> rowType, MethodHandles.Lookup lookup)
+            throws IllegalAccessException {
+        Map<String, MethodHandle> columnSetters = new HashMap<>();
+        for (PropertyMetadata property : BeanPropertyIndex.of(rowType).getProperties()) {
+            if (!String.class.equals(property.getType())) {
+                continue;
+            }
+            Field field = property.getField();
+            field.setAccessible(true);
+            MethodHandle setter = lookup.unreflectSetter(field).asType(methodType(void.class, Object.class, String.class));
+            DataInfo dataInfo = property.getAnnotation(DataInfo.class);
+            columnSetters.put(dataInfo == null ? property.getName() : dataInfo.value(), setter);
+        }
+        return columnSetters;
+    }
+
+    @Override
+    public void bindHeader(String[] header) {
+        MethodHandle[] setters = new MethodHandle[header.length];
+        for (int i = 0; i < header.length; i++) {
+            setters[i] = columnSetters.get(header[i].trim());
+        }
+        this.setters = setters;
+    }
+
+    @Override
+    public T map(String[] row) {
+        MethodHandle[] setters = this.setters;
+        if (setters == null) {
+            throw new IllegalStateException("The header must be bound before mapping the rows");
+        }
+        try {
+            Object bean = constructor.invokeExact();
+            int columns = Math.min(setters.length, row.length);
+            for (int i = 0; i < columns; i++) {
+                MethodHandle setter = setters[i];
+                if (setter != null) {
+                    String value = row[i].isEmpty() ? null : row[i];
+                    setter.invokeExact(bean, value);
+                }
+            }
+            return rowType.cast(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("The row can't be mapped to " + rowType.getName(), e);
+        }
+    }
+}
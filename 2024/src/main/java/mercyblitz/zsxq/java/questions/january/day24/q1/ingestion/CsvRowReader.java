@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV（RFC 4180）{@link RowReader}，支持引号包围的单元格（包括转义引号 "" 与换行）以及 UTF-8 BOM，
+ * 基于固定大小的字符缓冲区增量读取
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see RowReader
+ * @since 1.0.0
+ */
+public class CsvRowReader implements RowReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int NONE = -2;
+
+    private static final char BOM = '\uFEFF';
+
+    private final Reader reader;
+
+    private final char separator;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private int pushback = NONE;
+
+    private boolean started;
+
+    private final List<String> cells = new ArrayList<>();
+
+    private final StringBuilder cell = new StringBuilder();
+
+    public CsvRowReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvRowReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    @Override
+    public String[] readRow() throws IOException {
+        List<String> cells = this.cells;
+        StringBuilder cell = this.cell;
+        cells.clear();
+        cell.setLength(0);
+        boolean read = false;
+        boolean inQuotes = false;
+        int c;
+        while ((c = read()) != -1) {
+            read = true;
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        inQuotes = false;
+                        unread(next);
+                    }
+                } else {
+                    cell.append(ch);
+                }
+            } else if (ch == '"' && cell.length() == 0) {
+                inQuotes = true;
+            } else if (ch == separator) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    unread(next);
+                }
+                break;
+            } else {
+                cell.append(ch);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        cells.add(cell.toString());
+        return cells.toArray(new String[0]);
+    }
+
+    private int read() throws IOException {
+        if (pushback != NONE) {
+            int c = pushback;
+            pushback = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit < 1) {
+                limit = 0;
+                return -1;
+            }
+            if (!started) {
+                started = true;
+                if (buffer[0] == BOM) {
+                    position++;
+                    return read();
+                }
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
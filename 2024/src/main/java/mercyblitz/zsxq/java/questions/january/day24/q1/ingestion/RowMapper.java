@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+/**
+ * 行映射器，将表格行映射为行对象
+ *
+ * @param <T> 行对象类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see AnnotatedRowMapper
+ * @since 1.0.0
+ */
+public interface RowMapper<T> {
+
+    /**
+     * 绑定表头
+     *
+     * @param header 表头单元格
+     */
+    void bindHeader(String[] header);
+
+    /**
+     * 映射数据行
+     *
+     * @param row 数据行单元格
+     * @return 行对象
+     */
+    T map(String[] row);
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 行读取器，增量读取表格数据（CSV、XLSX 等）的每一行，不会一次性加载整个文件
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see CsvRowReader
+ * @since 1.0.0
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * 读取下一行
+     *
+     * @return 单元格数组，如果已读完，返回 <code>null</code>
+     * @throws IOException 读取失败
+     */
+    String[] readRow() throws IOException;
+}
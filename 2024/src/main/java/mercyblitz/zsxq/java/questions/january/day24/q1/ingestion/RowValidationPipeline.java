@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+import io.microsphere.bean.validation.BatchValidationOptions;
+import io.microsphere.bean.validation.BatchValidationResult;
+import io.microsphere.bean.validation.BatchValidator;
+import io.microsphere.bean.validation.InterceptingValidationProviderResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 表格数据流式校验流水线，内存占用有界：
+ * <ol>
+ *     <li>读取线程通过 {@link RowReader} 增量读取数据行，经 {@link RowMapper} 映射为行对象，按块放入有界队列</li>
+ *     <li>调用线程从队列中取出数据块并校验（{@link BatchValidator} 可用时批量校验），合法行输出到 {@link ValidRowSink}，
+ *     非法行输出到 {@link ViolationSink}</li>
+ * </ol>
+ * 当校验或者接收器处理速度落后时，有界队列阻塞读取线程（背压），因此内存中最多只有
+ * (队列容量 + 2) * 块大小 个行对象。
+ * <pre>{@code
+ * ValidatorFactory validatorFactory = Validation.byDefaultProvider()
+ *         .providerResolver(new InterceptingValidationProviderResolver())
+ *         .configure()
+ *         .buildValidatorFactory();
+ * RowValidationPipeline<CashIncomeReportExcelData> pipeline =
+ *         new RowValidationPipeline<>(validatorFactory.getValidator(), new AnnotatedRowMapper<>(CashIncomeReportExcelData.class));
+ * try (RowReader reader = new CsvRowReader(Files.newBufferedReader(path))) {
+ *     pipeline.run(reader, validRowSink, violationSink);
+ * }
+ * }</pre>
+ *
+ * @param <T> 行对象类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see RowReader
+ * @see RowMapper
+ * @see InterceptingValidationProviderResolver
+ * @since 1.0.0
+ */
+public class RowValidationPipeline<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowValidationPipeline.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 512;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private final Validator validator;
+
+    private final BatchValidator batchValidator;
+
+    private final RowMapper<T> rowMapper;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private int parallelism = 1;
+
+    public RowValidationPipeline(Validator validator, RowMapper<T> rowMapper) {
+        this.validator = validator;
+        this.batchValidator = resolveBatchValidator(validator);
+        this.rowMapper = rowMapper;
+    }
+
+    public RowValidationPipeline<T> chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive : " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    public RowValidationPipeline<T> queueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be positive : " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * 数据块的校验并行度，仅在 {@link BatchValidator} 可用时生效
+     *
+     * @param parallelism 并行度
+     * @return this
+     */
+    public RowValidationPipeline<T> parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be positive : " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 运行流水线，首行为表头，空行被忽略
+     *
+     * @param rowReader     {@link RowReader}，由调用方关闭
+     * @param validRowSink  {@link ValidRowSink}
+     * @param violationSink {@link ViolationSink}
+     * @return 统计信息
+     * @throws IOException          读取失败
+     * @throws InterruptedException 调用线程被中断
+     */
+    public Statistics run(RowReader rowReader, ValidRowSink<T> validRowSink, ViolationSink<T> violationSink)
+            throws IOException, InterruptedException {
+        String[] header = rowReader.readRow();
+        Statistics statistics = new Statistics();
+        if (header == null) {
+            return statistics;
+        }
+        rowMapper.bindHeader(header);
+
+        BlockingQueue<Chunk<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Reading<T> reading = new Reading<>(rowReader, rowMapper, chunkSize, queue);
+        Thread readingThread = new Thread(reading, "row-validation-pipeline-reader");
+        readingThread.setDaemon(true);
+        readingThread.start();
+
+        long startTime = System.currentTimeMillis();
+        try {
+            Chunk<T> chunk;
+            while ((chunk = queue.take()) != Chunk.END) {
+                validate(chunk, validRowSink, violationSink, statistics);
+            }
+        } finally {
+            readingThread.interrupt();
+            readingThread.join();
+        }
+        reading.rethrowIfFailed();
+        if (logger.isInfoEnabled()) {
+            logger.info("The rows[total : {} , valid : {} , invalid : {}] have been validated in {} ms",
+                    statistics.getTotalRows(), statistics.getValidRows(), statistics.getInvalidRows(),
+                    System.currentTimeMillis() - startTime);
+        }
+        return statistics;
+    }
+
+    private void validate(Chunk<T> chunk, ValidRowSink<T> validRowSink, ViolationSink<T> violationSink,
+                          Statistics statistics) {
+        List<T> rows = chunk.rows;
+        int size = rows.size();
+        BatchValidationResult<T> result = null;
+        if (batchValidator != null) {
+            result = batchValidator.validateBatch(rows, new BatchValidationOptions()
+                    .parallelism(parallelism)
+                    .chunkSize(Math.max(1, size / parallelism)));
+        }
+        for (int i = 0; i < size; i++) {
+            T row = rows.get(i);
+            long rowNumber = chunk.firstRowNumber + i;
+            Set<ConstraintViolation<T>> violations = result == null ? validator.validate(row) : result.getViolations(i);
+            if (violations.isEmpty()) {
+                statistics.validRows++;
+                validRowSink.accept(rowNumber, row);
+            } else {
+                statistics.invalidRows++;
+                violationSink.accept(rowNumber, row, violations);
+            }
+        }
+    }
+
+    private static BatchValidator resolveBatchValidator(Validator validator) {
+        try {
+            return validator.unwrap(BatchValidator.class);
+        } catch (ValidationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 流水线统计信息
+     */
+    public static class Statistics {
+
+        private long validRows;
+
+        private long invalidRows;
+
+        public long getTotalRows() {
+            return validRows + invalidRows;
+        }
+
+        public long getValidRows() {
+            return validRows;
+        }
+
+        public long getInvalidRows() {
+            return invalidRows;
+        }
+    }
+
+    /**
+     * 行对象数据块
+     */
+    private static final class Chunk<T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final Chunk END = new Chunk<>(-1, new ArrayList<>(0));
+
+        private final long firstRowNumber;
+
+        private final List<T> rows;
+
+        private Chunk(long firstRowNumber, List<T> rows) {
+            this.firstRowNumber = firstRowNumber;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * 读取任务，读取、映射并按块放入队列，结束（包括失败）时放入结束标记
+     */
+    private static final class Reading<T> implements Runnable {
+
+        private final RowReader rowReader;
+
+        private final RowMapper<T> rowMapper;
+
+        private final int chunkSize;
+
+        private final BlockingQueue<Chunk<T>> queue;
+
+        private volatile Throwable failure;
+
+        private Reading(RowReader rowReader, RowMapper<T> rowMapper, int chunkSize, BlockingQueue<Chunk<T>> queue) {
+            this.rowReader = rowReader;
+            this.rowMapper = rowMapper;
+            this.chunkSize = chunkSize;
+            this.queue = queue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                long rowNumber = 0;
+                List<T> rows = new ArrayList<>(chunkSize);
+                String[] row;
+                while ((row = rowReader.readRow()) != null) {
+                    if (isBlank(row)) {
+                        continue;
+                    }
+                    rows.add(rowMapper.map(row));
+                    if (rows.size() == chunkSize) {
+                        queue.put(new Chunk<>(rowNumber + 1, rows));
+                        rowNumber += rows.size();
+                        rows = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    queue.put(new Chunk<>(rowNumber + 1, rows));
+                }
+            } catch (InterruptedException e) {
+                // The consumer has stopped
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                failure = e;
+            }
+            try {
+                queue.put(Chunk.END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void rethrowIfFailed() throws IOException {
+            Throwable failure = this.failure;
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+
+        private static boolean isBlank(String[] row) {
+            return row.length == 1 && row[0].trim().isEmpty();
+        }
+    }
+}
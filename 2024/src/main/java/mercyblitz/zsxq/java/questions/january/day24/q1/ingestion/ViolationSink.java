@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1.ingestion;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+
+/**
+ * 校验违规报告接收器
+ *
+ * @param <T> 行对象类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see RowValidationPipeline
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ViolationSink<T> {
+
+    /**
+     * 接收非法行及其违规信息
+     *
+     * @param rowNumber  数据行号（不含表头，从 1 开始）
+     * @param row        行对象
+     * @param violations 违规信息
+     */
+    void accept(long rowNumber, T row, Set<ConstraintViolation<T>> violations);
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+/**
+ * 通过 {@link PartitionChannel} 分发分区的 {@link PartitionHandler}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see PartitionChannel
+ * @since 1.0.0
+ */
+public class ChannelPartitionHandler extends AbstractPartitionHandler {
+
+    private final PartitionChannel partitionChannel;
+
+    public ChannelPartitionHandler(PartitionChannel partitionChannel, int gridSize) {
+        this.partitionChannel = partitionChannel;
+        setGridSize(gridSize);
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        List<Future<StepExecution>> results = new ArrayList<>(partitionStepExecutions.size());
+        for (StepExecution partitionStepExecution : partitionStepExecutions) {
+            results.add(partitionChannel.send(partitionStepExecution));
+        }
+        Set<StepExecution> stepExecutions = new LinkedHashSet<>(results.size());
+        for (Future<StepExecution> result : results) {
+            stepExecutions.add(result.get());
+        }
+        return stepExecutions;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.function.Function;
+
+/**
+ * 分区 Worker {@link Step}，每个分区按其 {@link ExecutionContext} 创建独立的 {@link ItemReader}，以面向 Chunk
+ * 的方式读取、处理以及写入，{@link ItemProcessor} 以及 {@link ItemWriter} 被各分区并发使用，须线程安全。
+ * <p>
+ * 面向 Chunk 的 {@link Step} 仅构建一次，由各分区并发执行，其 {@link ItemReader} 类似 {@code @StepScope}，
+ * 委派给当前 {@link StepExecution} 的 {@link ItemReader}。
+ *
+ * @param <I> 读取类型
+ * @param <O> 写入类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see PartitionedStepBuilder
+ * @since 1.0.0
+ */
+public class ChunkWorkerStep<I, O> implements Step {
+
+    private static final String READER_ATTRIBUTE_NAME = ChunkWorkerStep.class.getName() + ".reader";
+
+    private final String name;
+
+    private final Function<ExecutionContext, ItemReader<? extends I>> readerFactory;
+
+    private final Step chunkStep;
+
+    ChunkWorkerStep(String name, StepBuilderFactory stepBuilderFactory,
+                    Function<ExecutionContext, ItemReader<? extends I>> readerFactory,
+                    ItemProcessor<? super I, ? extends O> processor, ItemWriter<? super O> writer, int commitInterval) {
+        this.name = name;
+        this.readerFactory = readerFactory;
+        this.chunkStep = stepBuilderFactory.get(name)
+                .<I, O>chunk(commitInterval)
+                .reader(new StepScopedItemReader())
+                .processor(processor)
+                .writer(writer)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isAllowStartIfComplete() {
+        return false;
+    }
+
+    @Override
+    public int getStartLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void execute(StepExecution stepExecution) throws JobInterruptedException {
+        chunkStep.execute(stepExecution);
+    }
+
+    /**
+     * 委派给当前 {@link StepExecution} 的 {@link ItemReader}，其在首次使用时创建，保存于 {@link StepContext} 中，
+     * 并在 {@link #close()} 时移除
+     */
+    private class StepScopedItemReader implements ItemStreamReader<I> {
+
+        @Override
+        public I read() throws Exception {
+            return getReader().read();
+        }
+
+        @Override
+        public void open(ExecutionContext executionContext) {
+            ItemReader<? extends I> reader = getReader();
+            if (reader instanceof ItemStream) {
+                ((ItemStream) reader).open(executionContext);
+            }
+        }
+
+        @Override
+        public void update(ExecutionContext executionContext) {
+            ItemReader<? extends I> reader = getReader();
+            if (reader instanceof ItemStream) {
+                ((ItemStream) reader).update(executionContext);
+            }
+        }
+
+        @Override
+        public void close() {
+            StepContext stepContext = getStepContext();
+            Object reader = stepContext.removeAttribute(READER_ATTRIBUTE_NAME);
+            if (reader instanceof ItemStream) {
+                ((ItemStream) reader).close();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private ItemReader<? extends I> getReader() {
+            StepContext stepContext = getStepContext();
+            Object reader = stepContext.getAttribute(READER_ATTRIBUTE_NAME);
+            if (reader == null) {
+                reader = readerFactory.apply(stepContext.getStepExecution().getExecutionContext());
+                stepContext.setAttribute(READER_ATTRIBUTE_NAME, reader);
+            }
+            return (ItemReader<? extends I>) reader;
+        }
+
+        private StepContext getStepContext() {
+            StepContext stepContext = StepSynchronizationManager.getContext();
+            if (stepContext == null) {
+                throw new IllegalStateException("The reader of step[" + name + "] is used outside of step execution");
+            }
+            return stepContext;
+        }
+    }
+}
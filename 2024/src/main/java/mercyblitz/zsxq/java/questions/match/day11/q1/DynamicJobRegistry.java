@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.configuration.DuplicateJobException;
+import org.springframework.batch.core.configuration.JobFactory;
+import org.springframework.batch.core.configuration.JobRegistry;
+import org.springframework.batch.core.launch.NoSuchJobException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * 动态 {@link JobRegistry}
+ * <p>
+ * Job 由 {@link JobTemplate 模板}以及参数注册，无需为每个 Job 定义 Bean；Job 在首次 {@link #getJob(String) 获取}
+ * （启动）时才构建，构建后的 {@link Job}（包括其 Step）按 LRU 缓存，超出 {@link #getMaxCachedJobs() 缓存上限}
+ * 的 Job 被淘汰，再次获取时重新构建，其注册信息保留直至 {@link #unregister(String) 注销}。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobTemplate
+ * @see JobRegistry
+ * @since 1.0.0
+ */
+public class DynamicJobRegistry implements JobRegistry {
+
+    public static final int DEFAULT_MAX_CACHED_JOBS = 64;
+
+    private final ConcurrentMap<String, LazyJobFactory> jobFactories = new ConcurrentHashMap<>();
+
+    private final int maxCachedJobs;
+
+    /**
+     * 已构建的 Job，按访问顺序排列，由其监视器保护
+     */
+    private final LinkedHashMap<String, LazyJobFactory> cachedJobs;
+
+    private final LongAdder createdCount = new LongAdder();
+
+    private final LongAdder evictedCount = new LongAdder();
+
+    public DynamicJobRegistry() {
+        this(DEFAULT_MAX_CACHED_JOBS);
+    }
+
+    /**
+     * @param maxCachedJobs 已构建 Job 的缓存上限，必须为正数
+     */
+    public DynamicJobRegistry(int maxCachedJobs) {
+        if (maxCachedJobs < 1) {
+            throw new IllegalArgumentException("The max number of cached jobs must be positive : " + maxCachedJobs);
+        }
+        this.maxCachedJobs = maxCachedJobs;
+        this.cachedJobs = new LinkedHashMap<String, LazyJobFactory>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LazyJobFactory> eldest) {
+                if (size() > DynamicJobRegistry.this.maxCachedJobs) {
+                    eldest.getValue().evict();
+                    evictedCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 生成唯一的 Job 名称，参数按名称排序，如：mergeDataJob[month=2024-01,tenant=a]
+     *
+     * @param templateName 模板名称
+     * @param parameters   模板参数
+     * @return non-null
+     */
+    public static String jobName(String templateName, Map<String, ?> parameters) {
+        if (parameters.isEmpty()) {
+            return templateName;
+        }
+        StringJoiner joiner = new StringJoiner(",", templateName + "[", "]");
+        new TreeMap<>(parameters).forEach((name, value) -> joiner.add(name + "=" + value));
+        return joiner.toString();
+    }
+
+    /**
+     * 按模板以及参数注册 Job，Job 名称由 {@link #jobName(String, Map)} 生成
+     *
+     * @param templateName 模板名称
+     * @param template     {@link JobTemplate}
+     * @param parameters   模板参数
+     * @return 注册的 Job 名称
+     * @throws DuplicateJobException 若 Job 名称已注册
+     */
+    public String register(String templateName, JobTemplate template, Map<String, ?> parameters) throws DuplicateJobException {
+        String jobName = jobName(templateName, parameters);
+        Map<String, Object> templateParameters = unmodifiableMap(new LinkedHashMap<>(parameters));
+        register(jobName, () -> template.build(jobName, templateParameters));
+        return jobName;
+    }
+
+    @Override
+    public void register(JobFactory jobFactory) throws DuplicateJobException {
+        register(jobFactory.getJobName(), jobFactory::createJob);
+    }
+
+    private void register(String jobName, Supplier<Job> jobSupplier) throws DuplicateJobException {
+        if (jobFactories.putIfAbsent(jobName, new LazyJobFactory(jobName, jobSupplier)) != null) {
+            throw new DuplicateJobException("A job configuration with this name [" + jobName + "] was already registered");
+        }
+    }
+
+    @Override
+    public void unregister(String jobName) {
+        LazyJobFactory jobFactory = jobFactories.remove(jobName);
+        if (jobFactory != null) {
+            synchronized (cachedJobs) {
+                cachedJobs.remove(jobName, jobFactory);
+            }
+            jobFactory.evict();
+        }
+    }
+
+    @Override
+    public Job getJob(String name) throws NoSuchJobException {
+        LazyJobFactory jobFactory = jobFactories.get(name);
+        if (jobFactory == null) {
+            throw new NoSuchJobException("No job configuration with the name [" + name + "] was registered");
+        }
+        Job job = jobFactory.createJob();
+        synchronized (cachedJobs) {
+            // 已注销的 Job 不再缓存
+            if (jobFactories.get(name) == jobFactory) {
+                cachedJobs.put(name, jobFactory);
+            }
+        }
+        return job;
+    }
+
+    @Override
+    public Collection<String> getJobNames() {
+        return unmodifiableList(new ArrayList<>(jobFactories.keySet()));
+    }
+
+    /**
+     * 淘汰已构建的 Job，其注册信息保留
+     *
+     * @param jobName Job 名称
+     */
+    public void evict(String jobName) {
+        LazyJobFactory jobFactory;
+        synchronized (cachedJobs) {
+            jobFactory = cachedJobs.remove(jobName);
+        }
+        if (jobFactory != null) {
+            jobFactory.evict();
+            evictedCount.increment();
+        }
+    }
+
+    public int getMaxCachedJobs() {
+        return maxCachedJobs;
+    }
+
+    /**
+     * @return 已构建并缓存的 Job 数量
+     */
+    public int getCachedJobCount() {
+        synchronized (cachedJobs) {
+            return cachedJobs.size();
+        }
+    }
+
+    /**
+     * @return Job 构建次数，包括淘汰后的重建
+     */
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    /**
+     * 延迟构建并缓存 {@link Job} 的 {@link JobFactory}
+     */
+    private class LazyJobFactory implements JobFactory {
+
+        private final String jobName;
+
+        private final Supplier<Job> jobSupplier;
+
+        private volatile Job job;
+
+        LazyJobFactory(String jobName, Supplier<Job> jobSupplier) {
+            this.jobName = jobName;
+            this.jobSupplier = jobSupplier;
+        }
+
+        @Override
+        public Job createJob() {
+            Job job = this.job;
+            if (job == null) {
+                synchronized (this) {
+                    job = this.job;
+                    if (job == null) {
+                        job = jobSupplier.get();
+                        createdCount.increment();
+                        this.job = job;
+                    }
+                }
+            }
+            return job;
+        }
+
+        void evict() {
+            this.job = null;
+        }
+
+        @Override
+        public String getJobName() {
+            return jobName;
+        }
+    }
+}
@@ -16,52 +16,154 @@
  */
 package mercyblitz.zsxq.java.questions.match.day11.q1;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.support.IteratorItemReader;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.LongStream.rangeClosed;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.KeyRangePartitioner.MAX_KEY;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.KeyRangePartitioner.MIN_KEY;
 
 /**
  * 动态 Spring Batch Job 示例
+ * <p>
+ * Job 由 {@link DynamicJobRegistry} 按模板以及参数（如：月份）注册，首次启动时才构建，而非在启动时为每个 Job
+ * 定义 Bean：
+ * <pre>
+ * &#64;Bean
+ * public Job mergeDataJob() {
+ *     return this.jobBuilderFactory.get("mergeDataJob")
+ *                      .start(mergeData())
+ *                      .build();
+ * }
+ * </pre>
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicJobRegistry
  * @since Job
  */
 public class DynamicJobsSample {
 
-    static JobBuilderFactory jobBuilderFactory = getJobBuilderFactory();
-    ;
-
-    public static void main(String[] args) {
-        for (int i = 0; i < 12; i++) {
-            /**
-             * <prev>
-             * @Bean
-             * public Job mergeDataJob() {
-             *     return this.jobBuilderFactory.get("mergeDataJob")
-             *                      .start(mergeData())
-             *                      .build();
-             * }
-             * public Job
-             *</prev>
-             */
-            genericBeanDefinition(Job.class, DynamicJobsSample::mergeDataJob);
+    private static final Logger logger = LoggerFactory.getLogger(DynamicJobsSample.class);
+
+    static final PlatformTransactionManager transactionManager = new ResourcelessTransactionManager();
+
+    /**
+     * 各类元数据写入 "数据库" 的行数
+     */
+    static final Map<JobMetadataChange.Kind, LongAdder> writtenRows = new ConcurrentHashMap<>();
+
+    static final WriteBehindJobRepository jobRepository = getJobRepository();
+
+    static JobBuilderFactory jobBuilderFactory = new JobBuilderFactory(jobRepository);
+
+    static StepBuilderFactory stepBuilderFactory = new StepBuilderFactory(jobRepository, transactionManager);
+
+    /**
+     * 各 Job 的分区 Worker 共享的有界线程池
+     */
+    static final ThreadPoolTaskExecutor taskExecutor = getTaskExecutor();
+
+    static final LongAdder mergedCount = new LongAdder();
+
+    public static void main(String[] args) throws Exception {
+        DynamicJobRegistry jobRegistry = new DynamicJobRegistry();
+        for (int i = 1; i <= 12; i++) {
+            jobRegistry.register("mergeDataJob", DynamicJobsSample::mergeDataJob,
+                    singletonMap("month", String.format("2024-%02d", i)));
         }
+
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+
+        // 近期月份优先，同一数据源最多 4 个 Job 并发，全年汇总依赖 12 月份
+        List<JobLaunchRequest> requests = new ArrayList<>();
+        for (String jobName : new TreeSet<>(jobRegistry.getJobNames())) {
+            requests.add(JobLaunchRequest.of(jobName).priority(requests.size()).resources("mergeDb"));
+        }
+        String summaryJobName = jobRegistry.register("mergeDataJob", DynamicJobsSample::mergeDataJob,
+                singletonMap("month", "2024"));
+        List<String> monthJobNames = requests.stream().map(JobLaunchRequest::getJobName).collect(Collectors.toList());
+        requests.add(JobLaunchRequest.of(summaryJobName).resources("mergeDb")
+                .dependsOn(monthJobNames.toArray(new String[0])));
+
+        try (JobLaunchScheduler scheduler = new JobLaunchScheduler(jobLauncher, jobRegistry, 8)) {
+            scheduler.resourceLimit("mergeDb", 4);
+            JobLaunchProgress progress = scheduler.submit(requests, p -> logger.info("{}", p));
+            progress.getCompletion().join().getJobExecutions()
+                    .forEach((jobName, jobExecution) -> logger.info("Job[{}] : {}", jobName, jobExecution.getStatus()));
+        }
+        logger.info("Merged : {}", mergedCount.sum());
+
+        jobRepository.close();
+        logger.info("Job metadata : {} changes in {} batches, {} coalesced, rows {}", jobRepository.getWrittenChangeCount(),
+                jobRepository.getWrittenBatchCount(), jobRepository.getCoalescedChangeCount(), writtenRows);
     }
 
-    private static Job mergeDataJob() {
-        return jobBuilderFactory.get("mergeDataJob")
-                .start(mergeData())
+    private static Job mergeDataJob(String jobName, Map<String, Object> parameters) {
+        return jobBuilderFactory.get(jobName)
+                .start(mergeData(parameters))
                 .build();
     }
 
-    private static Step mergeData() {
-        return null;
+    /**
+     * 合并数据，按键值区间分区，各分区由 Worker 线程并行处理
+     */
+    private static Step mergeData(Map<String, Object> parameters) {
+        Object month = parameters.get("month");
+        return new PartitionedStepBuilder<Long, String>(stepBuilderFactory, "mergeData")
+                .partitioner(new KeyRangePartitioner(1, 10000))
+                .gridSize(Runtime.getRuntime().availableProcessors())
+                .commitInterval(500)
+                .taskExecutor(taskExecutor)
+                .reader(partition -> new IteratorItemReader<>(
+                        rangeClosed(partition.getLong(MIN_KEY), partition.getLong(MAX_KEY)).iterator()))
+                .processor(key -> month + ":" + key)
+                .writer(items -> mergedCount.add(items.size()))
+                .build();
+    }
+
+    private static ThreadPoolTaskExecutor getTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        int processors = Runtime.getRuntime().availableProcessors();
+        taskExecutor.setCorePoolSize(processors);
+        taskExecutor.setMaxPoolSize(processors);
+        taskExecutor.setThreadNamePrefix("merge-data-");
+        taskExecutor.setDaemon(true);
+        taskExecutor.initialize();
+        return taskExecutor;
     }
 
-    private static JobBuilderFactory getJobBuilderFactory() {
-        // TODO
-        return null;
+    @SuppressWarnings("deprecation")
+    private static WriteBehindJobRepository getJobRepository() {
+        // 内存 JobRepository，元数据异步批量写入 "数据库"
+        try {
+            JobRepository repository = new org.springframework.batch.core.repository.support.MapJobRepositoryFactoryBean(
+                    transactionManager).getObject();
+            JobMetadataWriter writer = changes -> changes.forEach(change ->
+                    writtenRows.computeIfAbsent(change.getKind(), kind -> new LongAdder()).increment());
+            return new WriteBehindJobRepository(repository, writer, 1024, 128, true);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
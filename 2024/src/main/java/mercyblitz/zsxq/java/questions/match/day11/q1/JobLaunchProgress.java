@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.JobExecution;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 一批 Job 的启动进度，由 {@link JobLaunchScheduler#submit} 返回
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobLaunchScheduler
+ * @since 1.0.0
+ */
+public class JobLaunchProgress {
+
+    private final int total;
+
+    private int running;
+
+    private int completed;
+
+    private int failed;
+
+    private int skipped;
+
+    private final Map<String, JobExecution> jobExecutions = new LinkedHashMap<>();
+
+    private final Map<String, Throwable> failures = new LinkedHashMap<>();
+
+    private final CompletableFuture<JobLaunchProgress> completion = new CompletableFuture<>();
+
+    JobLaunchProgress(int total) {
+        this.total = total;
+    }
+
+    synchronized void started() {
+        running++;
+    }
+
+    synchronized void finished(String jobName, JobExecution jobExecution, Throwable failure, boolean success) {
+        running--;
+        if (jobExecution != null) {
+            jobExecutions.put(jobName, jobExecution);
+        }
+        if (success) {
+            completed++;
+        } else {
+            failed++;
+            if (failure != null) {
+                failures.put(jobName, failure);
+            }
+        }
+    }
+
+    synchronized void skipped() {
+        skipped++;
+    }
+
+    /**
+     * @return <code>true</code> if all jobs are done just now
+     */
+    synchronized boolean tryComplete() {
+        if (completed + failed + skipped == total && !completion.isDone()) {
+            completion.complete(this);
+            return true;
+        }
+        return false;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return 等待依赖或者资源的 Job 数量
+     */
+    public synchronized int getPendingCount() {
+        return total - running - completed - failed - skipped;
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    public synchronized int getCompletedCount() {
+        return completed;
+    }
+
+    public synchronized int getFailedCount() {
+        return failed;
+    }
+
+    /**
+     * @return 因依赖失败而跳过的 Job 数量
+     */
+    public synchronized int getSkippedCount() {
+        return skipped;
+    }
+
+    public synchronized Map<String, JobExecution> getJobExecutions() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(jobExecutions));
+    }
+
+    /**
+     * @return 启动失败的异常
+     */
+    public synchronized Map<String, Throwable> getFailures() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * @return 全部 Job 结束后完成的 {@link CompletableFuture}
+     */
+    public CompletableFuture<JobLaunchProgress> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "JobLaunchProgress{" +
+                "total=" + total +
+                ", pending=" + getPendingCount() +
+                ", running=" + running +
+                ", completed=" + completed +
+                ", failed=" + failed +
+                ", skipped=" + skipped +
+                '}';
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.JobParameters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Job 启动请求，包括优先级、占用的资源（如：数据源）以及依赖的 Job
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobLaunchScheduler
+ * @since 1.0.0
+ */
+public class JobLaunchRequest {
+
+    private final String jobName;
+
+    private final JobParameters jobParameters;
+
+    private int priority;
+
+    private final Set<String> resources = new LinkedHashSet<>();
+
+    private final Set<String> dependencies = new LinkedHashSet<>();
+
+    public JobLaunchRequest(String jobName, JobParameters jobParameters) {
+        this.jobName = jobName;
+        this.jobParameters = jobParameters;
+    }
+
+    public static JobLaunchRequest of(String jobName) {
+        return new JobLaunchRequest(jobName, new JobParameters());
+    }
+
+    /**
+     * @param priority 优先级，值越大越优先，默认为 0
+     */
+    public JobLaunchRequest priority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * @param resources 占用的资源名称，每个资源的并发数由 {@link JobLaunchScheduler#resourceLimit(String, int)} 限制
+     */
+    public JobLaunchRequest resources(String... resources) {
+        this.resources.addAll(Arrays.asList(resources));
+        return this;
+    }
+
+    /**
+     * @param jobNames 依赖的 Job 名称，须在同一批次中提交，其成功完成后才启动当前 Job
+     */
+    public JobLaunchRequest dependsOn(String... jobNames) {
+        this.dependencies.addAll(Arrays.asList(jobNames));
+        return this;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public JobParameters getJobParameters() {
+        return jobParameters;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Set<String> getResources() {
+        return Collections.unmodifiableSet(resources);
+    }
+
+    public Set<String> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    @Override
+    public String toString() {
+        return "JobLaunchRequest{" +
+                "jobName='" + jobName + '\'' +
+                ", priority=" + priority +
+                ", resources=" + resources +
+                ", dependencies=" + dependencies +
+                '}';
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.configuration.JobLocator;
+import org.springframework.batch.core.launch.JobLauncher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Job 并发启动调度器
+ * <p>
+ * Job 在有界线程池上由同步的 {@link JobLauncher} 启动，最多 {@code maxConcurrency} 个 Job 同时运行；每个资源
+ * （如：数据源）由 {@link Semaphore} 限制其并发的 Job 数量。依赖均已成功完成的 Job 按优先级（相同时按提交顺序）
+ * 启动，资源不足的 Job 不阻塞其后的 Job；依赖失败的 Job 被跳过。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobLaunchRequest
+ * @see JobLaunchProgress
+ * @since 1.0.0
+ */
+public class JobLaunchScheduler implements AutoCloseable {
+
+    private static final Comparator<Task> TASK_ORDER = Comparator.<Task>comparingInt(task -> -task.request.getPriority())
+            .thenComparingLong(task -> task.sequence);
+
+    private final JobLauncher jobLauncher;
+
+    private final JobLocator jobLocator;
+
+    private final int maxConcurrency;
+
+    private final ExecutorService executorService;
+
+    private final ConcurrentMap<String, Semaphore> resourceSemaphores = new ConcurrentHashMap<>();
+
+    /**
+     * 依赖均已完成的任务，由其监视器保护调度状态
+     */
+    private final TreeSet<Task> readyTasks = new TreeSet<>(TASK_ORDER);
+
+    /**
+     * 已提交但未启动且未跳过的任务
+     */
+    private final Set<Task> waitingTasks = new HashSet<>();
+
+    private int runningCount;
+
+    private boolean closed;
+
+    private long nextSequence;
+
+    /**
+     * @param jobLauncher    同步的 {@link JobLauncher}
+     * @param jobLocator     {@link JobLocator}，如：{@link DynamicJobRegistry}
+     * @param maxConcurrency 同时运行的 Job 上限，必须为正数
+     */
+    public JobLaunchScheduler(JobLauncher jobLauncher, JobLocator jobLocator, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The max concurrency must be positive : " + maxConcurrency);
+        }
+        this.jobLauncher = jobLauncher;
+        this.jobLocator = jobLocator;
+        this.maxConcurrency = maxConcurrency;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "job-launcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 限制资源的并发 Job 数量，未限制的资源不限并发
+     *
+     * @param resource 资源名称
+     * @param permits  并发数，必须为正数
+     * @return this
+     */
+    public JobLaunchScheduler resourceLimit(String resource, int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("The permits of resource[" + resource + "] must be positive : " + permits);
+        }
+        if (resourceSemaphores.putIfAbsent(resource, new Semaphore(permits)) != null) {
+            throw new IllegalStateException("The limit of resource[" + resource + "] has been set");
+        }
+        return this;
+    }
+
+    public JobLaunchProgress submit(Collection<JobLaunchRequest> requests) {
+        return submit(requests, progress -> {
+        });
+    }
+
+    /**
+     * 提交一批 Job
+     *
+     * @param requests 启动请求，Job 名称不能重复，依赖须在同一批次中且无环
+     * @param listener 进度监听器，每个 Job 开始、结束或者跳过时回调，可能在不同线程中被调用
+     * @return {@link JobLaunchProgress}
+     */
+    public JobLaunchProgress submit(Collection<JobLaunchRequest> requests, Consumer<JobLaunchProgress> listener) {
+        JobLaunchProgress progress = new JobLaunchProgress(requests.size());
+        Map<String, Task> tasks = new HashMap<>();
+        for (JobLaunchRequest request : requests) {
+            if (tasks.put(request.getJobName(), new Task(request, progress, listener)) != null) {
+                throw new IllegalArgumentException("The job[" + request.getJobName() + "] is duplicated");
+            }
+        }
+        for (Task task : tasks.values()) {
+            for (String dependency : task.request.getDependencies()) {
+                Task dependencyTask = tasks.get(dependency);
+                if (dependencyTask == null) {
+                    throw new IllegalArgumentException("The dependency[" + dependency + "] of job[" +
+                            task.request.getJobName() + "] is not submitted");
+                }
+                dependencyTask.dependents.add(task);
+                task.remainingDependencies++;
+            }
+        }
+        assertAcyclic(tasks.values());
+
+        synchronized (readyTasks) {
+            if (closed) {
+                throw new IllegalStateException("The JobLaunchScheduler has been closed");
+            }
+            for (JobLaunchRequest request : requests) {
+                Task task = tasks.get(request.getJobName());
+                task.sequence = nextSequence++;
+                waitingTasks.add(task);
+                if (task.remainingDependencies == 0) {
+                    readyTasks.add(task);
+                }
+            }
+        }
+        progress.tryComplete();
+        dispatch();
+        return progress;
+    }
+
+    private static void assertAcyclic(Collection<Task> tasks) {
+        // Kahn's algorithm
+        Map<Task, Integer> inDegrees = new HashMap<>();
+        List<Task> queue = new ArrayList<>();
+        for (Task task : tasks) {
+            inDegrees.put(task, task.remainingDependencies);
+            if (task.remainingDependencies == 0) {
+                queue.add(task);
+            }
+        }
+        for (int i = 0; i < queue.size(); i++) {
+            for (Task dependent : queue.get(i).dependents) {
+                if (inDegrees.merge(dependent, -1, Integer::sum) == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (queue.size() < tasks.size()) {
+            throw new IllegalArgumentException("The dependencies of jobs are cyclic");
+        }
+    }
+
+    /**
+     * 按顺序启动就绪且资源充足的任务
+     */
+    private void dispatch() {
+        List<Task> startedTasks = new ArrayList<>();
+        synchronized (readyTasks) {
+            if (closed) {
+                return;
+            }
+            Iterator<Task> iterator = readyTasks.iterator();
+            while (runningCount < maxConcurrency && iterator.hasNext()) {
+                Task task = iterator.next();
+                if (acquire(task)) {
+                    iterator.remove();
+                    waitingTasks.remove(task);
+                    runningCount++;
+                    startedTasks.add(task);
+                }
+            }
+        }
+        for (Task task : startedTasks) {
+            task.progress.started();
+            task.listener.accept(task.progress);
+            try {
+                executorService.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                // 并发关闭
+                finish(task, null, e);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        JobExecution jobExecution = null;
+        Throwable failure = null;
+        try {
+            jobExecution = jobLauncher.run(jobLocator.getJob(task.request.getJobName()), task.request.getJobParameters());
+        } catch (Throwable e) {
+            failure = e;
+        }
+        finish(task, jobExecution, failure);
+    }
+
+    private void finish(Task task, JobExecution jobExecution, Throwable failure) {
+        boolean success = jobExecution != null && jobExecution.getStatus() == BatchStatus.COMPLETED;
+        List<Task> skippedTasks = new ArrayList<>();
+        synchronized (readyTasks) {
+            runningCount--;
+            release(task);
+            for (Task dependent : task.dependents) {
+                if (success) {
+                    if (!dependent.skipped && --dependent.remainingDependencies == 0) {
+                        readyTasks.add(dependent);
+                    }
+                } else {
+                    skip(dependent, skippedTasks);
+                }
+            }
+        }
+        JobLaunchProgress progress = task.progress;
+        progress.finished(task.request.getJobName(), jobExecution, failure, success);
+        for (int i = 0; i < skippedTasks.size(); i++) {
+            progress.skipped();
+        }
+        task.listener.accept(progress);
+        progress.tryComplete();
+        dispatch();
+    }
+
+    private void skip(Task task, List<Task> skippedTasks) {
+        if (task.skipped) {
+            return;
+        }
+        task.skipped = true;
+        waitingTasks.remove(task);
+        skippedTasks.add(task);
+        for (Task dependent : task.dependents) {
+            skip(dependent, skippedTasks);
+        }
+    }
+
+    /**
+     * 获取全部资源，若任一资源不足则释放已获取的资源
+     */
+    private boolean acquire(Task task) {
+        List<Semaphore> acquired = new ArrayList<>();
+        for (String resource : task.request.getResources()) {
+            Semaphore semaphore = resourceSemaphores.get(resource);
+            if (semaphore == null) {
+                continue;
+            }
+            if (!semaphore.tryAcquire()) {
+                acquired.forEach(Semaphore::release);
+                return false;
+            }
+            acquired.add(semaphore);
+        }
+        return true;
+    }
+
+    private void release(Task task) {
+        for (String resource : task.request.getResources()) {
+            Semaphore semaphore = resourceSemaphores.get(resource);
+            if (semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+
+    /**
+     * 停止调度，未启动的 Job 被跳过，运行中的 Job 执行至结束
+     */
+    @Override
+    public void close() {
+        List<Task> skippedTasks = new ArrayList<>();
+        synchronized (readyTasks) {
+            closed = true;
+            readyTasks.clear();
+            for (Task task : new ArrayList<>(waitingTasks)) {
+                skip(task, skippedTasks);
+            }
+        }
+        executorService.shutdown();
+        for (Task task : skippedTasks) {
+            task.progress.skipped();
+        }
+        for (Task task : skippedTasks) {
+            task.listener.accept(task.progress);
+            task.progress.tryComplete();
+        }
+    }
+
+    private static class Task {
+
+        private final JobLaunchRequest request;
+
+        private final JobLaunchProgress progress;
+
+        private final Consumer<JobLaunchProgress> listener;
+
+        private final List<Task> dependents = new ArrayList<>();
+
+        private int remainingDependencies;
+
+        private boolean skipped;
+
+        private long sequence;
+
+        Task(JobLaunchRequest request, JobLaunchProgress progress, Consumer<JobLaunchProgress> listener) {
+            this.request = request;
+            this.progress = progress;
+            this.listener = listener;
+        }
+    }
+}
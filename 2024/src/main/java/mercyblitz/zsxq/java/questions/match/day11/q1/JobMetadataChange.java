@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Job 元数据变更，由 {@link WriteBehindJobRepository} 批量交给 {@link JobMetadataWriter} 持久化
+ * <p>
+ * 元数据为变更时的快照（{@link org.springframework.batch.core.JobInstance}、
+ * {@link org.springframework.batch.core.JobExecution}、{@link StepExecutionSnapshot}
+ * 或者 {@link org.springframework.batch.item.ExecutionContext}），同一批次中同一元数据的多次变更只保留最后一次。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobMetadataWriter
+ * @since 1.0.0
+ */
+public class JobMetadataChange {
+
+    public enum Kind {
+
+        JOB_INSTANCE,
+
+        JOB_EXECUTION,
+
+        JOB_EXECUTION_CONTEXT,
+
+        STEP_EXECUTION,
+
+        STEP_EXECUTION_CONTEXT
+    }
+
+    private final Kind kind;
+
+    private final long id;
+
+    private final Object metadata;
+
+    /**
+     * 等待持久化完成的变更，否则为 <code>null</code>
+     */
+    final CompletableFuture<Void> durability;
+
+    JobMetadataChange(Kind kind, long id, Object metadata, boolean awaitDurability) {
+        this.kind = kind;
+        this.id = id;
+        this.metadata = metadata;
+        this.durability = awaitDurability ? new CompletableFuture<>() : null;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return 元数据的 ID，执行上下文为其所属 Job 或者 Step 执行的 ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    public Object getMetadata() {
+        return metadata;
+    }
+
+    public <T> T getMetadata(Class<T> metadataType) {
+        return metadataType.cast(metadata);
+    }
+
+    @Override
+    public String toString() {
+        return "JobMetadataChange{" +
+                "kind=" + kind +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import java.util.List;
+
+/**
+ * Job 元数据持久化，如：按 ID 批量 Upsert 到 Spring Batch 元数据表（BATCH_JOB_INSTANCE、BATCH_JOB_EXECUTION 等）
+ * <p>
+ * 元数据的 ID 由内存 {@link org.springframework.batch.core.repository.JobRepository} 分配，实现须按 ID 幂等写入，
+ * 失败的批次会与之后的变更合并后重试。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WriteBehindJobRepository
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface JobMetadataWriter {
+
+    /**
+     * 在同一事务中写入一批变更
+     *
+     * @param changes 按首次变更顺序排列的元数据变更，Job 实例以及执行先于其 Step 执行
+     * @throws Exception 写入失败
+     */
+    void write(List<JobMetadataChange> changes) throws Exception;
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.Job;
+
+import java.util.Map;
+
+/**
+ * Job 模板，按照参数构建 {@link Job}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicJobRegistry
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface JobTemplate {
+
+    /**
+     * 构建 {@link Job}
+     *
+     * @param jobName    唯一的 Job 名称
+     * @param parameters 模板参数（只读）
+     * @return non-null
+     */
+    Job build(String jobName, Map<String, Object> parameters);
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按照键值区间（闭区间）均分的 {@link Partitioner}，分区的区间保存于 {@link ExecutionContext} 的
+ * {@link #MIN_KEY} 以及 {@link #MAX_KEY}；按文件分区可使用 {@link MultiResourcePartitioner}。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see Partitioner
+ * @since 1.0.0
+ */
+public class KeyRangePartitioner implements Partitioner {
+
+    public static final String PARTITION_NAME_PREFIX = "partition";
+
+    public static final String MIN_KEY = "minKey";
+
+    public static final String MAX_KEY = "maxKey";
+
+    private final long minKey;
+
+    private final long maxKey;
+
+    public KeyRangePartitioner(long minKey, long maxKey) {
+        if (minKey > maxKey) {
+            throw new IllegalArgumentException("The min key must not be greater than max key : [" + minKey + " , " + maxKey + "]");
+        }
+        this.minKey = minKey;
+        this.maxKey = maxKey;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long total = maxKey - minKey + 1;
+        long size = Math.max(1, (total + gridSize - 1) / gridSize);
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        long start = minKey;
+        for (int i = 0; start <= maxKey; i++) {
+            long end = Math.min(maxKey, start + size - 1);
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putLong(MIN_KEY, start);
+            executionContext.putLong(MAX_KEY, end);
+            partitions.put(PARTITION_NAME_PREFIX + i, executionContext);
+            if (end == maxKey) {
+                break;
+            }
+            start = end + 1;
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 本进程的 {@link PartitionChannel}，Worker {@link Step} 在 {@link TaskExecutor} 上执行，作为远程 Worker 的替身
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see PartitionChannel
+ * @since 1.0.0
+ */
+public class LocalPartitionChannel implements PartitionChannel {
+
+    private final Step workerStep;
+
+    private final TaskExecutor taskExecutor;
+
+    public LocalPartitionChannel(Step workerStep, TaskExecutor taskExecutor) {
+        this.workerStep = workerStep;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public Future<StepExecution> send(StepExecution partitionExecution) {
+        FutureTask<StepExecution> task = new FutureTask<>(() -> {
+            try {
+                workerStep.execute(partitionExecution);
+            } catch (Throwable e) {
+                partitionExecution.setStatus(BatchStatus.FAILED);
+                partitionExecution.addFailureException(e);
+            }
+            return partitionExecution;
+        });
+        taskExecutor.execute(task);
+        return task;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.StepExecution;
+
+import java.util.concurrent.Future;
+
+/**
+ * 分区通道，将分区发送至 Worker 执行，Worker 可以位于本进程（{@link LocalPartitionChannel}）或者远程 JVM
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LocalPartitionChannel
+ * @see ChannelPartitionHandler
+ * @since 1.0.0
+ */
+public interface PartitionChannel {
+
+    /**
+     * 发送分区
+     *
+     * @param partitionExecution 分区的 {@link StepExecution}
+     * @return 执行完成（包括失败）的 {@link StepExecution}
+     */
+    Future<StepExecution> send(StepExecution partitionExecution);
+}
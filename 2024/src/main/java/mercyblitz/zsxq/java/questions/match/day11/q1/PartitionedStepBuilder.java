@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.function.Function;
+
+/**
+ * 分区 {@link Step} 构建器
+ * <p>
+ * {@link Partitioner} 将输入（如：{@link KeyRangePartitioner 键值区间}或者文件）切分为 {@link #gridSize(int) gridSize}
+ * 个分区，{@link ChunkWorkerStep Worker} 按 {@link #commitInterval(int) 提交间隔}以 Chunk 的方式处理各分区，分区由
+ * {@link PartitionChannel} 分发，默认为本进程的 {@link LocalPartitionChannel}，Worker 在有界的 {@link TaskExecutor}
+ * 上执行，默认并发数为 CPU 核数。
+ *
+ * @param <I> 读取类型
+ * @param <O> 写入类型
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see KeyRangePartitioner
+ * @see ChunkWorkerStep
+ * @see ChannelPartitionHandler
+ * @since 1.0.0
+ */
+public class PartitionedStepBuilder<I, O> {
+
+    public static final int DEFAULT_COMMIT_INTERVAL = 100;
+
+    private final StepBuilderFactory stepBuilderFactory;
+
+    private final String name;
+
+    private Partitioner partitioner;
+
+    private int gridSize = Runtime.getRuntime().availableProcessors();
+
+    private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    private TaskExecutor taskExecutor;
+
+    private Function<Step, PartitionChannel> partitionChannelFactory;
+
+    private Function<ExecutionContext, ItemReader<? extends I>> readerFactory;
+
+    private ItemProcessor<? super I, ? extends O> processor;
+
+    private ItemWriter<? super O> writer;
+
+    public PartitionedStepBuilder(StepBuilderFactory stepBuilderFactory, String name) {
+        this.stepBuilderFactory = stepBuilderFactory;
+        this.name = name;
+    }
+
+    public PartitionedStepBuilder<I, O> partitioner(Partitioner partitioner) {
+        this.partitioner = partitioner;
+        return this;
+    }
+
+    /**
+     * @param gridSize 分区数，必须为正数，默认为 CPU 核数
+     */
+    public PartitionedStepBuilder<I, O> gridSize(int gridSize) {
+        if (gridSize < 1) {
+            throw new IllegalArgumentException("The grid size must be positive : " + gridSize);
+        }
+        this.gridSize = gridSize;
+        return this;
+    }
+
+    /**
+     * @param commitInterval 每个 Chunk（事务）的数据条数，必须为正数，默认为 {@value #DEFAULT_COMMIT_INTERVAL}
+     */
+    public PartitionedStepBuilder<I, O> commitInterval(int commitInterval) {
+        if (commitInterval < 1) {
+            throw new IllegalArgumentException("The commit interval must be positive : " + commitInterval);
+        }
+        this.commitInterval = commitInterval;
+        return this;
+    }
+
+    /**
+     * @param taskExecutor 本进程 Worker 的 {@link TaskExecutor}，应当有界，默认为并发数限制为 gridSize 的
+     *                     {@link SimpleAsyncTaskExecutor}
+     */
+    public PartitionedStepBuilder<I, O> taskExecutor(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+        return this;
+    }
+
+    /**
+     * @param partitionChannelFactory 按 Worker {@link Step} 创建 {@link PartitionChannel}，如：远程 Worker 的通道，
+     *                                默认为 {@link LocalPartitionChannel}
+     */
+    public PartitionedStepBuilder<I, O> partitionChannel(Function<Step, PartitionChannel> partitionChannelFactory) {
+        this.partitionChannelFactory = partitionChannelFactory;
+        return this;
+    }
+
+    /**
+     * @param readerFactory 按分区的 {@link ExecutionContext} 创建 {@link ItemReader}
+     */
+    public PartitionedStepBuilder<I, O> reader(Function<ExecutionContext, ItemReader<? extends I>> readerFactory) {
+        this.readerFactory = readerFactory;
+        return this;
+    }
+
+    public PartitionedStepBuilder<I, O> processor(ItemProcessor<? super I, ? extends O> processor) {
+        this.processor = processor;
+        return this;
+    }
+
+    public PartitionedStepBuilder<I, O> writer(ItemWriter<? super O> writer) {
+        this.writer = writer;
+        return this;
+    }
+
+    public Step build() {
+        if (partitioner == null || readerFactory == null || writer == null) {
+            throw new IllegalStateException("The partitioner, reader and writer must be present");
+        }
+        ChunkWorkerStep<I, O> workerStep = new ChunkWorkerStep<>(name + "Worker", stepBuilderFactory, readerFactory,
+                processor, writer, commitInterval);
+        PartitionChannel partitionChannel = partitionChannelFactory == null ?
+                new LocalPartitionChannel(workerStep, taskExecutor == null ? defaultTaskExecutor() : taskExecutor) :
+                partitionChannelFactory.apply(workerStep);
+        return stepBuilderFactory.get(name)
+                .partitioner(workerStep.getName(), partitioner)
+                .partitionHandler(new ChannelPartitionHandler(partitionChannel, gridSize))
+                .build();
+    }
+
+    private TaskExecutor defaultTaskExecutor() {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(name + "-");
+        taskExecutor.setConcurrencyLimit(gridSize);
+        return taskExecutor;
+    }
+}
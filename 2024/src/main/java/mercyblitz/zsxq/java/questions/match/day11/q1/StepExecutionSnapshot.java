@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+
+import java.util.Date;
+
+/**
+ * {@link StepExecution} 的快照，仅包含 BATCH_STEP_EXECUTION 表持久化的标量字段
+ * <p>
+ * 不同于序列化 {@link StepExecution}（会连带其 {@link org.springframework.batch.core.JobExecution} 以及所有兄弟分区的
+ * Step 执行与上下文），快照的开销与分区数无关，适合在 Chunk 提交时创建。执行上下文由
+ * {@link JobMetadataChange.Kind#STEP_EXECUTION_CONTEXT} 变更单独写入。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WriteBehindJobRepository
+ * @since 1.0.0
+ */
+public class StepExecutionSnapshot {
+
+    private final Long id;
+
+    private final Integer version;
+
+    private final Long jobExecutionId;
+
+    private final String stepName;
+
+    private final BatchStatus status;
+
+    private final ExitStatus exitStatus;
+
+    private final int readCount;
+
+    private final int writeCount;
+
+    private final int commitCount;
+
+    private final int rollbackCount;
+
+    private final int readSkipCount;
+
+    private final int processSkipCount;
+
+    private final int writeSkipCount;
+
+    private final int filterCount;
+
+    private final Date startTime;
+
+    private final Date endTime;
+
+    private final Date lastUpdated;
+
+    public StepExecutionSnapshot(StepExecution stepExecution) {
+        this.id = stepExecution.getId();
+        this.version = stepExecution.getVersion();
+        this.jobExecutionId = stepExecution.getJobExecutionId();
+        this.stepName = stepExecution.getStepName();
+        this.status = stepExecution.getStatus();
+        this.exitStatus = stepExecution.getExitStatus();
+        this.readCount = stepExecution.getReadCount();
+        this.writeCount = stepExecution.getWriteCount();
+        this.commitCount = stepExecution.getCommitCount();
+        this.rollbackCount = stepExecution.getRollbackCount();
+        this.readSkipCount = stepExecution.getReadSkipCount();
+        this.processSkipCount = stepExecution.getProcessSkipCount();
+        this.writeSkipCount = stepExecution.getWriteSkipCount();
+        this.filterCount = stepExecution.getFilterCount();
+        this.startTime = copy(stepExecution.getStartTime());
+        this.endTime = copy(stepExecution.getEndTime());
+        this.lastUpdated = copy(stepExecution.getLastUpdated());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public Long getJobExecutionId() {
+        return jobExecutionId;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public BatchStatus getStatus() {
+        return status;
+    }
+
+    public ExitStatus getExitStatus() {
+        return exitStatus;
+    }
+
+    public int getReadCount() {
+        return readCount;
+    }
+
+    public int getWriteCount() {
+        return writeCount;
+    }
+
+    public int getCommitCount() {
+        return commitCount;
+    }
+
+    public int getRollbackCount() {
+        return rollbackCount;
+    }
+
+    public int getReadSkipCount() {
+        return readSkipCount;
+    }
+
+    public int getProcessSkipCount() {
+        return processSkipCount;
+    }
+
+    public int getWriteSkipCount() {
+        return writeSkipCount;
+    }
+
+    public int getFilterCount() {
+        return filterCount;
+    }
+
+    public Date getStartTime() {
+        return copy(startTime);
+    }
+
+    public Date getEndTime() {
+        return copy(endTime);
+    }
+
+    public Date getLastUpdated() {
+        return copy(lastUpdated);
+    }
+
+    private static Date copy(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
+    @Override
+    public String toString() {
+        return "StepExecutionSnapshot{" +
+                "id=" + id +
+                ", version=" + version +
+                ", stepName='" + stepName + '\'' +
+                ", status=" + status +
+                ", readCount=" + readCount +
+                ", writeCount=" + writeCount +
+                ", commitCount=" + commitCount +
+                '}';
+    }
+}
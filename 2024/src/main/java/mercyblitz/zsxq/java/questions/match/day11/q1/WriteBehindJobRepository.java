@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.SerializationUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind.JOB_EXECUTION;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind.JOB_EXECUTION_CONTEXT;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind.JOB_INSTANCE;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind.STEP_EXECUTION;
+import static mercyblitz.zsxq.java.questions.match.day11.q1.JobMetadataChange.Kind.STEP_EXECUTION_CONTEXT;
+
+/**
+ * 异步批量写回（Write-Behind）的 {@link JobRepository}
+ * <p>
+ * 元数据的读写由内存 {@link JobRepository}（如：{@link org.springframework.batch.core.repository.support.MapJobRepositoryFactoryBean}）
+ * 完成，变更的快照进入有界队列，由后台线程合并后批量交给 {@link JobMetadataWriter} 持久化，因此 Chunk 提交时的
+ * Step 执行以及执行上下文更新不再等待数据库。队列已满时写入方阻塞，内存占用有上限。
+ * <p>
+ * 开启 {@code syncOnJobBoundary} 时，Job 实例以及 Job 执行的变更（启动、结束）等待持久化完成后才返回，由于队列有序，
+ * 其之前的 Step 变更也已持久化：进程崩溃后，数据库中已完成的 Job 其 Step 元数据必定完整，未完成的 Job 至多丢失最后一批
+ * Step 进度，与 JDBC {@link JobRepository} 下崩溃的 Job 一样保持为运行状态。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobMetadataWriter
+ * @since 1.0.0
+ */
+public class WriteBehindJobRepository implements JobRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindJobRepository.class);
+
+    private static final long FLUSH_INTERVAL = 100;
+
+    private static final long RETRY_INTERVAL = 1000;
+
+    private final JobRepository repository;
+
+    private final JobMetadataWriter writer;
+
+    private final BlockingQueue<JobMetadataChange> queue;
+
+    private final int batchSize;
+
+    private final boolean syncOnJobBoundary;
+
+    private final Thread writerThread;
+
+    private volatile boolean closed;
+
+    private volatile long writtenBatchCount;
+
+    private volatile long writtenChangeCount;
+
+    private volatile long coalescedChangeCount;
+
+    /**
+     * @param repository        内存 {@link JobRepository}
+     * @param writer            {@link JobMetadataWriter}
+     * @param queueCapacity     队列容量
+     * @param batchSize         每批最多的变更数
+     * @param syncOnJobBoundary Job 实例以及 Job 执行的变更是否等待持久化完成
+     */
+    public WriteBehindJobRepository(JobRepository repository, JobMetadataWriter writer, int queueCapacity,
+                                    int batchSize, boolean syncOnJobBoundary) {
+        if (batchSize < 1 || queueCapacity < batchSize) {
+            throw new IllegalArgumentException("The batch size must be positive and not greater than the queue capacity : "
+                    + batchSize + " / " + queueCapacity);
+        }
+        this.repository = repository;
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.syncOnJobBoundary = syncOnJobBoundary;
+        this.writerThread = new Thread(this::writeBehind, "job-repository-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public boolean isJobInstanceExists(String jobName, JobParameters jobParameters) {
+        return repository.isJobInstanceExists(jobName, jobParameters);
+    }
+
+    @Override
+    public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+        JobInstance jobInstance = repository.createJobInstance(jobName, jobParameters);
+        await(enqueue(JOB_INSTANCE, jobInstance.getId(), jobInstance, syncOnJobBoundary));
+        return jobInstance;
+    }
+
+    @Override
+    public JobExecution createJobExecution(JobInstance jobInstance, JobParameters jobParameters, String jobConfigurationLocation) {
+        JobExecution jobExecution = repository.createJobExecution(jobInstance, jobParameters, jobConfigurationLocation);
+        created(jobExecution);
+        return jobExecution;
+    }
+
+    @Override
+    public JobExecution createJobExecution(String jobName, JobParameters jobParameters) throws JobExecutionAlreadyRunningException,
+            JobRestartException, JobInstanceAlreadyCompleteException {
+        JobExecution jobExecution = repository.createJobExecution(jobName, jobParameters);
+        created(jobExecution);
+        return jobExecution;
+    }
+
+    private void created(JobExecution jobExecution) {
+        JobInstance jobInstance = jobExecution.getJobInstance();
+        enqueue(JOB_INSTANCE, jobInstance.getId(), jobInstance, false);
+        enqueue(JOB_EXECUTION_CONTEXT, jobExecution.getId(), new ExecutionContext(jobExecution.getExecutionContext()), false);
+        await(enqueue(JOB_EXECUTION, jobExecution.getId(), copy(jobExecution), syncOnJobBoundary));
+    }
+
+    @Override
+    public void update(JobExecution jobExecution) {
+        repository.update(jobExecution);
+        await(enqueue(JOB_EXECUTION, jobExecution.getId(), copy(jobExecution), syncOnJobBoundary));
+    }
+
+    @Override
+    public void updateExecutionContext(JobExecution jobExecution) {
+        repository.updateExecutionContext(jobExecution);
+        enqueue(JOB_EXECUTION_CONTEXT, jobExecution.getId(), new ExecutionContext(jobExecution.getExecutionContext()), false);
+    }
+
+    @Override
+    public void add(StepExecution stepExecution) {
+        repository.add(stepExecution);
+        added(stepExecution);
+    }
+
+    @Override
+    public void addAll(Collection<StepExecution> stepExecutions) {
+        repository.addAll(stepExecutions);
+        stepExecutions.forEach(this::added);
+    }
+
+    private void added(StepExecution stepExecution) {
+        enqueue(STEP_EXECUTION, stepExecution.getId(), new StepExecutionSnapshot(stepExecution), false);
+        enqueue(STEP_EXECUTION_CONTEXT, stepExecution.getId(), new ExecutionContext(stepExecution.getExecutionContext()), false);
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        repository.update(stepExecution);
+        enqueue(STEP_EXECUTION, stepExecution.getId(), new StepExecutionSnapshot(stepExecution), false);
+    }
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        repository.updateExecutionContext(stepExecution);
+        enqueue(STEP_EXECUTION_CONTEXT, stepExecution.getId(), new ExecutionContext(stepExecution.getExecutionContext()), false);
+    }
+
+    @Override
+    public StepExecution getLastStepExecution(JobInstance jobInstance, String stepName) {
+        return repository.getLastStepExecution(jobInstance, stepName);
+    }
+
+    @Override
+    public int getStepExecutionCount(JobInstance jobInstance, String stepName) {
+        return repository.getStepExecutionCount(jobInstance, stepName);
+    }
+
+    @Override
+    public JobExecution getLastJobExecution(String jobName, JobParameters jobParameters) {
+        return repository.getLastJobExecution(jobName, jobParameters);
+    }
+
+    /**
+     * 执行中的 Job 执行会被继续修改，入队的是其快照，Job 执行仅在启动与结束时变更，而 Step 执行在每次 Chunk 提交时变更，
+     * 其快照为 {@link StepExecutionSnapshot}
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> T copy(T execution) {
+        return (T) SerializationUtils.deserialize(SerializationUtils.serialize(execution));
+    }
+
+    private JobMetadataChange enqueue(Kind kind, long id, Object metadata, boolean awaitDurability) {
+        if (closed) {
+            throw new IllegalStateException("The WriteBehindJobRepository has been closed");
+        }
+        JobMetadataChange change = new JobMetadataChange(kind, id, metadata, awaitDurability);
+        try {
+            queue.put(change);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while enqueuing " + change, e);
+        }
+        return change;
+    }
+
+    private static void await(JobMetadataChange change) {
+        if (change.durability == null) {
+            return;
+        }
+        try {
+            change.durability.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while writing " + change, e);
+        } catch (ExecutionException e) {
+            throw new DataAccessResourceFailureException("Failed to write " + change, e.getCause());
+        }
+    }
+
+    private void writeBehind() {
+        // 按 Kind 以及 ID 合并，保留首次变更的顺序
+        Map<Long, JobMetadataChange> pendingChanges = new LinkedHashMap<>();
+        List<CompletableFuture<Void>> pendingDurabilities = new ArrayList<>();
+        try {
+            while (!closed || !queue.isEmpty() || !pendingChanges.isEmpty()) {
+                if (pendingChanges.isEmpty()) {
+                    JobMetadataChange change = queue.poll(FLUSH_INTERVAL, MILLISECONDS);
+                    if (change == null) {
+                        continue;
+                    }
+                    coalesce(change, pendingChanges, pendingDurabilities);
+                }
+                linger(pendingChanges, pendingDurabilities);
+                write(pendingChanges, pendingDurabilities);
+            }
+        } catch (InterruptedException e) {
+            closed = true;
+            logger.error("The job metadata writer is interrupted, {} changes are discarded", pendingChanges.size() + queue.size());
+            discard(pendingChanges, pendingDurabilities, e);
+        }
+    }
+
+    /**
+     * 攒批：自首个变更起最多等待 {@link #FLUSH_INTERVAL} 毫秒或者攒满一批，有变更等待持久化或者已关闭时不再等待
+     */
+    private void linger(Map<Long, JobMetadataChange> pendingChanges, List<CompletableFuture<Void>> pendingDurabilities)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(FLUSH_INTERVAL);
+        while (pendingChanges.size() < batchSize) {
+            JobMetadataChange change = queue.poll();
+            if (change == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || closed || !pendingDurabilities.isEmpty()) {
+                    return;
+                }
+                change = queue.poll(remaining, NANOSECONDS);
+                if (change == null) {
+                    return;
+                }
+            }
+            coalesce(change, pendingChanges, pendingDurabilities);
+        }
+    }
+
+    private void coalesce(JobMetadataChange change, Map<Long, JobMetadataChange> pendingChanges,
+                          List<CompletableFuture<Void>> pendingDurabilities) {
+        long key = change.getId() * Kind.values().length + change.getKind().ordinal();
+        if (pendingChanges.put(key, change) != null) {
+            coalescedChangeCount++;
+        }
+        if (change.durability != null) {
+            pendingDurabilities.add(change.durability);
+        }
+    }
+
+    private void write(Map<Long, JobMetadataChange> pendingChanges, List<CompletableFuture<Void>> pendingDurabilities)
+            throws InterruptedException {
+        try {
+            writer.write(new ArrayList<>(pendingChanges.values()));
+            writtenBatchCount++;
+            writtenChangeCount += pendingChanges.size();
+            pendingChanges.clear();
+            pendingDurabilities.forEach(durability -> durability.complete(null));
+            pendingDurabilities.clear();
+        } catch (Exception e) {
+            if (closed) {
+                logger.error("Failed to write {} job metadata changes on close, discarded", pendingChanges.size() + queue.size(), e);
+                discard(pendingChanges, pendingDurabilities, e);
+            } else {
+                // 失败的批次保留，与之后的变更合并后重试，等待中的变更在写入成功后才返回
+                logger.warn("Failed to write {} job metadata changes, retry in {} ms", pendingChanges.size(), RETRY_INTERVAL, e);
+                Thread.sleep(RETRY_INTERVAL);
+            }
+        }
+    }
+
+    private void discard(Map<Long, JobMetadataChange> pendingChanges, List<CompletableFuture<Void>> pendingDurabilities,
+                         Throwable cause) {
+        pendingDurabilities.forEach(durability -> durability.completeExceptionally(cause));
+        pendingDurabilities.clear();
+        pendingChanges.clear();
+        JobMetadataChange change;
+        while ((change = queue.poll()) != null) {
+            if (change.durability != null) {
+                change.durability.completeExceptionally(cause);
+            }
+        }
+    }
+
+    public long getWrittenBatchCount() {
+        return writtenBatchCount;
+    }
+
+    public long getWrittenChangeCount() {
+        return writtenChangeCount;
+    }
+
+    /**
+     * @return 合并后无需写入的变更数
+     */
+    public long getCoalescedChangeCount() {
+        return coalescedChangeCount;
+    }
+
+    /**
+     * 停止接收变更，等待队列中的变更写入完成
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -16,28 +16,83 @@
  */
 package mercyblitz.zsxq.java.questions.match.day11.q2;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static mercyblitz.zsxq.java.questions.match.day11.q2.ScheduledTaskRegistry.cron;
+import static mercyblitz.zsxq.java.questions.match.day11.q2.ScheduledTaskRegistry.fixedRate;
 
 /**
  * {@link ScheduledAnnotationBeanPostProcessor} Sample
+ * <p>
+ * {@code @Scheduled} 任务以及租户任务由 {@link ScheduledTaskRegistry} 管理，{@link ContextRefreshedEvent} 重复触发时
+ * 不会重复调度。
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see EnableScheduling
  * @see ScheduledAnnotationBeanPostProcessor
+ * @see ScheduledTaskRegistry
  */
 @EnableScheduling
 public class ScheduledAnnotationBeanPostProcessorSample {
 
-    public static void main(String[] args) {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledAnnotationBeanPostProcessorSample.class);
+
+    private final LongAdder heartbeats = new LongAdder();
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(4);
+        taskScheduler.setThreadNamePrefix("scheduler-");
+        taskScheduler.initialize();
+        return taskScheduler;
+    }
+
+    @Bean
+    public ScheduledTaskRegistry scheduledTaskRegistry(ThreadPoolTaskScheduler taskScheduler) {
+        return new ScheduledTaskRegistry(taskScheduler);
+    }
+
+    @Scheduled(fixedRate = 100)
+    public void heartbeat() {
+        heartbeats.increment();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
         Class<?> configClass = ScheduledAnnotationBeanPostProcessorSample.class;
         AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(configClass);
 
         ScheduledAnnotationBeanPostProcessor processor = context.getBean(ScheduledAnnotationBeanPostProcessor.class);
 
+        // 重复触发，@Scheduled 任务不会被重复调度
         processor.onApplicationEvent(new ContextRefreshedEvent(context));
 
+        ScheduledTaskRegistry registry = context.getBean(ScheduledTaskRegistry.class);
+
+        // 租户任务，无需刷新上下文
+        LongAdder reports = new LongAdder();
+        for (int i = 1; i <= 1000; i++) {
+            registry.schedule("tenant-" + i + ":report", reports::increment, cron("0 0 * * * *"));
+        }
+        registry.reschedule("tenant-1:report", fixedRate(50));
+        registry.cancel("tenant-1000:report");
+
+        Thread.sleep(1000);
+
+        ScheduledAnnotationBeanPostProcessorSample sample = context.getBean(ScheduledAnnotationBeanPostProcessorSample.class);
+        logger.info("Tasks : {}, heartbeats : {}, reports : {}", registry.size(), sample.heartbeats.sum(), reports.sum());
+        logger.info("{}", registry.getHandle("tenant-1:report"));
+
+        context.close();
     }
 }
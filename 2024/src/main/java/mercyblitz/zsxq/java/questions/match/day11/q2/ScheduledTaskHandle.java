@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q2;
+
+import org.springframework.scheduling.Trigger;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * {@link ScheduledTaskRegistry} 中已调度任务的句柄
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ScheduledTaskRegistry
+ * @since 1.0.0
+ */
+public class ScheduledTaskHandle {
+
+    private final String id;
+
+    private final Runnable task;
+
+    private final Trigger trigger;
+
+    private final ScheduledFuture<?> future;
+
+    ScheduledTaskHandle(String id, Runnable task, Trigger trigger, ScheduledFuture<?> future) {
+        this.id = id;
+        this.task = task;
+        this.trigger = trigger;
+        this.future = future;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Runnable getTask() {
+        return task;
+    }
+
+    public Trigger getTrigger() {
+        return trigger;
+    }
+
+    /**
+     * @return 任务被取消（移除或者重新调度）时返回 <code>true</code>
+     */
+    public boolean isCancelled() {
+        return future.isCancelled();
+    }
+
+    boolean isSameAs(Runnable task, Trigger trigger) {
+        return this.task == task && this.trigger.equals(trigger);
+    }
+
+    void cancel() {
+        // 不中断执行中的任务
+        future.cancel(false);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduledTaskHandle{" +
+                "id='" + id + '\'' +
+                ", trigger=" + trigger +
+                ", cancelled=" + isCancelled() +
+                '}';
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q2;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.Collections.unmodifiableCollection;
+
+/**
+ * 可在运行时添加、移除以及重新调度任务的注册中心
+ * <p>
+ * 任务按 ID 索引，注册、重新调度以及移除均为 O(1)，适用于大量的租户级任务。作为 {@link SchedulingConfigurer} Bean 时，
+ * {@link ScheduledAnnotationBeanPostProcessor} 解析的 {@link org.springframework.scheduling.annotation.Scheduled}
+ * 任务从 {@link ScheduledTaskRegistrar} 转移到本注册中心，ID 为 "类名.方法名"，由 {@link #getTaskScheduler()}
+ * 统一调度，因此 {@link org.springframework.context.event.ContextRefreshedEvent} 重复触发时任务不会被重复调度。
+ * <p>
+ * 注：上下文刷新之后才初始化的（延迟）Bean，其 {@code @Scheduled} 任务仍由 {@link ScheduledTaskRegistrar} 直接调度。
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ScheduledTaskHandle
+ * @see ScheduledAnnotationBeanPostProcessor
+ * @since 1.0.0
+ */
+public class ScheduledTaskRegistry implements SchedulingConfigurer, DisposableBean {
+
+    private final TaskScheduler taskScheduler;
+
+    private final ConcurrentMap<String, ScheduledTaskHandle> handles = new ConcurrentHashMap<>();
+
+    /**
+     * @param taskScheduler 已初始化的 {@link TaskScheduler}，同时作为 {@code @Scheduled} 任务的调度器
+     */
+    public ScheduledTaskRegistry(TaskScheduler taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (registrar.getScheduler() == null) {
+            registrar.setTaskScheduler(taskScheduler);
+        }
+        registrar.getTriggerTaskList().forEach(task -> adopt(task.getRunnable(), task.getTrigger()));
+        registrar.getCronTaskList().forEach(task -> adopt(task.getRunnable(), task.getTrigger()));
+        registrar.getFixedRateTaskList().forEach(task -> adopt(task.getRunnable(), trigger(task, true)));
+        registrar.getFixedDelayTaskList().forEach(task -> adopt(task.getRunnable(), trigger(task, false)));
+        // 清空后 ScheduledTaskRegistrar 不再调度，重复刷新时也不会再次转移
+        registrar.setTriggerTasksList(new ArrayList<>());
+        registrar.setCronTasksList(new ArrayList<>());
+        registrar.setFixedRateTasksList(new ArrayList<>());
+        registrar.setFixedDelayTasksList(new ArrayList<>());
+    }
+
+    private void adopt(Runnable task, Trigger trigger) {
+        // 同一方法上的多个 @Scheduled 使用 "类名.方法名#序号" 区分
+        String id = task.toString();
+        for (int i = 2; handles.containsKey(id); i++) {
+            id = task + "#" + i;
+        }
+        schedule(id, task, trigger);
+    }
+
+    private static Trigger trigger(IntervalTask task, boolean fixedRate) {
+        PeriodicTrigger trigger = fixedRate ? fixedRate(task.getInterval()) : fixedDelay(task.getInterval());
+        trigger.setInitialDelay(task.getInitialDelay());
+        return trigger;
+    }
+
+    /**
+     * 调度任务，若 ID 已注册：任务以及 {@link Trigger} 均相同时不做任何操作，否则取消原任务后重新调度
+     *
+     * @param id      任务 ID，如：租户 ID 以及任务名称
+     * @param task    任务
+     * @param trigger {@link Trigger}，如：{@link #cron(String)}、{@link #fixedRate(long)}
+     * @return {@link ScheduledTaskHandle}
+     * @throws IllegalArgumentException {@link Trigger} 没有下次执行时间，如："0 0 0 30 2 *"
+     */
+    public ScheduledTaskHandle schedule(String id, Runnable task, Trigger trigger) {
+        return handles.compute(id, (key, handle) -> {
+            if (handle != null && handle.isSameAs(task, trigger)) {
+                return handle;
+            }
+            ScheduledTaskHandle newHandle = newHandle(key, task, trigger);
+            if (handle != null) {
+                handle.cancel();
+            }
+            return newHandle;
+        });
+    }
+
+    /**
+     * 以新的 {@link Trigger} 重新调度已注册的任务，执行中的任务不被中断
+     *
+     * @param id      任务 ID
+     * @param trigger {@link Trigger}
+     * @return 重新调度后的 {@link ScheduledTaskHandle}，任务未注册时返回 <code>null</code>
+     * @throws IllegalArgumentException {@link Trigger} 没有下次执行时间
+     */
+    public ScheduledTaskHandle reschedule(String id, Trigger trigger) {
+        return handles.computeIfPresent(id, (key, handle) -> {
+            if (handle.getTrigger().equals(trigger)) {
+                return handle;
+            }
+            ScheduledTaskHandle newHandle = newHandle(key, handle.getTask(), trigger);
+            handle.cancel();
+            return newHandle;
+        });
+    }
+
+    /**
+     * 调度失败时抛出异常，原任务以及注册不变
+     */
+    private ScheduledTaskHandle newHandle(String id, Runnable task, Trigger trigger) {
+        ScheduledFuture<?> future = taskScheduler.schedule(task, trigger);
+        if (future == null) {
+            throw new IllegalArgumentException("The trigger of task[" + id + "] will never fire : " + trigger);
+        }
+        return new ScheduledTaskHandle(id, task, trigger, future);
+    }
+
+    /**
+     * 移除并取消任务，执行中的任务不被中断
+     *
+     * @param id 任务 ID
+     * @return 任务已注册时返回 <code>true</code>
+     */
+    public boolean cancel(String id) {
+        ScheduledTaskHandle handle = handles.remove(id);
+        if (handle == null) {
+            return false;
+        }
+        handle.cancel();
+        return true;
+    }
+
+    public ScheduledTaskHandle getHandle(String id) {
+        return handles.get(id);
+    }
+
+    public Collection<ScheduledTaskHandle> getHandles() {
+        return unmodifiableCollection(handles.values());
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    @Override
+    public void destroy() {
+        List<String> ids = new ArrayList<>(handles.keySet());
+        ids.forEach(this::cancel);
+    }
+
+    public static CronTrigger cron(String expression) {
+        return new CronTrigger(expression);
+    }
+
+    public static PeriodicTrigger fixedRate(long periodMillis) {
+        PeriodicTrigger trigger = new PeriodicTrigger(periodMillis);
+        trigger.setFixedRate(true);
+        return trigger;
+    }
+
+    public static PeriodicTrigger fixedDelay(long delayMillis) {
+        return new PeriodicTrigger(delayMillis);
+    }
+}
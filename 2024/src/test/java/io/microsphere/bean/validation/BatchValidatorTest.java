@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BatchValidator} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see BatchValidator
+ * @since 1.0.0
+ */
+public class BatchValidatorTest {
+
+    private ValidatorFactory validatorFactory;
+
+    private BatchValidator batchValidator;
+
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        validatorFactory = Validation.byDefaultProvider()
+                .providerResolver(new InterceptingValidationProviderResolver())
+                .configure()
+                .buildValidatorFactory();
+        batchValidator = validatorFactory.getValidator().unwrap(BatchValidator.class);
+        for (int i = 0; i < 1000; i++) {
+            // Every 10th item is invalid
+            items.add(new Item("item-" + i, i % 10 == 0 ? 100 : 1));
+        }
+    }
+
+    @AfterEach
+    public void destroy() {
+        validatorFactory.close();
+    }
+
+    @Test
+    public void testValidateBatch() {
+        BatchValidationResult<Item> result = batchValidator.validateBatch(items, new BatchValidationOptions()
+                .parallelism(4).chunkSize(64));
+        assertEquals(1000, result.getValidatedCount());
+        assertEquals(100, result.getInvalidCount());
+        assertFalse(result.isTerminated());
+        assertEquals(1, result.getViolations(990).size());
+        assertTrue(result.getViolations(991).isEmpty());
+    }
+
+    @Test
+    public void testFailFastLimit() {
+        BatchValidationResult<Item> result = batchValidator.validateBatch(items, new BatchValidationOptions()
+                .failFastLimit(5));
+        assertTrue(result.isTerminated());
+        assertEquals(5, result.getInvalidCount());
+        assertEquals(5, result.getViolations().size());
+        // Stopped after the 5th invalid item at index 40
+        assertEquals(41, result.getValidatedCount());
+    }
+
+    @Test
+    public void testFailFastLimitInParallel() {
+        BatchValidationResult<Item> result = batchValidator.validateBatch(items, new BatchValidationOptions()
+                .parallelism(4).chunkSize(16).failFastLimit(5));
+        assertTrue(result.isTerminated());
+        assertEquals(5, result.getInvalidCount());
+        assertEquals(5, result.getViolations().size());
+        assertTrue(result.getValidatedCount() < items.size());
+    }
+
+    @Test
+    public void testFailFastLimitInColumnar() {
+        BatchValidationResult<Item> result = batchValidator.validateBatch(items, new BatchValidationOptions()
+                .columnar(true).failFastLimit(5));
+        assertTrue(result.isTerminated());
+        assertEquals(5, result.getInvalidCount());
+        assertEquals(5, result.getViolations().size());
+    }
+
+    @Test
+    public void testInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchValidationOptions().failFastLimit(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BatchValidationOptions().parallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> new BatchValidationOptions().chunkSize(0));
+    }
+
+    static class Item {
+
+        @NotNull
+        private final String name;
+
+        @Max(10)
+        private final int quantity;
+
+        Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
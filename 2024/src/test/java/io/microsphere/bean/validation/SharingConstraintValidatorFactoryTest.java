@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Configuration;
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.ConstraintValidatorFactory;
+import javax.validation.Payload;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.bean.validation.SharingConstraintValidatorFactory.ENABLED_PROPERTY_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SharingConstraintValidatorFactory} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see SharingConstraintValidatorFactory
+ * @since 1.0.0
+ */
+public class SharingConstraintValidatorFactoryTest {
+
+    private final CountingConstraintValidatorFactory countingFactory = new CountingConstraintValidatorFactory();
+
+    @BeforeEach
+    public void init() {
+        System.clearProperty(ENABLED_PROPERTY_NAME);
+    }
+
+    @AfterEach
+    public void destroy() {
+        System.clearProperty(ENABLED_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testLiveInstancesWithSharing() {
+        assertEquals(3, validateBeans());
+    }
+
+    @Test
+    public void testLiveInstancesWithoutSharing() {
+        System.setProperty(ENABLED_PROPERTY_NAME, "false");
+        assertEquals(8, validateBeans());
+    }
+
+    @Test
+    public void testAcquireInInitialization() {
+        SharingConstraintValidatorFactory factory = new SharingConstraintValidatorFactory(countingFactory);
+        NestingValidator.factory = factory;
+        ConstraintValidator<Stateful, Object> validator = factory.getInstance(NestingValidator.class);
+        validator.initialize(Bean.class.getDeclaredFields()[0].getAnnotation(Stateful.class));
+        assertTrue(validator.isValid(null, null));
+        assertEquals(2, countingFactory.liveCount.get());
+
+        factory.releaseInstance(validator);
+        assertEquals(1, countingFactory.liveCount.get());
+    }
+
+    @Test
+    public void testRelease() {
+        SharingConstraintValidatorFactory factory = new SharingConstraintValidatorFactory(countingFactory);
+        Stateful constraint = Bean.class.getDeclaredFields()[0].getAnnotation(Stateful.class);
+        ConstraintValidator<Stateful, Object> first = factory.getInstance(StatefulValidator.class);
+        ConstraintValidator<Stateful, Object> second = factory.getInstance(StatefulValidator.class);
+        first.initialize(constraint);
+        second.initialize(constraint);
+        assertEquals(1, countingFactory.liveCount.get());
+
+        factory.releaseInstance(first);
+        assertEquals(1, countingFactory.liveCount.get());
+        factory.releaseInstance(second);
+        assertEquals(0, countingFactory.liveCount.get());
+        assertTrue(factory.getInstanceCounts().isEmpty());
+
+        ConstraintValidator<Stateful, Object> third = factory.getInstance(StatefulValidator.class);
+        third.initialize(constraint);
+        assertEquals(1, countingFactory.liveCount.get());
+        assertSame(StatefulValidator.class, factory.getInstanceCounts().keySet().iterator().next());
+    }
+
+    /**
+     * @return the count of live instances of the custom validators
+     */
+    private int validateBeans() {
+        Configuration<?> configuration = Validation.byDefaultProvider()
+                .providerResolver(new InterceptingValidationProviderResolver())
+                .configure();
+        countingFactory.delegate = configuration.getDefaultConstraintValidatorFactory();
+        configuration.constraintValidatorFactory(countingFactory);
+        ValidatorFactory validatorFactory = configuration.buildValidatorFactory();
+        try {
+            for (int i = 0; i < 3; i++) {
+                validatorFactory.getValidator().validate(new Bean());
+                validatorFactory.getValidator().validate(new OtherBean());
+            }
+            return countingFactory.liveCount.get();
+        } finally {
+            validatorFactory.close();
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = StatefulValidator.class)
+    public @interface Stateful {
+
+        int value() default 0;
+
+        String message() default "stateful";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Constraint(validatedBy = StatelessValidator.class)
+    public @interface Stateless {
+
+        int value() default 0;
+
+        String message() default "stateless";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class StatefulValidator implements ConstraintValidator<Stateful, Object> {
+
+        @Override
+        public boolean isValid(Object value, ConstraintValidatorContext context) {
+            return true;
+        }
+    }
+
+    @StatelessConstraintValidator
+    public static class StatelessValidator implements ConstraintValidator<Stateless, Object> {
+
+        @Override
+        public boolean isValid(Object value, ConstraintValidatorContext context) {
+            return true;
+        }
+    }
+
+    /**
+     * Acquires the other shared instance in the initialization
+     */
+    public static class NestingValidator implements ConstraintValidator<Stateful, Object> {
+
+        private static SharingConstraintValidatorFactory factory;
+
+        private ConstraintValidator<Stateful, Object> nested;
+
+        @Override
+        public void initialize(Stateful constraintAnnotation) {
+            nested = factory.getInstance(StatefulValidator.class);
+            nested.initialize(constraintAnnotation);
+        }
+
+        @Override
+        public boolean isValid(Object value, ConstraintValidatorContext context) {
+            return nested.isValid(value, context);
+        }
+    }
+
+    static class Bean {
+
+        @Stateful
+        String a;
+
+        @Stateful
+        String b;
+
+        @Stateful(1)
+        String c;
+
+        @Stateless(1)
+        String d;
+
+        @Stateless(2)
+        String e;
+
+        @Stateless(3)
+        String f;
+    }
+
+    static class OtherBean {
+
+        @Stateful
+        String a;
+
+        @Stateful(1)
+        Integer b;
+
+        @Stateless(4)
+        String c;
+
+        @Stateless(5)
+        Integer d;
+    }
+
+    /**
+     * Counts the live instances of the validators declared in this test
+     */
+    static class CountingConstraintValidatorFactory implements ConstraintValidatorFactory {
+
+        private final AtomicInteger liveCount = new AtomicInteger();
+
+        private ConstraintValidatorFactory delegate;
+
+        @Override
+        public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+            if (isCounted(key)) {
+                liveCount.incrementAndGet();
+                try {
+                    return key.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return delegate.getInstance(key);
+        }
+
+        @Override
+        public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            if (isCounted(instance.getClass())) {
+                liveCount.decrementAndGet();
+            } else {
+                delegate.releaseInstance(instance);
+            }
+        }
+
+        private static boolean isCounted(Class<?> validatorClass) {
+            return validatorClass.getEnclosingClass() == SharingConstraintValidatorFactoryTest.class;
+        }
+    }
+}
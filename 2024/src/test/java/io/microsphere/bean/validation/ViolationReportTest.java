@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.bean.validation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ViolationReport} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ViolationReport
+ * @since 1.0.0
+ */
+public class ViolationReportTest {
+
+    private static final int SPILL_THRESHOLD = 10;
+
+    @TempDir
+    Path spillDirectory;
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        validatorFactory = Validation.byDefaultProvider()
+                .providerResolver(new InterceptingValidationProviderResolver())
+                .configure()
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+        for (int i = 0; i < 200; i++) {
+            // Every 3rd item is invalid, and every 6th one has two violations
+            items.add(new Item(i % 6 == 0 ? null : "item-" + i, i % 3 == 0 ? 100 + i : 1));
+        }
+    }
+
+    @AfterEach
+    public void destroy() {
+        validatorFactory.close();
+    }
+
+    @Test
+    public void testSpillAndRead() throws IOException {
+        List<String> expected = new ArrayList<>();
+        try (ViolationReport report = new ViolationReport(SPILL_THRESHOLD, spillDirectory)) {
+            for (int i = 0; i < items.size(); i++) {
+                Set<ConstraintViolation<Item>> constraintViolations = validator.validate(items.get(i));
+                report.record(i, constraintViolations);
+                for (ConstraintViolation<Item> constraintViolation : constraintViolations) {
+                    expected.add(i + " " + constraintViolation.getPropertyPath() + " " +
+                            constraintViolation.getMessageTemplate() + " " + constraintViolation.getMessage());
+                }
+            }
+            assertEquals(expected.size(), report.size());
+            assertEquals(67, report.getInvalidCount());
+            assertTrue(report.getSpilledCount() > 0);
+
+            // The pages cross the boundary between the spilled and buffered violations
+            List<String> actual = new ArrayList<>();
+            for (long offset = 0; offset < report.size(); offset += 7) {
+                for (ViolationRecord record : report.getViolations(offset, 7)) {
+                    actual.add(record.getIndex() + " " + record.getPropertyPath() + " " +
+                            record.getMessageTemplate() + " " + record.getMessage());
+                }
+            }
+            assertEquals(expected, actual);
+            assertTrue(report.getViolations(report.size(), 7).isEmpty());
+            assertEquals(Long.valueOf(67), report.getConstraintCounts().get(Max.class));
+            assertEquals(Long.valueOf(34), report.getConstraintCounts().get(NotNull.class));
+
+            List<ViolationRecord> page = report.getViolations(0, 3);
+            SortedMap<Integer, Set<ConstraintViolation<Item>>> violations = ViolationReport.materialize(page, items,
+                    validator);
+            assertEquals(page.get(0).getIndex(), violations.firstKey().intValue());
+        }
+        // The temporary files are deleted
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testBatchValidation() {
+        BatchValidator batchValidator = validator.unwrap(BatchValidator.class);
+        try (ViolationReport report = new ViolationReport(SPILL_THRESHOLD, spillDirectory)) {
+            BatchValidationResult<Item> result = batchValidator.validateBatch(items, new BatchValidationOptions()
+                    .parallelism(4).chunkSize(16).violationReport(report));
+            assertSame(report, result.getViolationReport());
+            assertEquals(67, result.getInvalidCount());
+            // The violations are not retained by the result
+            assertTrue(result.getViolations().isEmpty());
+            assertEquals(101, report.size());
+        }
+    }
+
+    @Test
+    public void testClosed() {
+        ViolationReport report = new ViolationReport(SPILL_THRESHOLD, spillDirectory);
+        report.close();
+        report.close();
+        assertThrows(IllegalStateException.class, () -> report.getViolations(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ViolationReport(0, spillDirectory));
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.count();
+        }
+    }
+
+    static class Item {
+
+        @NotNull
+        private final String name;
+
+        @Max(value = 10, message = "${validatedValue} is greater than {value}")
+        private final int quantity;
+
+        Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.january.day24.q1;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StringFormatCheckers} 测试，检查结果与目标类型的解析方法一致
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see StringFormatCheckers
+ * @since 1.0.0
+ */
+public class StringFormatCheckersTest {
+
+    private static final String[] NUMBERS = {
+            "", "+", "-", "0", "-0", "+1", "007", "1 ", " 1", "1_000", "0x10", "1.", ".5", "1.5", "-.5", "+1.50",
+            "1e5", "1E-5", "1e+5", "1e", "e5", "1.2.3", "1e2147483647", "1e-2147483648", "1e2147483648",
+            "0.1e-2147483647", "127", "128", "-128", "-129", "32767", "32768", "-32768", "-32769",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808",
+            "-9223372036854775808", "-9223372036854775809", "99999999999999999999999999",
+            // 非 ASCII 的十进制数字：全角、阿拉伯-印度、天城文
+            "１２３", "-٣٤", "१२.३", "1e５", "１２８"
+    };
+
+    @Test
+    public void testIntegral() {
+        assertConsistent(Integer.class, Integer::parseInt);
+        assertConsistent(int.class, Integer::parseInt);
+        assertConsistent(Long.class, Long::parseLong);
+        assertConsistent(Short.class, Short::parseShort);
+        assertConsistent(Byte.class, Byte::parseByte);
+    }
+
+    @Test
+    public void testBigInteger() {
+        assertConsistent(BigInteger.class, BigInteger::new);
+    }
+
+    @Test
+    public void testBigDecimal() {
+        assertConsistent(BigDecimal.class, BigDecimal::new);
+    }
+
+    @Test
+    public void testConversion() {
+        StringFormatChecker checker = StringFormatCheckers.compile(Double.class, "");
+        // 非 String 的 CharSequence
+        assertTrue(checker.check(new StringBuilder("1.5")));
+        assertFalse(checker.check(new StringBuilder("x")));
+        assertConsistent(Double.class, Double::valueOf);
+    }
+
+    @Test
+    public void testDate() {
+        StringFormatChecker checker = StringFormatCheckers.compile(LocalDate.class, "");
+        assertTrue(checker.check("2024-02-29"));
+        assertFalse(checker.check("2023-02-29"));
+        // DateTimeFormatter 默认仅接受 ASCII 数字
+        assertFalse(checker.check("２０２４-01-01"));
+        assertThrows(IllegalArgumentException.class, () -> StringFormatCheckers.compile(Integer.class, "#"));
+    }
+
+    private static void assertConsistent(Class<?> targetClass, Function<String, ?> parser) {
+        StringFormatChecker checker = StringFormatCheckers.compile(targetClass, "");
+        for (String number : NUMBERS) {
+            boolean expected;
+            try {
+                parser.apply(number);
+                expected = true;
+            } catch (NumberFormatException e) {
+                expected = false;
+            }
+            assertEquals(expected, checker.check(number), targetClass.getSimpleName() + " : \"" + number + "\"");
+        }
+    }
+}
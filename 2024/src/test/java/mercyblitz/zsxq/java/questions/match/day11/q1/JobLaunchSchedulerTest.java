@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q1;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.job.SimpleJob;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JobLaunchScheduler} 测试，Job 由桩 {@link org.springframework.batch.core.launch.JobLauncher} 运行
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JobLaunchScheduler
+ * @since 1.0.0
+ */
+public class JobLaunchSchedulerTest {
+
+    private final List<String> launchedJobNames = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Job 的运行逻辑，返回其状态
+     */
+    private volatile Function<String, BatchStatus> jobBody;
+
+    private JobLaunchScheduler scheduler;
+
+    @BeforeEach
+    public void init() {
+        jobBody = jobName -> BatchStatus.COMPLETED;
+    }
+
+    @AfterEach
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        scheduler = newScheduler(1);
+        JobLaunchProgress progress = scheduler.submit(Arrays.asList(JobLaunchRequest.of("a"),
+                JobLaunchRequest.of("b").priority(5), JobLaunchRequest.of("c").priority(1), JobLaunchRequest.of("d")));
+        progress.getCompletion().get(5, SECONDS);
+        // 优先级相同时按提交顺序
+        assertEquals(Arrays.asList("b", "c", "a", "d"), launchedJobNames);
+        assertEquals(4, progress.getCompletedCount());
+    }
+
+    @Test
+    public void testResourceLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch freeJobLaunched = new CountDownLatch(1);
+        jobBody = jobName -> {
+            if (jobName.equals("free")) {
+                freeJobLaunched.countDown();
+                return BatchStatus.COMPLETED;
+            }
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                // 资源不足的 Job 不阻塞其后的 Job
+                return freeJobLaunched.await(5, SECONDS) ? BatchStatus.COMPLETED : BatchStatus.FAILED;
+            } catch (InterruptedException e) {
+                return BatchStatus.FAILED;
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+        scheduler = newScheduler(4).resourceLimit("db", 1);
+        JobLaunchProgress progress = scheduler.submit(Arrays.asList(JobLaunchRequest.of("db1").resources("db"),
+                JobLaunchRequest.of("db2").resources("db"), JobLaunchRequest.of("db3").resources("db", "other"),
+                JobLaunchRequest.of("free").resources("other")));
+        progress.getCompletion().get(10, SECONDS);
+        assertEquals(1, maxRunning.get());
+        assertEquals(4, progress.getCompletedCount());
+        assertThrows(IllegalStateException.class, () -> scheduler.resourceLimit("db", 2));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.resourceLimit("cache", 0));
+    }
+
+    @Test
+    public void testSkipOnDependencyFailure() throws Exception {
+        jobBody = jobName -> {
+            if (jobName.equals("b")) {
+                throw new IllegalStateException("Failed : " + jobName);
+            }
+            return jobName.equals("e") ? BatchStatus.FAILED : BatchStatus.COMPLETED;
+        };
+        scheduler = newScheduler(2);
+        JobLaunchProgress progress = scheduler.submit(Arrays.asList(JobLaunchRequest.of("a"),
+                JobLaunchRequest.of("b").dependsOn("a"), JobLaunchRequest.of("c").dependsOn("b"),
+                JobLaunchRequest.of("d").dependsOn("a", "c"), JobLaunchRequest.of("e"),
+                JobLaunchRequest.of("f").dependsOn("e")));
+        progress.getCompletion().get(5, SECONDS);
+        assertEquals(1, progress.getCompletedCount());
+        assertEquals(2, progress.getFailedCount());
+        assertEquals(3, progress.getSkippedCount());
+        assertTrue(progress.getFailures().get("b") instanceof IllegalStateException);
+        assertEquals(BatchStatus.FAILED, progress.getJobExecutions().get("e").getStatus());
+        assertEquals(3, launchedJobNames.size());
+        assertTrue(launchedJobNames.containsAll(Arrays.asList("a", "b", "e")));
+    }
+
+    @Test
+    public void testInvalidDependencies() {
+        scheduler = newScheduler(1);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.submit(Arrays.asList(
+                JobLaunchRequest.of("a").dependsOn("c"), JobLaunchRequest.of("b").dependsOn("a"),
+                JobLaunchRequest.of("c").dependsOn("b"), JobLaunchRequest.of("d"))));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.submit(Arrays.asList(
+                JobLaunchRequest.of("a").dependsOn("a"))));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.submit(Arrays.asList(
+                JobLaunchRequest.of("a").dependsOn("absent"))));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.submit(Arrays.asList(
+                JobLaunchRequest.of("a"), JobLaunchRequest.of("a"))));
+        assertTrue(launchedJobNames.isEmpty());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        jobBody = jobName -> {
+            started.countDown();
+            try {
+                // 运行中的 Job 执行至结束
+                closed.await(5, SECONDS);
+            } catch (InterruptedException e) {
+                return BatchStatus.FAILED;
+            }
+            return BatchStatus.COMPLETED;
+        };
+        scheduler = newScheduler(1);
+        JobLaunchProgress progress = scheduler.submit(Arrays.asList(JobLaunchRequest.of("a"),
+                JobLaunchRequest.of("b"), JobLaunchRequest.of("c").dependsOn("b")));
+        assertTrue(started.await(5, SECONDS));
+        scheduler.close();
+        closed.countDown();
+        progress.getCompletion().get(5, SECONDS);
+        assertEquals(1, progress.getCompletedCount());
+        assertEquals(2, progress.getSkippedCount());
+        assertEquals(Collections.singletonList("a"), launchedJobNames);
+        assertThrows(IllegalStateException.class, () -> scheduler.submit(Arrays.asList(JobLaunchRequest.of("d"))));
+    }
+
+    private JobLaunchScheduler newScheduler(int maxConcurrency) {
+        return new JobLaunchScheduler((job, jobParameters) -> {
+            launchedJobNames.add(job.getName());
+            BatchStatus status = jobBody.apply(job.getName());
+            JobExecution jobExecution = new JobExecution((long) launchedJobNames.size(), jobParameters);
+            jobExecution.setStatus(status);
+            return jobExecution;
+        }, SimpleJob::new, maxConcurrency);
+    }
+}
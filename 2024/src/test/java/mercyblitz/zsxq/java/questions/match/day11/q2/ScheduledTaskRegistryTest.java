@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package mercyblitz.zsxq.java.questions.match.day11.q2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static mercyblitz.zsxq.java.questions.match.day11.q2.ScheduledTaskRegistry.cron;
+import static mercyblitz.zsxq.java.questions.match.day11.q2.ScheduledTaskRegistry.fixedDelay;
+import static mercyblitz.zsxq.java.questions.match.day11.q2.ScheduledTaskRegistry.fixedRate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ScheduledTaskRegistry} 测试
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ScheduledTaskRegistry
+ * @since 1.0.0
+ */
+public class ScheduledTaskRegistryTest {
+
+    private CountingTaskScheduler taskScheduler;
+
+    private ScheduledTaskRegistry registry;
+
+    @BeforeEach
+    public void init() {
+        taskScheduler = new CountingTaskScheduler();
+        taskScheduler.initialize();
+        registry = new ScheduledTaskRegistry(taskScheduler);
+    }
+
+    @AfterEach
+    public void destroy() {
+        registry.destroy();
+        taskScheduler.shutdown();
+    }
+
+    @Test
+    public void testRefreshRepeatedly() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+        try {
+            ScheduledTaskRegistry registry = context.getBean(ScheduledTaskRegistry.class);
+            CountingTaskScheduler taskScheduler = context.getBean(CountingTaskScheduler.class);
+            assertEquals(1, registry.size());
+            ScheduledTaskHandle handle = registry.getHandles().iterator().next();
+            assertEquals(1, taskScheduler.scheduledCount.get());
+
+            // 重复触发
+            ScheduledAnnotationBeanPostProcessor processor = context.getBean(ScheduledAnnotationBeanPostProcessor.class);
+            processor.onApplicationEvent(new ContextRefreshedEvent(context));
+            context.publishEvent(new ContextRefreshedEvent(context));
+
+            assertEquals(1, registry.size());
+            assertSame(handle, registry.getHandles().iterator().next());
+            assertFalse(handle.isCancelled());
+            assertEquals(1, taskScheduler.scheduledCount.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Test
+    public void testReschedule() {
+        Runnable task = () -> {
+        };
+        ScheduledTaskHandle handle = registry.schedule("tenant-1:report", task, cron("0 0 * * * *"));
+        assertSame(handle, registry.schedule("tenant-1:report", task, cron("0 0 * * * *")));
+        assertSame(handle, registry.reschedule("tenant-1:report", cron("0 0 * * * *")));
+        assertEquals(1, taskScheduler.scheduledCount.get());
+
+        ScheduledTaskHandle rescheduled = registry.reschedule("tenant-1:report", fixedRate(60000));
+        assertNotSame(handle, rescheduled);
+        assertTrue(handle.isCancelled());
+        assertFalse(rescheduled.isCancelled());
+        assertSame(task, rescheduled.getTask());
+        assertSame(rescheduled, registry.getHandle("tenant-1:report"));
+        assertEquals(1, registry.size());
+
+        // 相同 ID 的不同任务替换原任务
+        ScheduledTaskHandle replaced = registry.schedule("tenant-1:report", () -> {
+        }, fixedRate(60000));
+        assertTrue(rescheduled.isCancelled());
+        assertNotSame(rescheduled, replaced);
+
+        assertNull(registry.reschedule("absent", fixedDelay(1000)));
+    }
+
+    @Test
+    public void testNeverFire() {
+        ScheduledTaskHandle handle = registry.schedule("tenant-1:report", () -> {
+        }, fixedDelay(60000));
+        // 2 月 30 日不存在
+        assertThrows(IllegalArgumentException.class, () -> registry.reschedule("tenant-1:report", cron("0 0 0 30 2 *")));
+        assertSame(handle, registry.getHandle("tenant-1:report"));
+        assertFalse(handle.isCancelled());
+    }
+
+    @Test
+    public void testCancel() {
+        ScheduledTaskHandle handle = registry.schedule("tenant-1:report", () -> {
+        }, fixedDelay(60000));
+        assertTrue(registry.cancel("tenant-1:report"));
+        assertTrue(handle.isCancelled());
+        assertFalse(registry.cancel("tenant-1:report"));
+        assertEquals(0, registry.size());
+    }
+
+    @EnableScheduling
+    static class Config {
+
+        @Bean(destroyMethod = "shutdown")
+        public CountingTaskScheduler taskScheduler() {
+            CountingTaskScheduler taskScheduler = new CountingTaskScheduler();
+            taskScheduler.initialize();
+            return taskScheduler;
+        }
+
+        @Bean
+        public ScheduledTaskRegistry scheduledTaskRegistry(CountingTaskScheduler taskScheduler) {
+            return new ScheduledTaskRegistry(taskScheduler);
+        }
+
+        @Scheduled(fixedRate = 60000, initialDelay = 60000)
+        public void heartbeat() {
+        }
+    }
+
+    /**
+     * 统计 {@link #schedule(Runnable, Trigger)} 的调用次数
+     */
+    static class CountingTaskScheduler extends ThreadPoolTaskScheduler {
+
+        private final AtomicInteger scheduledCount = new AtomicInteger();
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+            scheduledCount.incrementAndGet();
+            return super.schedule(task, trigger);
+        }
+    }
+}